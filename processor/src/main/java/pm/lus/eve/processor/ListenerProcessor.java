@@ -0,0 +1,319 @@
+package pm.lus.eve.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Validates event listener methods at compile time and generates a definition factory for every listener class
+ * The generated factories call the listener methods directly and get picked up by the bus using a {@link java.util.ServiceLoader}
+ * Listener classes which cannot be referenced from generated code (anonymous, local or private classes) are skipped and keep using reflection
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@SupportedAnnotationTypes(ListenerProcessor.LISTEN)
+public class ListenerProcessor extends AbstractProcessor {
+
+    static final String LISTEN = "pm.lus.eve.listener.annotation.Listen";
+    static final String FILTER = "pm.lus.eve.listener.annotation.Filter";
+    static final String FILTERS = "pm.lus.eve.listener.annotation.Filters";
+    static final String EQUALITY_FILTER = "pm.lus.eve.listener.filter.EqualityFilter";
+    static final String LISTENER = "pm.lus.eve.listener.Listener";
+    static final String EVENT = "pm.lus.eve.event.Event";
+    static final String EVENT_CONTEXT = "pm.lus.eve.event.context.EventContext";
+    static final String FACTORY = "pm.lus.eve.listener.definition.ListenerDefinitionFactory";
+
+    // Has to be kept in sync with ListenerDefinitionFactory#GENERATED_SUFFIX
+    static final String GENERATED_SUFFIX = "_EveDefinition";
+
+    // The generated factories mapped to the listener classes they originate from
+    private final Map<String, TypeElement> generatedFactories = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+        if (roundEnvironment.processingOver()) {
+            this.writeServiceFile();
+            return false;
+        }
+
+        final Elements elements = this.processingEnv.getElementUtils();
+        final TypeElement listen = elements.getTypeElement(LISTEN);
+        if (listen == null) {
+            return false;
+        }
+
+        // Group the listener methods by their declaring class while keeping the declaration order
+        final Map<TypeElement, List<ExecutableElement>> methodsByClass = new LinkedHashMap<>();
+        for (final Element element : roundEnvironment.getElementsAnnotatedWith(listen)) {
+            final ExecutableElement method = (ExecutableElement) element;
+            methodsByClass.computeIfAbsent((TypeElement) method.getEnclosingElement(), key -> new ArrayList<>()).add(method);
+        }
+
+        for (final Map.Entry<TypeElement, List<ExecutableElement>> entry : methodsByClass.entrySet()) {
+            boolean valid = true;
+            for (final ExecutableElement method : entry.getValue()) {
+                valid &= this.validate(entry.getKey(), method);
+            }
+
+            if (valid && this.isGeneratable(entry.getKey(), entry.getValue())) {
+                this.generate(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return false;
+    }
+
+    private boolean validate(final TypeElement clazz, final ExecutableElement method) {
+        final Types types = this.processingEnv.getTypeUtils();
+        final Elements elements = this.processingEnv.getElementUtils();
+
+        if (!types.isAssignable(types.erasure(clazz.asType()), types.erasure(elements.getTypeElement(LISTENER).asType()))) {
+            this.error(method, "@Listen methods have to be declared inside of a '%s' implementation", LISTENER);
+            return false;
+        }
+
+        // Event listeners have to accept exactly 2 parameters
+        final List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.size() != 2) {
+            this.error(method, "event listeners have to accept exactly 2 parameters (found %d)", parameters.size());
+            return false;
+        }
+
+        // The first parameter always has to be the event context
+        final TypeMirror contextType = types.erasure(parameters.get(0).asType());
+        if (!types.isSameType(contextType, elements.getTypeElement(EVENT_CONTEXT).asType())) {
+            this.error(parameters.get(0), "the first parameter of an event listener has to be '%s' (found '%s')", EVENT_CONTEXT, contextType);
+            return false;
+        }
+
+        // The second argument always has to be any event type
+        final TypeMirror eventType = types.erasure(parameters.get(1).asType());
+        if (!types.isAssignable(eventType, elements.getTypeElement(EVENT).asType())) {
+            this.error(parameters.get(1), "the second parameter of an event listener has to be '%s' or a subtype of it (found '%s')", EVENT, eventType);
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean isGeneratable(final TypeElement clazz, final List<ExecutableElement> methods) {
+        if (clazz.getKind() != ElementKind.CLASS || clazz.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+
+        // The generated factory lives in the same package and has to be able to reference the class
+        Element current = clazz;
+        while (current instanceof TypeElement) {
+            final TypeElement type = (TypeElement) current;
+            if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER) {
+                return false;
+            }
+            if (type.getModifiers().contains(Modifier.PRIVATE)) {
+                this.note(clazz, "listener class is private; it will be registered using reflection");
+                return false;
+            }
+            current = type.getEnclosingElement();
+        }
+
+        for (final ExecutableElement method : methods) {
+            if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                this.processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.MANDATORY_WARNING,
+                        "private listener methods cannot be called from generated code; the listener class will be registered using reflection",
+                        method
+                );
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void generate(final TypeElement clazz, final List<ExecutableElement> methods) {
+        final Elements elements = this.processingEnv.getElementUtils();
+        final Types types = this.processingEnv.getTypeUtils();
+
+        final String binaryName = elements.getBinaryName(clazz).toString();
+        final String packageName = elements.getPackageOf(clazz).getQualifiedName().toString();
+        final String factoryName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_') + GENERATED_SUFFIX;
+        final String qualifiedFactoryName = packageName.isEmpty() ? factoryName : packageName + "." + factoryName;
+        final String listenerType = types.erasure(clazz.asType()).toString();
+        final boolean annotateGenerated = elements.getTypeElement("javax.annotation.processing.Generated") != null;
+
+        try {
+            final JavaFileObject file = this.processingEnv.getFiler().createSourceFile(qualifiedFactoryName, clazz);
+            try (final PrintWriter writer = new PrintWriter(file.openWriter())) {
+                if (!packageName.isEmpty()) {
+                    writer.println("package " + packageName + ";");
+                    writer.println();
+                }
+                if (annotateGenerated) {
+                    writer.println("@javax.annotation.processing.Generated(\"" + ListenerProcessor.class.getName() + "\")");
+                }
+                writer.println("public final class " + factoryName + " implements " + FACTORY + " {");
+                writer.println();
+
+                // Receiving topics are immutable and thus compiled once per listener class instead of once per registration
+                for (int i = 0; i < methods.size(); i++) {
+                    final List<?> topics = (List<?>) this.valueOf(methods.get(i), "value");
+                    writer.println("    private static final pm.lus.eve.topic.ReceivingTopic[] TOPICS_" + i + " = new pm.lus.eve.topic.ReceivingTopic[]{");
+                    for (int j = 0; j < topics.size(); j++) {
+                        writer.println("            pm.lus.eve.topic.ReceivingTopic.compile(" + elements.getConstantExpression((String) topics.get(j)) + ")" + (j < topics.size() - 1 ? "," : ""));
+                    }
+                    writer.println("    };");
+
+                    final List<String[]> filters = this.filtersOf(methods.get(i));
+                    writer.println("    private static final " + EQUALITY_FILTER + "[] FILTERS_" + i + " = new " + EQUALITY_FILTER + "[]{");
+                    for (int j = 0; j < filters.size(); j++) {
+                        final String property = elements.getConstantExpression(filters.get(j)[0]);
+                        final String value = elements.getConstantExpression(filters.get(j)[1]);
+                        writer.println("            " + EQUALITY_FILTER + ".of(" + property + ", " + value + ")" + (j < filters.size() - 1 ? "," : ""));
+                    }
+                    writer.println("    };");
+                    writer.println();
+                }
+
+                writer.println("    @Override");
+                writer.println("    public Class<? extends " + LISTENER + "> getListenerType() {");
+                writer.println("        return " + listenerType + ".class;");
+                writer.println("    }");
+                writer.println();
+                writer.println("    @Override");
+                writer.println("    @SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+                writer.println("    public pm.lus.eve.listener.definition.ListenerDefinition build(final " + LISTENER + " instance) {");
+                writer.println("        final " + listenerType + " listener = (" + listenerType + ") instance;");
+                writer.println("        return pm.lus.eve.listener.definition.ListenerDefinition.of(");
+                writer.print("                instance");
+                for (int i = 0; i < methods.size(); i++) {
+                    final ExecutableElement method = methods.get(i);
+                    final String eventType = types.erasure(method.getParameters().get(1).asType()).toString();
+                    final String target = method.getModifiers().contains(Modifier.STATIC) ? listenerType : "listener";
+
+                    writer.println(",");
+                    writer.println("                pm.lus.eve.listener.definition.ListenerMethodDefinition.of(");
+                    writer.println("                        instance,");
+                    writer.println("                        " + elements.getConstantExpression(binaryName + "#" + method.getSimpleName()) + ",");
+                    writer.println("                        TOPICS_" + i + ",");
+                    writer.println("                        " + eventType + ".class,");
+                    writer.println("                        " + this.valueOf(method, "conflate") + ",");
+                    writer.println("                        FILTERS_" + i + ",");
+                    writer.println("                        " + this.valueOf(method, "timeout") + "L,");
+                    writer.print("                        (context, event) -> " + target + "." + method.getSimpleName() + "(context, (" + eventType + ") event)");
+                    writer.println();
+                    writer.print("                )");
+                }
+                writer.println();
+                writer.println("        );");
+                writer.println("    }");
+                writer.println();
+                writer.println("}");
+            }
+            this.generatedFactories.put(qualifiedFactoryName, clazz);
+        } catch (final IOException exception) {
+            this.error(clazz, "could not generate the listener definition factory: %s", exception.getMessage());
+        }
+    }
+
+    private Object valueOf(final ExecutableElement method, final String name) {
+        for (final AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            if (!((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(LISTEN)) {
+                continue;
+            }
+
+            // Default values are not part of the explicit element values, so they have to be included explicitly
+            for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : this.processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).entrySet()) {
+                if (!entry.getKey().getSimpleName().contentEquals(name)) {
+                    continue;
+                }
+
+                // Array values consist of nested annotation values which get unwrapped
+                final Object value = entry.getValue().getValue();
+                if (!(value instanceof List)) {
+                    return value;
+                }
+                final List<Object> values = new ArrayList<>();
+                for (final Object element : (List<?>) value) {
+                    values.add(((AnnotationValue) element).getValue());
+                }
+                return values;
+            }
+        }
+        return null;
+    }
+
+    private List<String[]> filtersOf(final ExecutableElement method) {
+        // Repeated filters are wrapped inside of their container annotation by the compiler
+        final List<AnnotationMirror> annotations = new ArrayList<>();
+        for (final AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            final Name name = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName();
+            if (name.contentEquals(FILTER)) {
+                annotations.add(annotation);
+            } else if (name.contentEquals(FILTERS)) {
+                for (final AnnotationValue value : annotation.getElementValues().values()) {
+                    for (final Object element : (List<?>) value.getValue()) {
+                        annotations.add((AnnotationMirror) ((AnnotationValue) element).getValue());
+                    }
+                }
+            }
+        }
+
+        final List<String[]> filters = new ArrayList<>();
+        for (final AnnotationMirror annotation : annotations) {
+            final String[] filter = new String[2];
+            annotation.getElementValues().forEach((key, value) -> {
+                filter[key.getSimpleName().contentEquals("property") ? 0 : 1] = (String) value.getValue();
+            });
+            filters.add(filter);
+        }
+        return filters;
+    }
+
+    private void writeServiceFile() {
+        if (this.generatedFactories.isEmpty()) {
+            return;
+        }
+
+        // The listener classes are passed as originating elements so that incremental builds know which sources the file depends on
+        final Element[] originatingElements = this.generatedFactories.values().toArray(new Element[0]);
+        try {
+            final FileObject file = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + FACTORY, originatingElements);
+            try (final Writer writer = file.openWriter()) {
+                for (final String factory : this.generatedFactories.keySet()) {
+                    writer.write(factory);
+                    writer.write('\n');
+                }
+            }
+        } catch (final IOException exception) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "could not write the listener definition factory service file: " + exception.getMessage());
+        }
+    }
+
+    private void error(final Element element, final String message, final Object... arguments) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(message, arguments), element);
+    }
+
+    private void note(final Element element, final String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+    }
+
+}
@@ -0,0 +1,76 @@
+package pm.lus.eve.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates deterministic topic structures for the benchmarks
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class BenchmarkTopics {
+
+    // The amount of distinct values per topic segment
+    private static final int SEGMENT_VALUES = 8;
+
+    private BenchmarkTopics() {
+    }
+
+    /**
+     * Generates receiving topics of the given depth
+     * Every segment is replaced by a '*' wildcard with the given probability; the last one may become '**' instead
+     *
+     * @param count           The amount of receiving topics to generate
+     * @param depth           The amount of segments per receiving topic
+     * @param wildcardDensity The probability of a segment being a wildcard
+     * @param seed            The seed to use
+     * @return The generated receiving topics
+     */
+    static List<String> receivingTopics(final int count, final int depth, final double wildcardDensity, final long seed) {
+        final Random random = new Random(seed);
+        final List<String> topics = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final StringBuilder topic = new StringBuilder();
+            for (int segment = 0; segment < depth; segment++) {
+                if (segment > 0) {
+                    topic.append('.');
+                }
+                if (random.nextDouble() < wildcardDensity) {
+                    topic.append(segment == depth - 1 && random.nextBoolean() ? "**" : "*");
+                } else {
+                    topic.append("s").append(segment).append('_').append(random.nextInt(SEGMENT_VALUES));
+                }
+            }
+            topics.add(topic.toString());
+        }
+        return topics;
+    }
+
+    /**
+     * Generates concrete topics of the given depth
+     *
+     * @param count The amount of topics to generate
+     * @param depth The amount of segments per topic
+     * @param seed  The seed to use
+     * @return The generated topics
+     */
+    static String[] topics(final int count, final int depth, final long seed) {
+        final Random random = new Random(seed);
+        final String[] topics = new String[count];
+        for (int i = 0; i < count; i++) {
+            final StringBuilder topic = new StringBuilder();
+            for (int segment = 0; segment < depth; segment++) {
+                if (segment > 0) {
+                    topic.append('.');
+                }
+                topic.append("s").append(segment).append('_').append(random.nextInt(SEGMENT_VALUES));
+            }
+            topics[i] = topic.toString();
+        }
+        return topics;
+    }
+
+}
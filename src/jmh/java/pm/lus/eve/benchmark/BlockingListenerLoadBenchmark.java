@@ -0,0 +1,103 @@
+package pm.lus.eve.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pm.lus.eve.bus.EventBus;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.listener.Listener;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cached thread pool with virtual threads when listeners block (simulated I/O)
+ * Every operation emits a burst of events and waits until all of them were delivered
+ * Run using '-prof gc' to compare memory; the peak amount of live platform threads is reported as a secondary result of every iteration
+ * The 'virtual' executor requires JDK 21 or newer
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BlockingListenerLoadBenchmark {
+
+    @Param({"cached", "virtual"})
+    public String executor;
+
+    @Param({"1000", "10000"})
+    public int burst;
+
+    @Param({"10"})
+    public int blockMillis;
+
+    private EventBus bus;
+    private Event event;
+
+    @Setup
+    public void setup() {
+        final EventBus.Builder builder = EventBus.builder();
+        if (this.executor.equals("virtual")) {
+            builder.virtualThreads();
+        }
+        this.bus = builder.build();
+
+        final long blockMillis = this.blockMillis;
+        this.bus.listeners().add(Listener.inline(BenchmarkEvent.class, (context, event) -> {
+            try {
+                Thread.sleep(blockMillis);
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        this.event = new BenchmarkEvent();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.bus.close();
+    }
+
+    @Benchmark
+    public void burst(final ThreadCounters counters) {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[this.burst];
+        for (int i = 0; i < this.burst; i++) {
+            futures[i] = this.bus.emit("benchmark.blocking", this.event);
+        }
+        CompletableFuture.allOf(futures).join();
+        counters.record();
+    }
+
+    /**
+     * Reports the peak amount of live platform threads during an iteration next to the throughput
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ThreadCounters {
+
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        public long peakPlatformThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.threads.resetPeakThreadCount();
+            this.peakPlatformThreads = 0;
+        }
+
+        private void record() {
+            this.peakPlatformThreads = Math.max(this.peakPlatformThreads, this.threads.getPeakThreadCount());
+        }
+
+    }
+
+    public static class BenchmarkEvent implements Event {
+    }
+
+}
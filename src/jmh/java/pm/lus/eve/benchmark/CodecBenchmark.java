@@ -0,0 +1,70 @@
+package pm.lus.eve.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pm.lus.eve.codec.CodecRegistry;
+import pm.lus.eve.event.Event;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding events using the reflective serializers of the codec registry
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"heap", "direct"})
+    public String buffer;
+
+    private CodecRegistry registry;
+    private BenchmarkEvent event;
+    private ByteBuffer target;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setup() {
+        this.registry = new CodecRegistry().register(BenchmarkEvent.class, 1);
+        this.event = new BenchmarkEvent();
+        this.event.id = 42;
+        this.event.amount = 13.37;
+        this.event.name = "benchmark-event";
+        this.event.flag = true;
+
+        this.target = "direct".equals(this.buffer) ? ByteBuffer.allocateDirect(256) : ByteBuffer.allocate(256);
+        this.encoded = "direct".equals(this.buffer) ? ByteBuffer.allocateDirect(256) : ByteBuffer.allocate(256);
+        this.registry.encode("benchmark.codec.topic", this.event, this.encoded);
+        this.encoded.flip();
+    }
+
+    @Benchmark
+    public int encode() {
+        this.target.clear();
+        this.registry.encode("benchmark.codec.topic", this.event, this.target);
+        return this.target.position();
+    }
+
+    @Benchmark
+    public Object decode() {
+        this.encoded.rewind();
+        return this.registry.decodeWithTopic(this.encoded);
+    }
+
+    public static class BenchmarkEvent implements Event {
+
+        private long id;
+        private double amount;
+        private String name;
+        private boolean flag;
+
+    }
+
+}
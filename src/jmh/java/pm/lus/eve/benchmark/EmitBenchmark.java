@@ -0,0 +1,184 @@
+package pm.lus.eve.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.bus.EventBus;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Listen;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures emitting an event end to end, from resolving its route to the last listener or bridge receiving it
+ * Listeners subscribe to the root of an event type hierarchy while the emitted event sits at the configured depth of it
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmitBenchmark {
+
+    private static final String TOPIC = "benchmark.emit.topic";
+
+    // The emitted event type is picked from this list using the hierarchy depth
+    private static final Class<?>[] HIERARCHY = {
+            Level0.class, Level1.class, Level2.class, Level3.class, Level4.class, Level5.class, Level6.class, Level7.class, Level8.class
+    };
+
+    @Param({"1", "10", "100"})
+    public int listeners;
+
+    @Param({"exact", "single", "multi"})
+    public String wildcard;
+
+    @Param({"0", "4", "8"})
+    public int hierarchyDepth;
+
+    @Param({"0", "4"})
+    public int bridges;
+
+    private EventBus bus;
+    private Event event;
+
+    @Setup
+    public void setup(final Blackhole blackhole) throws ReflectiveOperationException {
+        this.bus = new EventBus();
+        for (int i = 0; i < this.listeners; i++) {
+            this.bus.listeners().add(this.createListener(blackhole));
+        }
+        for (int i = 0; i < this.bridges; i++) {
+            this.bus.bridges().add(new RootBridge(blackhole));
+        }
+        this.event = HIERARCHY[this.hierarchyDepth].asSubclass(Event.class).getDeclaredConstructor().newInstance();
+    }
+
+    private Listener createListener(final Blackhole blackhole) {
+        switch (this.wildcard) {
+            case "exact":
+                return new ExactListener(blackhole);
+            case "single":
+                return new SingleWildcardListener(blackhole);
+            case "multi":
+                return new MultiWildcardListener(blackhole);
+            default:
+                throw new IllegalArgumentException("unknown wildcard type: " + this.wildcard);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.bus.close();
+    }
+
+    @Benchmark
+    public void emit() {
+        this.bus.emit(TOPIC, this.event).join();
+    }
+
+    @Benchmark
+    public void emitSync() {
+        this.bus.emitSync(TOPIC, this.event);
+    }
+
+    public static class Level0 implements Event {
+    }
+
+    public static class Level1 extends Level0 {
+    }
+
+    public static class Level2 extends Level1 {
+    }
+
+    public static class Level3 extends Level2 {
+    }
+
+    public static class Level4 extends Level3 {
+    }
+
+    public static class Level5 extends Level4 {
+    }
+
+    public static class Level6 extends Level5 {
+    }
+
+    public static class Level7 extends Level6 {
+    }
+
+    public static class Level8 extends Level7 {
+    }
+
+    public static class ExactListener implements Listener {
+
+        private final Blackhole blackhole;
+
+        ExactListener(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Listen(TOPIC)
+        public void handle(final EventContext context, final Level0 event) {
+            this.blackhole.consume(event);
+        }
+
+    }
+
+    public static class SingleWildcardListener implements Listener {
+
+        private final Blackhole blackhole;
+
+        SingleWildcardListener(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Listen("benchmark.*.topic")
+        public void handle(final EventContext context, final Level0 event) {
+            this.blackhole.consume(event);
+        }
+
+    }
+
+    public static class MultiWildcardListener implements Listener {
+
+        private final Blackhole blackhole;
+
+        MultiWildcardListener(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Listen("benchmark.**")
+        public void handle(final EventContext context, final Level0 event) {
+            this.blackhole.consume(event);
+        }
+
+    }
+
+    private static class RootBridge extends EventBridge<Level0> {
+
+        private final Blackhole blackhole;
+
+        private RootBridge(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        protected void receive(final EventContext context, final Level0 event) {
+            this.blackhole.consume(event);
+        }
+
+        @Override
+        protected Class<Level0> getEventType() {
+            return Level0.class;
+        }
+
+    }
+
+}
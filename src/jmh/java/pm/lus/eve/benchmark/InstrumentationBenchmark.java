@@ -0,0 +1,74 @@
+package pm.lus.eve.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pm.lus.eve.bus.EventBus;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.instrumentation.Instrumentation;
+import pm.lus.eve.instrumentation.MetricsInstrumentation;
+import pm.lus.eve.listener.Listener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead instrumentation adds to the synchronous emit path
+ * 'disabled' has to stay within noise of an uninstrumented bus, 'empty' shows the cost of the hook calls and time measurements alone
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    @Param({"disabled", "empty", "metrics"})
+    public String instrumentation;
+
+    @Param({"1", "10"})
+    public int listeners;
+
+    private EventBus bus;
+    private Event event;
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        this.bus = EventBus.builder().instrumentation(this.createInstrumentation()).build();
+        for (int i = 0; i < this.listeners; i++) {
+            this.bus.listeners().add(Listener.inline(BenchmarkEvent.class, (context, event) -> blackhole.consume(event)));
+        }
+        this.event = new BenchmarkEvent();
+    }
+
+    private Instrumentation createInstrumentation() {
+        switch (this.instrumentation) {
+            case "disabled":
+                return Instrumentation.DISABLED;
+            case "empty":
+                return new Instrumentation() {
+                };
+            case "metrics":
+                return new MetricsInstrumentation();
+            default:
+                throw new IllegalArgumentException("unknown instrumentation: " + this.instrumentation);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.bus.close();
+    }
+
+    @Benchmark
+    public void emitSync() {
+        this.bus.emitSync("benchmark.instrumented.topic", this.event);
+    }
+
+    public static class BenchmarkEvent implements Event {
+    }
+
+}
@@ -0,0 +1,101 @@
+package pm.lus.eve.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.journal.EventCodec;
+import pm.lus.eve.journal.FsyncPolicy;
+import pm.lus.eve.journal.Journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures appending events to a journal using the different fsync policies and replaying it
+ * Run with multiple threads ('-t 8') to see group commit amortizing the flushes of {@link FsyncPolicy#ALWAYS}
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalBenchmark {
+
+    @Param({"NONE", "INTERVAL", "ALWAYS"})
+    public FsyncPolicy fsyncPolicy;
+
+    @Param({"64", "1024"})
+    public int eventSize;
+
+    private Path directory;
+    private Journal journal;
+    private Event event;
+
+    @Setup
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("eve-journal-benchmark");
+        this.journal = Journal.builder(this.directory, new FixedSizeCodec(this.eventSize))
+                .fsyncPolicy(this.fsyncPolicy)
+                .open();
+        this.event = new BenchmarkEvent();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.journal.close();
+        try (final Stream<Path> files = Files.walk(this.directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long append() throws IOException {
+        return this.journal.append("benchmark.journal.topic", this.event);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long replay(final Blackhole blackhole) {
+        return this.journal.replay(0, (offset, timestamp, topic, event) -> blackhole.consume(event));
+    }
+
+    public static class BenchmarkEvent implements Event {
+    }
+
+    private static final class FixedSizeCodec implements EventCodec {
+
+        private final int size;
+
+        private FixedSizeCodec(final int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int sizeOf(final Event event) {
+            return this.size;
+        }
+
+        @Override
+        public void encode(final Event event, final ByteBuffer target) {
+            target.position(target.position() + this.size);
+        }
+
+        @Override
+        public Event decode(final ByteBuffer source) {
+            return new BenchmarkEvent();
+        }
+
+    }
+
+}
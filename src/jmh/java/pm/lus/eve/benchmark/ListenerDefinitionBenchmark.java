@@ -0,0 +1,103 @@
+package pm.lus.eve.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Listen;
+import pm.lus.eve.listener.definition.ListenerDefinition;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of registering a listener, which includes scanning its methods and creating their invokers
+ * The benchmark sources are not run through the annotation processor, so this covers the reflective path
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerDefinitionBenchmark {
+
+    @Param({"single", "multiple", "inline"})
+    public String listenerType;
+
+    private Listener listener;
+
+    @Setup
+    public void setup() {
+        switch (this.listenerType) {
+            case "single":
+                this.listener = new SingleMethodListener();
+                break;
+            case "multiple":
+                this.listener = new MultipleMethodsListener();
+                break;
+            case "inline":
+                this.listener = Listener.inline(BenchmarkEvent.class, (context, event) -> {
+                });
+                break;
+            default:
+                throw new IllegalArgumentException("unknown listener type: " + this.listenerType);
+        }
+    }
+
+    @Benchmark
+    public ListenerDefinition build() {
+        return ListenerDefinition.build(this.listener);
+    }
+
+    public static class BenchmarkEvent implements Event {
+    }
+
+    public static class SingleMethodListener implements Listener {
+
+        @Listen("benchmark.single")
+        public void handle(final EventContext context, final BenchmarkEvent event) {
+        }
+
+    }
+
+    public static class MultipleMethodsListener implements Listener {
+
+        @Listen("benchmark.a")
+        public void a(final EventContext context, final BenchmarkEvent event) {
+        }
+
+        @Listen({"benchmark.b", "benchmark.*.b"})
+        public void b(final EventContext context, final BenchmarkEvent event) {
+        }
+
+        @Listen("benchmark.**")
+        public void c(final EventContext context, final Event event) {
+        }
+
+        @Listen({"benchmark.d.*", "other.d", "other.**"})
+        public void d(final EventContext context, final BenchmarkEvent event) {
+        }
+
+        @Listen
+        private void e(final EventContext context, final Event event) {
+        }
+
+        @Listen("benchmark.f")
+        public static void f(final EventContext context, final BenchmarkEvent event) {
+        }
+
+        @Listen("benchmark.g")
+        public void g(final EventContext context, final BenchmarkEvent event) {
+        }
+
+        @Listen("benchmark.h")
+        public void h(final EventContext context, final BenchmarkEvent event) {
+        }
+
+    }
+
+}
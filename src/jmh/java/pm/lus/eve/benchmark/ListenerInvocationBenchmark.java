@@ -0,0 +1,82 @@
+package pm.lus.eve.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Listen;
+import pm.lus.eve.listener.definition.ListenerInvoker;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-delivery cost of the reflective listener invocation the bus used to perform with the invoker created at registration
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerInvocationBenchmark {
+
+    private BenchmarkListener listener;
+    private Method method;
+    private ListenerInvoker invoker;
+    private EventContext context;
+    private Event event;
+
+    @Setup
+    public void setup(final Blackhole blackhole) throws Exception {
+        this.listener = new BenchmarkListener(blackhole);
+        this.method = BenchmarkListener.class.getDeclaredMethod("handle", EventContext.class, BenchmarkEvent.class);
+        this.invoker = ListenerInvoker.create(this.listener, this.method);
+        this.context = new EventContext(null, "benchmark.topic");
+        this.event = new BenchmarkEvent();
+    }
+
+    @Benchmark
+    public void reflective() throws Exception {
+        // Mirrors the previous per-delivery code path of the bus
+        final boolean wasAccessible = this.method.canAccess(this.listener);
+        if (!wasAccessible) {
+            this.method.setAccessible(true);
+        }
+
+        this.method.invoke(this.listener, this.context, this.event);
+
+        if (!wasAccessible) {
+            this.method.setAccessible(false);
+        }
+    }
+
+    @Benchmark
+    public void invoker() throws Throwable {
+        this.invoker.invoke(this.context, this.event);
+    }
+
+    public static class BenchmarkEvent implements Event {
+    }
+
+    static class BenchmarkListener implements Listener {
+
+        private final Blackhole blackhole;
+
+        BenchmarkListener(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Listen
+        private void handle(final EventContext context, final BenchmarkEvent event) {
+            this.blackhole.consume(event);
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+package pm.lus.eve.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.bus.EventBus;
+import pm.lus.eve.bus.Topic;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the synchronous emit path; run using '-prof gc' to verify it does not allocate (gc.alloc.rate.norm = 0 B/op)
+ * Emitting through a raw topic string is compared to emitting through a pre-parsed topic handle
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyncEmitBenchmark {
+
+    @Param({"1", "10"})
+    public int listeners;
+
+    @Param({"0", "1"})
+    public int bridges;
+
+    private EventBus bus;
+    private Topic topic;
+    private Event event;
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        this.bus = new EventBus();
+        for (int i = 0; i < this.listeners; i++) {
+            this.bus.listeners().add(Listener.inline(BenchmarkEvent.class, (context, event) -> blackhole.consume(event)));
+        }
+        for (int i = 0; i < this.bridges; i++) {
+            this.bus.bridges().add(new EventBridge<BenchmarkEvent>() {
+
+                @Override
+                protected void receive(final EventContext context, final BenchmarkEvent event) {
+                    blackhole.consume(event);
+                }
+
+                @Override
+                protected Class<BenchmarkEvent> getEventType() {
+                    return BenchmarkEvent.class;
+                }
+
+            });
+        }
+        this.topic = this.bus.topic("benchmark.sync.topic");
+        this.event = new BenchmarkEvent();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.bus.close();
+    }
+
+    @Benchmark
+    public void emitSync() {
+        this.bus.emitSync("benchmark.sync.topic", this.event);
+    }
+
+    @Benchmark
+    public void emitSyncHandle() {
+        this.bus.emitSync(this.topic, this.event);
+    }
+
+    public static class BenchmarkEvent implements Event {
+    }
+
+}
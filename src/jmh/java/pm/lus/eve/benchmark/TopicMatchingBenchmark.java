@@ -0,0 +1,82 @@
+package pm.lus.eve.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pm.lus.eve.topic.ReceivingTopic;
+import pm.lus.eve.topic.TopicIndex;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to find the receiving topics matching a topic
+ * Compares matching every receiving topic one after another with the segment trie the routing table uses
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopicMatchingBenchmark {
+
+    // The amount of distinct topics to match against; cycled through to avoid branch prediction on a single topic
+    private static final int TOPICS = 256;
+
+    @Param({"10", "100", "1000"})
+    public int receivingTopics;
+
+    @Param({"2", "4", "8"})
+    public int topicDepth;
+
+    @Param({"0.0", "0.25", "0.5"})
+    public double wildcardDensity;
+
+    private ReceivingTopic[] compiled;
+    private TopicIndex<ReceivingTopic> index;
+    private String[] topics;
+    private int next;
+
+    @Setup
+    public void setup() {
+        final List<String> raw = BenchmarkTopics.receivingTopics(this.receivingTopics, this.topicDepth, this.wildcardDensity, 42);
+        this.compiled = new ReceivingTopic[raw.size()];
+        this.index = new TopicIndex<>();
+        for (int i = 0; i < raw.size(); i++) {
+            this.compiled[i] = ReceivingTopic.compile(raw.get(i));
+            this.index.add(this.compiled[i], this.compiled[i]);
+        }
+        this.topics = BenchmarkTopics.topics(TOPICS, this.topicDepth, 7);
+    }
+
+    private String nextTopic() {
+        final String topic = this.topics[this.next];
+        this.next = (this.next + 1) & (TOPICS - 1);
+        return topic;
+    }
+
+    @Benchmark
+    public void linear(final Blackhole blackhole) {
+        final String topic = this.nextTopic();
+        for (final ReceivingTopic receivingTopic : this.compiled) {
+            blackhole.consume(receivingTopic.matches(topic));
+        }
+    }
+
+    @Benchmark
+    public Object index() {
+        return this.index.match(this.nextTopic());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object compile() {
+        return ReceivingTopic.compile(this.nextTopic());
+    }
+
+}
@@ -0,0 +1,229 @@
+package pm.lus.eve.bridge;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents an event bridge which buffers incoming events and receives them in batches
+ * A batch gets delivered as soon as it reached its maximum size or byte size, or once its oldest event lingered for the configured time
+ * Batches are delivered one after another in the order their events came in; delivering a full batch happens on the thread calling the bridge, which slows emitters down if the bridge cannot keep up
+ *
+ * @param <T> The (super)type of the event this bridge applies to
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public abstract class BatchingEventBridge<T extends Event> extends EventBridge<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingEventBridge.class);
+
+    // A single daemon thread is enough to trigger the linger flushes of all batching bridges
+    private static final ScheduledThreadPoolExecutor LINGER_SCHEDULER = createScheduler();
+
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final long maxBytes;
+
+    private final Object bufferLock;
+    private final Object deliveryLock;
+    private List<BatchedEvent<T>> buffer;
+    private long bufferedBytes;
+    private ScheduledFuture<?> lingerTask;
+    // Guarded by the buffer lock, so that no event gets buffered after the final batch got drained
+    private boolean closed;
+
+    /**
+     * @param maxBatchSize The maximum amount of events per batch
+     * @param linger       The maximum time an event waits for its batch to get delivered
+     * @param maxBytes     The maximum sum of the sizes (see {@link #sizeOf(EventContext, Event)}) of the events per batch
+     */
+    protected BatchingEventBridge(final int maxBatchSize, final Duration linger, final long maxBytes) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("the maximum batch size has to be positive");
+        }
+        if (linger.isNegative()) {
+            throw new IllegalArgumentException("the linger time must not be negative");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("the maximum batch byte size has to be positive");
+        }
+
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.maxBytes = maxBytes;
+        this.bufferLock = new Object();
+        this.deliveryLock = new Object();
+        this.buffer = new ArrayList<>(maxBatchSize);
+    }
+
+    /**
+     * @param maxBatchSize The maximum amount of events per batch
+     * @param linger       The maximum time an event waits for its batch to get delivered
+     */
+    protected BatchingEventBridge(final int maxBatchSize, final Duration linger) {
+        this(maxBatchSize, linger, Long.MAX_VALUE);
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "eve-bridge-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * Gets called whenever a batch of events is ready to be delivered
+     * Calls never overlap, so implementations do not have to be thread-safe
+     *
+     * @param batch The events of the batch in the order they came in
+     */
+    protected abstract void receiveBatch(List<BatchedEvent<T>> batch);
+
+    /**
+     * Estimates the size of an event, e.g. its serialized size; used to enforce the maximum batch byte size
+     * Events are not sized by default, so only the maximum batch size and the linger time apply
+     *
+     * @param context The context of the event
+     * @param event   The event itself
+     * @return The estimated size of the event in bytes
+     */
+    protected long sizeOf(final EventContext context, final T event) {
+        return 0;
+    }
+
+    @Override
+    protected final void receive(final EventContext context, final T event) {
+        final long size = this.sizeOf(context, event);
+        final boolean closed;
+        synchronized (this.bufferLock) {
+            closed = this.closed;
+            if (!closed) {
+                this.buffer.add(new BatchedEvent<>(context, event));
+                this.bufferedBytes += size;
+
+                if (this.buffer.size() < this.maxBatchSize && this.bufferedBytes < this.maxBytes) {
+                    if (this.lingerTask == null) {
+                        this.lingerTask = LINGER_SCHEDULER.schedule(this::flushLingering, this.lingerNanos, TimeUnit.NANOSECONDS);
+                    }
+                    return;
+                }
+            }
+        }
+
+        if (closed) {
+            // The final batch gets delivered while holding the delivery lock, so this cannot overtake it
+            synchronized (this.deliveryLock) {
+                this.deliver(Collections.singletonList(new BatchedEvent<>(context, event)));
+            }
+            return;
+        }
+
+        // The buffer only grows beyond its limits by one event per thread waiting for the current delivery to finish
+        this.flush();
+    }
+
+    /**
+     * Delivers the currently buffered events right away
+     */
+    public void flush() {
+        // Batches have to be delivered in the order they were drained in, so draining and delivering happen under the same lock
+        synchronized (this.deliveryLock) {
+            final List<BatchedEvent<T>> batch;
+            synchronized (this.bufferLock) {
+                batch = this.drain();
+            }
+            this.deliver(batch);
+        }
+    }
+
+    /**
+     * Delivers the buffered events; events coming in afterwards get delivered right away
+     */
+    @Override
+    public void close() {
+        synchronized (this.deliveryLock) {
+            final List<BatchedEvent<T>> batch;
+            synchronized (this.bufferLock) {
+                this.closed = true;
+                batch = this.drain();
+            }
+            this.deliver(batch);
+        }
+    }
+
+    private void flushLingering() {
+        try {
+            this.flush();
+        } catch (final Throwable throwable) {
+            LOGGER.error("the lingering batch of bridge '{}' could not be delivered", this.getClass().getName(), throwable);
+        }
+    }
+
+    // Has to be called while holding the buffer lock
+    private List<BatchedEvent<T>> drain() {
+        if (this.lingerTask != null) {
+            this.lingerTask.cancel(false);
+            this.lingerTask = null;
+        }
+
+        final List<BatchedEvent<T>> batch = this.buffer;
+        this.buffer = new ArrayList<>(this.maxBatchSize);
+        this.bufferedBytes = 0;
+        return batch;
+    }
+
+    // Has to be called while holding the delivery lock
+    private void deliver(final List<BatchedEvent<T>> batch) {
+        if (!batch.isEmpty()) {
+            this.receiveBatch(Collections.unmodifiableList(batch));
+        }
+    }
+
+    /**
+     * Represents a single event inside of a batch
+     *
+     * @param <T> The type of the event
+     * @author Lukas Schulte Pelkum
+     * @version 0.1.0
+     * @since 0.1.0
+     */
+    public static final class BatchedEvent<T extends Event> {
+
+        private final EventContext context;
+        private final T event;
+
+        private BatchedEvent(final EventContext context, final T event) {
+            this.context = context;
+            this.event = event;
+        }
+
+        /**
+         * @return The context of the event
+         */
+        public EventContext getContext() {
+            return this.context;
+        }
+
+        /**
+         * @return The event itself
+         */
+        public T getEvent() {
+            return this.event;
+        }
+
+    }
+
+}
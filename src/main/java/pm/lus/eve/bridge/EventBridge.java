@@ -27,6 +27,33 @@ public abstract class EventBridge<T extends Event> {
      */
     protected abstract Class<T> getEventType();
 
+    /**
+     * @return The event type the bridge implementation receives (see {@link #getEventType()})
+     */
+    public Class<? extends Event> getReceivingEventType() {
+        return this.getEventType();
+    }
+
+    /**
+     * Checks whether or not this bridge receives events of the given type
+     *
+     * @param type The concrete event type to check
+     * @return Whether or not events of the given type get passed to this bridge
+     */
+    public boolean accepts(final Class<? extends Event> type) {
+        return this.getEventType().isAssignableFrom(type);
+    }
+
+    /**
+     * Returns the time a single call of this bridge may take before the watchdog of the bus considers it hung
+     * Bridges talking to slow remote systems may override this
+     *
+     * @return The time in milliseconds or 0 to use the default of the watchdog
+     */
+    public long getTimeoutMillis() {
+        return 0;
+    }
+
     /**
      * Calls this event bridge but only calls the receive method if the passed event is of the required type
      *
@@ -35,11 +62,18 @@ public abstract class EventBridge<T extends Event> {
      * @return Whether or not the event bridge was actually executed
      */
     public boolean call(final EventContext ctx, final Event event) {
-        if (!this.getEventType().isAssignableFrom(event.getClass())) {
+        if (!this.accepts(event.getClass())) {
             return false;
         }
         this.receive(ctx, (T) event);
         return true;
     }
 
+    /**
+     * Gets called whenever the bus this bridge is registered to gets closed
+     * Bridges buffering events have to deliver them here; events may still arrive afterwards and have to be delivered right away then
+     */
+    public void close() {
+    }
+
 }
@@ -0,0 +1,30 @@
+package pm.lus.eve.bus;
+
+/**
+ * Defines what a {@link BoundedExecutor} does with a dispatching task if its queue is full
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public enum BackpressurePolicy {
+
+    // Blocks the emitting thread until there is space in the queue
+    // Worker threads of the executor itself run the task instead, as they would otherwise wait for themselves to make space;
+    // partitions reject it instead, as running it would overtake the events queued for the same key
+    BLOCK,
+
+    // Rejects the task; the future returned by the emit completes exceptionally with a RejectedExecutionException
+    FAIL,
+
+    // Silently drops the oldest queued task to make space for the new one
+    // With mailbox dispatch, a queued task is the pending drain of a whole mailbox, so all events pending for that listener get dropped at once
+    DROP_OLDEST,
+
+    // Silently drops the new task
+    DROP_NEWEST,
+
+    // Runs the task on the emitting thread
+    CALLER_RUNS
+
+}
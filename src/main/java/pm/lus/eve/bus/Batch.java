@@ -0,0 +1,43 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the events a single receiver gets passed as part of a batch emit, keeping their order
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class Batch {
+
+    private final List<EventContext> contexts;
+    private final List<Event> events;
+
+    Batch() {
+        this.contexts = new ArrayList<>();
+        this.events = new ArrayList<>();
+    }
+
+    void add(final EventContext context, final Event event) {
+        this.contexts.add(context);
+        this.events.add(event);
+    }
+
+    int size() {
+        return this.events.size();
+    }
+
+    EventContext getContext(final int index) {
+        return this.contexts.get(index);
+    }
+
+    Event getEvent(final int index) {
+        return this.events.get(index);
+    }
+
+}
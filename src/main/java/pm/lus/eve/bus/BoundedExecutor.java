@@ -0,0 +1,210 @@
+package pm.lus.eve.bus;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents an executor with a fixed amount of threads and a bounded queue
+ * Whenever the queue is full, the configured {@link BackpressurePolicy} decides what happens with new tasks
+ * Dispatching tasks that are rejected or dropped complete the futures waiting for them, so no emit waits forever
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class BoundedExecutor extends ThreadPoolExecutor {
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+    // How often an emitter blocked by a full queue checks whether the executor got shut down in the meantime
+    private static final long BLOCK_RECHECK_MILLIS = 100;
+    // The executor the current thread is a worker of, if any
+    private static final ThreadLocal<BoundedExecutor> WORKER_OF = new ThreadLocal<>();
+
+    private final int queueCapacity;
+    private final BackpressurePolicy policy;
+    // Whether tasks have to run in submission order, so that workers must not run the tasks they submit into a full queue themselves
+    private final boolean ordered;
+
+    private final LongAdder rejected;
+    private final LongAdder dropped;
+    private final LongAdder callerRuns;
+    private final LongAdder blocked;
+
+    public BoundedExecutor(final int threads, final int queueCapacity, final BackpressurePolicy policy) {
+        this(threads, queueCapacity, policy, false);
+    }
+
+    /**
+     * @param threads       The amount of threads
+     * @param queueCapacity The maximum amount of queued tasks
+     * @param policy        The policy applied whenever the queue is full
+     * @param ordered       Whether tasks have to run in submission order; if so, a worker submitting into a full queue under the
+     *                      {@link BackpressurePolicy#BLOCK} policy gets its task rejected instead of running it ahead of the queued ones
+     */
+    BoundedExecutor(final int threads, final int queueCapacity, final BackpressurePolicy policy, final boolean ordered) {
+        super(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), threadFactory());
+        this.queueCapacity = queueCapacity;
+        this.policy = policy;
+        this.ordered = ordered;
+        this.rejected = new LongAdder();
+        this.dropped = new LongAdder();
+        this.callerRuns = new LongAdder();
+        this.blocked = new LongAdder();
+        this.setRejectedExecutionHandler(new BackpressureHandler());
+    }
+
+    private static ThreadFactory threadFactory() {
+        final int pool = POOL_COUNTER.incrementAndGet();
+        final AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "eve-dispatch-" + pool + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * @return The policy applied whenever the queue is full
+     */
+    public BackpressurePolicy getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * @return The amount of tasks currently waiting in the queue
+     */
+    public int getQueueDepth() {
+        return this.getQueue().size();
+    }
+
+    /**
+     * @return The maximum amount of tasks waiting in the queue
+     */
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    /**
+     * @return The amount of tasks that got rejected, either because of the {@link BackpressurePolicy#FAIL} policy or because the executor was shut down
+     */
+    public long getRejectedCount() {
+        return this.rejected.sum();
+    }
+
+    /**
+     * @return The amount of tasks that got dropped because of the {@link BackpressurePolicy#DROP_OLDEST} or {@link BackpressurePolicy#DROP_NEWEST} policy
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * @return The amount of tasks that ran on the emitting thread because of the {@link BackpressurePolicy#CALLER_RUNS} policy
+     */
+    public long getCallerRunsCount() {
+        return this.callerRuns.sum();
+    }
+
+    /**
+     * @return The amount of times an emitting thread had to wait because of the {@link BackpressurePolicy#BLOCK} policy
+     */
+    public long getBlockedCount() {
+        return this.blocked.sum();
+    }
+
+    @Override
+    protected void beforeExecute(final Thread thread, final Runnable task) {
+        if (WORKER_OF.get() != this) {
+            WORKER_OF.set(this);
+        }
+    }
+
+    private void reject(final Runnable task, final String reason) {
+        this.rejected.increment();
+        final RejectedExecutionException exception = new RejectedExecutionException(reason);
+        if (!(task instanceof Rejectable)) {
+            throw exception;
+        }
+        ((Rejectable) task).reject(exception);
+    }
+
+    private void drop(final Runnable task) {
+        this.dropped.increment();
+        if (task instanceof Rejectable) {
+            ((Rejectable) task).drop();
+        }
+    }
+
+    private final class BackpressureHandler implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                BoundedExecutor.this.reject(task, "the executor has been shut down");
+                return;
+            }
+
+            switch (BoundedExecutor.this.policy) {
+                case BLOCK:
+                    // Only workers make space in the queue, so a worker waiting for it, e.g. a listener emitting, could wait forever
+                    if (WORKER_OF.get() == BoundedExecutor.this) {
+                        if (BoundedExecutor.this.ordered) {
+                            BoundedExecutor.this.reject(task, "a worker cannot wait for space in its own full queue (" + BoundedExecutor.this.queueCapacity + " tasks) "
+                                    + "and running the task itself would overtake the queued ones");
+                            break;
+                        }
+                        BoundedExecutor.this.callerRuns.increment();
+                        task.run();
+                        break;
+                    }
+                    BoundedExecutor.this.blocked.increment();
+                    this.block(task, executor);
+                    break;
+                case FAIL:
+                    BoundedExecutor.this.reject(task, "the dispatch queue is full (" + BoundedExecutor.this.queueCapacity + " tasks)");
+                    break;
+                case DROP_OLDEST:
+                    final Runnable oldest = executor.getQueue().poll();
+                    if (oldest != null) {
+                        BoundedExecutor.this.drop(oldest);
+                    }
+                    executor.execute(task);
+                    break;
+                case DROP_NEWEST:
+                    BoundedExecutor.this.drop(task);
+                    break;
+                case CALLER_RUNS:
+                    BoundedExecutor.this.callerRuns.increment();
+                    task.run();
+                    break;
+            }
+        }
+
+        private void block(final Runnable task, final ThreadPoolExecutor executor) {
+            // Queueing directly bypasses the shutdown check of execute, so it gets repeated while waiting and once queued
+            try {
+                while (!executor.getQueue().offer(task, BLOCK_RECHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (executor.isShutdown()) {
+                        BoundedExecutor.this.reject(task, "the executor has been shut down");
+                        return;
+                    }
+                }
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                BoundedExecutor.this.reject(task, "interrupted while waiting for space in the queue");
+                return;
+            }
+            if (executor.isShutdown() && executor.getQueue().remove(task)) {
+                BoundedExecutor.this.reject(task, "the executor has been shut down");
+            }
+        }
+
+    }
+
+}
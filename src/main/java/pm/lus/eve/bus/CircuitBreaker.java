@@ -0,0 +1,175 @@
+package pm.lus.eve.bus;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the circuit breaker the {@link Watchdog} keeps for a single listener method or bridge
+ * After too many consecutive invocations exceeded their timeout, the breaker opens and the receiver gets skipped for a cooldown period;
+ * afterwards, a single trial invocation decides whether the breaker closes again or stays open for another cooldown period
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public final class CircuitBreaker {
+
+    private final String receiver;
+    private final long timeoutNanos;
+    private final int threshold;
+    private final long cooldownNanos;
+
+    private volatile State state;
+    private volatile long openedAt;
+    private final AtomicInteger consecutiveTimeouts;
+    private final AtomicBoolean trialRunning;
+    private final LongAdder timeouts;
+    private final LongAdder skipped;
+    private final LongAdder trips;
+
+    CircuitBreaker(final String receiver, final long timeoutNanos, final int threshold, final long cooldownNanos) {
+        this.receiver = receiver;
+        this.timeoutNanos = timeoutNanos;
+        this.threshold = threshold;
+        this.cooldownNanos = cooldownNanos;
+        this.state = State.CLOSED;
+        this.consecutiveTimeouts = new AtomicInteger();
+        this.trialRunning = new AtomicBoolean();
+        this.timeouts = new LongAdder();
+        this.skipped = new LongAdder();
+        this.trips = new LongAdder();
+    }
+
+    /**
+     * Decides whether or not the receiver may be invoked right now
+     *
+     * @return Whether or not the receiver may be invoked; skipped invocations get counted
+     */
+    boolean allow() {
+        final State current = this.state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+
+        if (current == State.OPEN) {
+            if (System.nanoTime() - this.openedAt < this.cooldownNanos) {
+                this.skipped.increment();
+                return false;
+            }
+            synchronized (this) {
+                if (this.state == State.OPEN) {
+                    this.state = State.HALF_OPEN;
+                }
+            }
+        }
+
+        // Only a single trial invocation gets through while half open
+        if (this.state == State.HALF_OPEN && !this.trialRunning.compareAndSet(false, true)) {
+            this.skipped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets called whenever an invocation completed within its timeout
+     */
+    void onSuccess() {
+        this.consecutiveTimeouts.set(0);
+        if (this.state == State.HALF_OPEN) {
+            synchronized (this) {
+                if (this.state == State.HALF_OPEN) {
+                    this.state = State.CLOSED;
+                    this.trialRunning.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets called whenever an invocation exceeded its timeout, either detected by the watchdog or once it completed
+     */
+    void onTimeout() {
+        this.timeouts.increment();
+        if (this.state == State.HALF_OPEN || this.consecutiveTimeouts.incrementAndGet() >= this.threshold) {
+            this.open();
+        }
+    }
+
+    private synchronized void open() {
+        if (this.state == State.OPEN) {
+            return;
+        }
+        this.state = State.OPEN;
+        this.openedAt = System.nanoTime();
+        this.consecutiveTimeouts.set(0);
+        this.trialRunning.set(false);
+        this.trips.increment();
+    }
+
+    long getTimeoutNanos() {
+        return this.timeoutNanos;
+    }
+
+    /**
+     * @return The name of the listener method ('&lt;class name&gt;#&lt;method name&gt;') or the class name of the bridge this breaker belongs to
+     */
+    public String getReceiver() {
+        return this.receiver;
+    }
+
+    /**
+     * @return The current state of the breaker
+     */
+    public State getState() {
+        return this.state;
+    }
+
+    /**
+     * @return The amount of invocations that exceeded their timeout
+     */
+    public long getTimeoutCount() {
+        return this.timeouts.sum();
+    }
+
+    /**
+     * @return The amount of invocations that got skipped because the breaker was open
+     */
+    public long getSkippedCount() {
+        return this.skipped.sum();
+    }
+
+    /**
+     * @return The amount of times the breaker opened
+     */
+    public long getTripCount() {
+        return this.trips.sum();
+    }
+
+    @Override
+    public String toString() {
+        return this.receiver + " (" + this.state + ")";
+    }
+
+    /**
+     * Represents the states of a circuit breaker
+     *
+     * @author Lukas Schulte Pelkum
+     * @version 0.1.0
+     * @since 0.1.0
+     */
+    public enum State {
+
+        // Invocations pass
+        CLOSED,
+
+        // Invocations get skipped until the cooldown period passed
+        OPEN,
+
+        // A single trial invocation passes to decide about closing the breaker again
+        HALF_OPEN
+
+    }
+
+}
@@ -0,0 +1,185 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.Partitioned;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.error.ErrorHandler;
+import pm.lus.eve.instrumentation.Instrumentation;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands events over to the conflating listener methods of their routes, keeping one {@link ConflationSlot} per method, topic and partition key
+ * The partition key is taken from the explicitly passed one or {@link Partitioned} events; all other events are only conflated per topic
+ * Slots remove themselves once they delivered their last pending event, so high-cardinality partition keys do not pile up
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class Conflation implements Redeliverer {
+
+    private final Executor executor;
+    // Null if instrumentation is disabled
+    private final Instrumentation instrumentation;
+    private final ErrorHandler errorHandler;
+    // Null if the watchdog is disabled
+    private final Watchdog watchdog;
+    private final Map<ListenerMethodDefinition, Map<SlotKey, ConflationSlot>> slots;
+    private final LongAdder conflated;
+
+    Conflation(final Executor executor, final Instrumentation instrumentation, final ErrorHandler errorHandler, final Watchdog watchdog) {
+        this.executor = executor;
+        this.instrumentation = instrumentation;
+        this.errorHandler = errorHandler;
+        this.watchdog = watchdog;
+        this.slots = new ConcurrentHashMap<>();
+        this.conflated = new LongAdder();
+    }
+
+    /**
+     * Hands a single event over to the conflating listener methods of its route
+     *
+     * @param route The route of the event
+     * @param event The event itself
+     * @param key   The key of the partition the event belongs to or null to derive it from the event
+     * @return A future to keep track with the deliveries
+     */
+    CompletableFuture<Void> dispatch(final Route route, final Event event, final Object key) {
+        final ListenerMethodDefinition[] methodDefinitions = route.getConflatingListeners();
+        if (methodDefinitions.length == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final long emittedAt = Tasks.emittedAt(this.instrumentation);
+        if (methodDefinitions.length == 1) {
+            return this.submit(methodDefinitions[0], route.getContext(), event, key, emittedAt);
+        }
+
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[methodDefinitions.length];
+        for (int i = 0; i < methodDefinitions.length; i++) {
+            futures[i] = this.submit(methodDefinitions[i], route.getContext(), event, key, emittedAt);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Hands a single event over to a single conflating listener method
+     *
+     * @param methodDefinition The conflating listener method
+     * @param context          The context of the event
+     * @param event            The event itself
+     * @param key              The key of the partition the event belongs to or null to derive it from the event
+     * @param emittedAt        The time the event got emitted at as returned by {@link Tasks#emittedAt(Instrumentation)}
+     * @return A future completing once the event got delivered or replaced by a newer one
+     */
+    CompletableFuture<Void> submit(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event, final Object key, final long emittedAt) {
+        return this.submit(methodDefinition, context, event, key, emittedAt, false);
+    }
+
+    /**
+     * Hands a failed event back to the slot of its conflating listener method; a newer pending event supersedes it like any other
+     */
+    @Override
+    public CompletableFuture<Void> redeliver(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event) {
+        return this.submit(methodDefinition, context, event, null, Tasks.emittedAt(this.instrumentation), true);
+    }
+
+    private CompletableFuture<Void> submit(
+            final ListenerMethodDefinition methodDefinition,
+            final EventContext context,
+            final Event event,
+            final Object key,
+            final long emittedAt,
+            final boolean redelivery
+    ) {
+        final Object partitionKey = key != null ? key : event instanceof Partitioned ? ((Partitioned) event).getPartitionKey() : null;
+        final Map<SlotKey, ConflationSlot> methodSlots = this.slots.computeIfAbsent(methodDefinition, definition -> new ConcurrentHashMap<>());
+        final SlotKey slotKey = new SlotKey(context.getTopic(), partitionKey);
+        while (true) {
+            final ConflationSlot slot = methodSlots.computeIfAbsent(slotKey, ignored -> new ConflationSlot(
+                    this.executor,
+                    this.instrumentation,
+                    this.errorHandler,
+                    this.watchdog,
+                    // Keeps redeliveries in the slot of the explicit key, which the failed delivery does not know about
+                    (failedMethod, failedContext, failedEvent) -> this.submit(failedMethod, failedContext, failedEvent, partitionKey, Tasks.emittedAt(this.instrumentation), true),
+                    methodDefinition,
+                    this.conflated,
+                    methodSlots,
+                    slotKey
+            ));
+            final CompletableFuture<Void> future = slot.submit(context, event, emittedAt, redelivery);
+            if (future != null) {
+                return future;
+            }
+            // The slot retired concurrently; it removes itself, but a retry must not find it again
+            methodSlots.remove(slotKey, slot);
+        }
+    }
+
+    /**
+     * @return The amount of slots currently holding or delivering an event
+     */
+    int getSlotCount() {
+        int count = 0;
+        for (final Map<SlotKey, ConflationSlot> methodSlots : this.slots.values()) {
+            count += methodSlots.size();
+        }
+        return count;
+    }
+
+    /**
+     * Drops the slots of listeners that are no longer registered
+     *
+     * @param listeners The currently registered listeners
+     */
+    void retain(final Set<Listener> listeners) {
+        this.slots.keySet().removeIf(methodDefinition -> !listeners.contains(methodDefinition.getListener()));
+    }
+
+    /**
+     * @return The amount of pending events that got replaced by newer ones across all conflating listener methods
+     */
+    long getConflatedCount() {
+        return this.conflated.sum();
+    }
+
+    private static final class SlotKey {
+
+        private final String topic;
+        private final Object partitionKey;
+
+        private SlotKey(final String topic, final Object partitionKey) {
+            this.topic = topic;
+            this.partitionKey = partitionKey;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof SlotKey)) {
+                return false;
+            }
+            final SlotKey slotKey = (SlotKey) other;
+            return this.topic.equals(slotKey.topic) && Objects.equals(this.partitionKey, slotKey.partitionKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.topic.hashCode() * 31 + Objects.hashCode(this.partitionKey);
+        }
+
+    }
+
+}
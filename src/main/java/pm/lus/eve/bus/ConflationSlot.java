@@ -0,0 +1,196 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.error.ErrorHandler;
+import pm.lus.eve.instrumentation.Instrumentation;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a mailbox of a conflating listener method holding at most a single pending event of a specific topic and partition key
+ * A newer event replaces the pending one, whose future then completes without it ever being delivered
+ * Like with {@link Mailbox}, at most one delivery is scheduled at any time, so the method never receives older events after newer ones
+ * Once a delivery finds no newer event, the slot retires and removes itself from its map; submitting to a retired slot fails,
+ * so a new slot is only ever created after the old one delivered its last event
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class ConflationSlot implements Runnable, Rejectable {
+
+    // Marks a slot which is not going to deliver anything anymore
+    private static final Pending RETIRED = new Pending(null, null, 0, false);
+
+    private final Executor executor;
+    // Null if instrumentation is disabled
+    private final Instrumentation instrumentation;
+    private final ErrorHandler errorHandler;
+    // Null if the watchdog is disabled
+    private final Watchdog watchdog;
+    private final Redeliverer redeliverer;
+    private final ListenerMethodDefinition methodDefinition;
+    private final LongAdder conflated;
+    private final AtomicReference<Pending> pending;
+    private final AtomicBoolean scheduled;
+    private final Map<?, ConflationSlot> slots;
+    private final Object key;
+
+    ConflationSlot(
+            final Executor executor,
+            final Instrumentation instrumentation,
+            final ErrorHandler errorHandler,
+            final Watchdog watchdog,
+            final Redeliverer redeliverer,
+            final ListenerMethodDefinition methodDefinition,
+            final LongAdder conflated,
+            final Map<?, ConflationSlot> slots,
+            final Object key
+    ) {
+        this.executor = executor;
+        this.instrumentation = instrumentation;
+        this.errorHandler = errorHandler;
+        this.watchdog = watchdog;
+        this.redeliverer = redeliverer;
+        this.methodDefinition = methodDefinition;
+        this.conflated = conflated;
+        this.pending = new AtomicReference<>();
+        this.scheduled = new AtomicBoolean();
+        this.slots = slots;
+        this.key = key;
+    }
+
+    /**
+     * Replaces the pending event and schedules a delivery if none is scheduled yet
+     *
+     * @param context   The context of the event
+     * @param event     The event itself
+     * @param emittedAt  The time the event got emitted at as returned by {@link Tasks#emittedAt(Instrumentation)}
+     * @param redelivery Whether the event gets retried by the error handler, so that a failure completes the future instead of being reported again
+     * @return A future completing once the event got delivered or replaced by a newer one or null if the slot retired and a new one has to be used
+     */
+    CompletableFuture<Void> submit(final EventContext context, final Event event, final long emittedAt, final boolean redelivery) {
+        final Pending next = new Pending(context, event, emittedAt, redelivery);
+        Pending previous;
+        do {
+            previous = this.pending.get();
+            if (previous == RETIRED) {
+                return null;
+            }
+        } while (!this.pending.compareAndSet(previous, next));
+
+        if (previous != null) {
+            this.conflated.increment();
+            if (this.instrumentation != null) {
+                this.instrumentation.onConflated(this.methodDefinition, previous.context, previous.event);
+            }
+            previous.future.complete(null);
+        }
+
+        this.schedule();
+        return next.future;
+    }
+
+    private void schedule() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this);
+            } catch (final RejectedExecutionException exception) {
+                this.reject(exception);
+            }
+        }
+    }
+
+    /**
+     * Delivers the currently pending event and reschedules itself if a newer one arrived in the meantime
+     */
+    @Override
+    public void run() {
+        final Pending current = this.take();
+        if (current != null && current.redelivery) {
+            try {
+                Tasks.deliver(this.instrumentation, this.watchdog, this.methodDefinition, current.context, current.event, current.emittedAt);
+                current.future.complete(null);
+            } catch (final Throwable throwable) {
+                current.future.completeExceptionally(throwable);
+            }
+        } else if (current != null) {
+            Tasks.invoke(this.instrumentation, this.errorHandler, this.watchdog, this.redeliverer, this.methodDefinition, current.context, current.event, current.emittedAt);
+            current.future.complete(null);
+        }
+
+        this.unschedule();
+    }
+
+    @Override
+    public void reject(final RejectedExecutionException exception) {
+        final Pending current = this.take();
+        if (current != null) {
+            current.future.completeExceptionally(exception);
+        }
+        this.unschedule();
+    }
+
+    @Override
+    public void drop() {
+        final Pending current = this.take();
+        if (current != null) {
+            current.future.complete(null);
+        }
+        this.unschedule();
+    }
+
+    // Takes the pending event, leaving a retired slot retired; null if there is nothing to deliver
+    private Pending take() {
+        while (true) {
+            final Pending current = this.pending.get();
+            if (current == null || current == RETIRED) {
+                return null;
+            }
+            if (this.pending.compareAndSet(current, null)) {
+                return current;
+            }
+        }
+    }
+
+    private void unschedule() {
+        // Retired while still being scheduled, so no other delivery can be running; a retired slot stays scheduled forever
+        if (this.pending.compareAndSet(null, RETIRED)) {
+            this.slots.remove(this.key, this);
+            return;
+        }
+
+        // A newer event arrived; its submitter could not schedule the slot as this delivery still held it
+        this.scheduled.set(false);
+        if (this.pending.get() != null) {
+            this.schedule();
+        }
+    }
+
+    private static final class Pending {
+
+        private final EventContext context;
+        private final Event event;
+        private final long emittedAt;
+        private final boolean redelivery;
+        private final CompletableFuture<Void> future;
+
+        private Pending(final EventContext context, final Event event, final long emittedAt, final boolean redelivery) {
+            this.context = context;
+            this.event = event;
+            this.emittedAt = emittedAt;
+            this.redelivery = redelivery;
+            this.future = new CompletableFuture<>();
+        }
+
+    }
+
+}
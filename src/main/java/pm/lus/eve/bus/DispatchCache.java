@@ -0,0 +1,137 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches resolved routes keyed by the topic and the concrete type of an event
+ * The cache is bounded and direct-mapped: every key has exactly one slot and a colliding key evicts the current entry
+ * Entries are bound to the routing table they were resolved with and are never returned once that table got replaced
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class DispatchCache {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final AtomicReferenceArray<Entry> entries;
+    private final int mask;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    DispatchCache(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("the dispatch cache capacity has to be positive");
+        }
+
+        // Round up to the next power of two so that slots can be selected using a bit mask
+        final int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.entries = new AtomicReferenceArray<>(Math.max(size, 1));
+        this.mask = this.entries.length() - 1;
+
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * Looks up the cached route for the given key
+     *
+     * @param table The routing table the route has to be resolved with
+     * @param topic The raw topic the event belongs to
+     * @param type  The concrete type of the event
+     * @return The cached route or null if there is none
+     */
+    Route get(final RoutingTable table, final String topic, final Class<? extends Event> type) {
+        final Entry entry = this.entries.get(slot(topic, type) & this.mask);
+        if (entry != null && entry.table == table && entry.type.get() == type && entry.topic.equals(topic)) {
+            this.hits.increment();
+            return entry.route;
+        }
+        this.misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches the given route, evicting the entry currently occupying its slot
+     *
+     * @param table The routing table the route was resolved with
+     * @param topic The raw topic the event belongs to
+     * @param type  The concrete type of the event
+     * @param route The resolved route
+     */
+    void put(final RoutingTable table, final String topic, final Class<? extends Event> type, final Route route) {
+        final Entry previous = this.entries.getAndSet(slot(topic, type) & this.mask, new Entry(table, topic, type, route));
+        if (previous != null && previous.table == table && !(previous.type.get() == type && previous.topic.equals(topic))) {
+            this.evictions.increment();
+        }
+    }
+
+    /**
+     * Drops all cached routes
+     * Stale entries would never be returned anyway but they may keep removed listeners from being collected
+     */
+    void clear() {
+        for (int i = 0; i < this.entries.length(); i++) {
+            this.entries.set(i, null);
+        }
+    }
+
+    private static int slot(final String topic, final Class<?> type) {
+        final int hash = topic.hashCode() * 31 + type.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return The amount of slots this cache consists of
+     */
+    public int getCapacity() {
+        return this.entries.length();
+    }
+
+    /**
+     * @return The amount of lookups that returned a cached route
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return The amount of lookups that had to resolve the route
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return The amount of valid entries that got replaced by an entry for a different key
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    private static final class Entry {
+
+        private final RoutingTable table;
+        private final String topic;
+        // Weakly referenced so that cached routes do not keep event classes of unloaded class loaders alive
+        private final WeakReference<Class<? extends Event>> type;
+        private final Route route;
+
+        private Entry(final RoutingTable table, final String topic, final Class<? extends Event> type, final Route route) {
+            this.table = table;
+            this.topic = topic;
+            this.type = new WeakReference<>(type);
+            this.route = route;
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package pm.lus.eve.bus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Wraps a dispatching task and completes a future once it ran, got rejected or got dropped
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class DispatchTask implements Runnable, Rejectable {
+
+    private final Runnable task;
+    private final CompletableFuture<Void> future;
+
+    DispatchTask(final Runnable task) {
+        this.task = task;
+        this.future = new CompletableFuture<>();
+    }
+
+    @Override
+    public void run() {
+        try {
+            this.task.run();
+            this.future.complete(null);
+        } catch (final Throwable throwable) {
+            this.future.completeExceptionally(throwable);
+        }
+    }
+
+    @Override
+    public void reject(final RejectedExecutionException exception) {
+        this.future.completeExceptionally(exception);
+    }
+
+    @Override
+    public void drop() {
+        this.future.complete(null);
+    }
+
+    CompletableFuture<Void> getFuture() {
+        return this.future;
+    }
+
+}
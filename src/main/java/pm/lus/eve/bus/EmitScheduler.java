@@ -0,0 +1,117 @@
+package pm.lus.eve.bus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pm.lus.eve.event.Event;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of the events emitted with a delay using a {@link TimerWheel}
+ * All events becoming due within the same tick are emitted together using {@link EventBus#emitAll(Map)},
+ * so their receivers get resolved once per tick and every receiver handles its share of them in a single task
+ * Due events are emitted on the executor of the bus, so journaling and backpressure never stall the timer thread;
+ * only the hand-off of a tick's batch itself is subject to the backpressure policy of a {@link BoundedExecutor}
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class EmitScheduler implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmitScheduler.class);
+
+    private static final long TICK_MILLIS = 10;
+    private static final int WHEEL_SIZE = 512;
+
+    private final EventBus bus;
+    private final Executor executor;
+    private final TimerWheel timer;
+    private final LongAdder pending;
+    private volatile boolean closed;
+    // Only accessed by the timer thread
+    private Map<String, List<Event>> due;
+
+    EmitScheduler(final EventBus bus, final Executor executor) {
+        this.bus = bus;
+        this.executor = executor;
+        this.timer = new TimerWheel(TICK_MILLIS, TimeUnit.MILLISECONDS, WHEEL_SIZE, this::emitDue);
+        this.pending = new LongAdder();
+        this.due = new LinkedHashMap<>();
+    }
+
+    /**
+     * Schedules an event to be emitted once the given delay elapsed
+     *
+     * @param topic      The raw topic the event belongs to
+     * @param event      The event itself
+     * @param delayNanos The delay in nanoseconds
+     * @return The handle of the scheduled emit
+     * @throws IllegalStateException If the scheduler has been closed
+     */
+    ScheduledEmit schedule(final String topic, final Event event, final long delayNanos) {
+        final ScheduledEmit emit = new ScheduledEmit(this, topic, event);
+        // Counted beforehand so that the timer thread can never expire the emit before it got counted
+        this.pending.increment();
+        try {
+            emit.setTimeout(this.timer.schedule(() -> this.expire(emit), delayNanos, TimeUnit.NANOSECONDS));
+        } catch (final IllegalStateException exception) {
+            this.pending.decrement();
+            throw exception;
+        }
+        return emit;
+    }
+
+    /**
+     * @return The amount of scheduled emits that neither happened nor got cancelled yet; 0 once the scheduler has been closed
+     */
+    long pendingCount() {
+        return this.closed ? 0 : this.pending.sum();
+    }
+
+    void onCancel() {
+        // Closing already discarded the count of all pending emits
+        if (!this.closed) {
+            this.pending.decrement();
+        }
+    }
+
+    private void expire(final ScheduledEmit emit) {
+        this.pending.decrement();
+        this.due.computeIfAbsent(emit.getTopic(), topic -> new ArrayList<>()).add(emit.getEvent());
+    }
+
+    private void emitDue() {
+        if (this.due.isEmpty()) {
+            return;
+        }
+        final Map<String, List<Event>> events = this.due;
+        this.due = new LinkedHashMap<>();
+        Tasks.run(this.executor, () -> this.bus.emitAll(events).whenComplete((ignored, throwable) -> this.report(events, throwable)))
+                .whenComplete((ignored, throwable) -> this.report(events, throwable));
+    }
+
+    private void report(final Map<String, List<Event>> events, final Throwable throwable) {
+        if (throwable != null) {
+            LOGGER.error("could not emit the delayed events due on topics {}", events.keySet(), throwable);
+        }
+    }
+
+    /**
+     * Stops the timer thread; pending emits never happen and are no longer counted
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.timer.close();
+        this.pending.reset();
+    }
+
+}
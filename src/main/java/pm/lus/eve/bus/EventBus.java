@@ -1,17 +1,35 @@
 package pm.lus.eve.bus;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import pm.lus.eve.bridge.EventBridge;
 import pm.lus.eve.collection.SimpleDataContainer;
+import pm.lus.eve.collection.Snapshot;
 import pm.lus.eve.collection.TransformingDataContainer;
+import pm.lus.eve.error.ErrorHandler;
+import pm.lus.eve.error.ErrorPipeline;
 import pm.lus.eve.event.Event;
 import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.instrumentation.Instrumentation;
+import pm.lus.eve.journal.Journal;
 import pm.lus.eve.listener.Listener;
 import pm.lus.eve.listener.definition.ListenerDefinition;
 import pm.lus.eve.listener.definition.ListenerMethodDefinition;
 
 import java.io.Closeable;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -25,18 +43,67 @@ import java.util.concurrent.Executors;
  */
 public class EventBus implements Closeable {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventBus.class);
+
+    // The amount of replayed events whose futures get combined into a single one
+    private static final int REPLAY_CHUNK_SIZE = 1024;
+
     private final SimpleDataContainer<EventBridge<?>> bridges;
     private final TransformingDataContainer<Listener, ListenerDefinition> listenerDefinitions;
     private final ExecutorService executorService;
+    // Null if instrumentation is disabled so that the hot path only has to check a single reference
+    private final Instrumentation instrumentation;
+    // Null if events do not get journaled
+    private final Journal journal;
+    private final ErrorHandler errorHandler;
+    // Null if listener and bridge timeouts are not enforced
+    private final Watchdog watchdog;
+    private final ListenerDispatcher listenerDispatcher;
+    private final Conflation conflation;
+    private final DispatchCache dispatchCache;
+    private final PendingRequests pendingRequests;
+    private final EmitScheduler emitScheduler;
+    private volatile RoutingTable routingTable;
 
-    public EventBus(final ExecutorService executorService) {
+    private EventBus(final Builder builder) {
         this.bridges = new SimpleDataContainer<>();
         this.listenerDefinitions = new TransformingDataContainer<>(ListenerDefinition::build);
-        this.executorService = executorService;
+        this.executorService = builder.executorService != null ? builder.executorService : Executors.newCachedThreadPool();
+        this.instrumentation = builder.instrumentation != Instrumentation.DISABLED ? builder.instrumentation : null;
+        this.journal = builder.journal;
+        this.errorHandler = builder.errorHandler != null ? builder.errorHandler : ErrorPipeline.builder().build();
+        this.watchdog = builder.watchdog;
+        if (builder.partitions > 0) {
+            this.listenerDispatcher = new PartitionedListenerDispatcher(builder.partitions, builder.partitionQueueCapacity, builder.partitionPolicy, this.instrumentation, this.errorHandler, this.watchdog);
+        } else if (builder.mailboxDrainBatchSize > 0) {
+            this.listenerDispatcher = new MailboxListenerDispatcher(this.executorService, builder.mailboxDrainBatchSize, this.instrumentation, this.errorHandler, this.watchdog);
+        } else {
+            this.listenerDispatcher = new TaskListenerDispatcher(this.executorService, this.instrumentation, this.errorHandler, this.watchdog);
+        }
+        this.conflation = new Conflation(this.executorService, this.instrumentation, this.errorHandler, this.watchdog);
+        this.dispatchCache = new DispatchCache(builder.dispatchCacheCapacity);
+        this.pendingRequests = new PendingRequests(this.executorService);
+        this.emitScheduler = new EmitScheduler(this, this.executorService);
+        this.routingTable = RoutingTable.build(this.listenerDefinitions.snapshot(), this.bridges.snapshot());
+    }
+
+    public EventBus(final ExecutorService executorService, final int dispatchCacheCapacity) {
+        this(builder().executor(executorService).dispatchCacheCapacity(dispatchCacheCapacity));
+    }
+
+    public EventBus(final ExecutorService executorService) {
+        this(builder().executor(executorService));
     }
 
     public EventBus() {
-        this(Executors.newCachedThreadPool());
+        this(builder());
+    }
+
+    /**
+     * @return A new builder to configure an event bus with
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
@@ -53,74 +120,905 @@ public class EventBus implements Closeable {
         return this.listenerDefinitions;
     }
 
+    /**
+     * @return The executor service calling listeners and bridges; a {@link BoundedExecutor} if configured using {@link Builder#bounded(int, int, BackpressurePolicy)}
+     */
+    public ExecutorService executor() {
+        return this.executorService;
+    }
+
+    /**
+     * @return The cache holding the resolved receivers per topic and event type
+     */
+    public DispatchCache dispatchCache() {
+        return this.dispatchCache;
+    }
+
+    /**
+     * @return The single-threaded executors calling the listeners of the individual partitions; empty if partitioned dispatch is disabled
+     */
+    public List<BoundedExecutor> partitions() {
+        if (this.listenerDispatcher instanceof PartitionedListenerDispatcher) {
+            return ((PartitionedListenerDispatcher) this.listenerDispatcher).getShards();
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return The amount of pending events that got replaced by newer ones before being delivered to conflating listener methods
+     * @see pm.lus.eve.listener.annotation.Listen#conflate()
+     */
+    public long conflatedCount() {
+        return this.conflation.getConflatedCount();
+    }
+
+    /**
+     * @return The amount of conflation slots currently holding or delivering an event
+     */
+    int conflationSlotCount() {
+        return this.conflation.getSlotCount();
+    }
+
+    /**
+     * @return The amount of requests waiting for a reply
+     * @see #request(String, Event, Class, Duration)
+     */
+    public int pendingRequestCount() {
+        return this.pendingRequests.size();
+    }
+
+    /**
+     * @return The amount of delayed emits that neither happened nor got cancelled yet
+     * @see #emitAfter(String, Event, Duration)
+     */
+    public long scheduledEmitCount() {
+        return this.emitScheduler.pendingCount();
+    }
+
+    /**
+     * @return The instrumentation notified about emits and deliveries; {@link Instrumentation#DISABLED} if not configured
+     */
+    public Instrumentation instrumentation() {
+        return this.instrumentation != null ? this.instrumentation : Instrumentation.DISABLED;
+    }
+
+    /**
+     * @return The handler failed deliveries get passed to; an {@link ErrorPipeline} logging them if not configured
+     */
+    public ErrorHandler errorHandler() {
+        return this.errorHandler;
+    }
+
+    /**
+     * @return The watchdog enforcing the timeouts of listener methods and bridges or null if none is configured
+     */
+    public Watchdog watchdog() {
+        return this.watchdog;
+    }
+
+    /**
+     * @return The journal every emitted event gets appended to or null if none is configured
+     */
+    public Journal journal() {
+        return this.journal;
+    }
+
+    /**
+     * Creates a handle of the given raw topic which can be used to emit events without parsing and matching the topic again
+     * See {@link Topic} for details
+     *
+     * @param topic The raw topic
+     * @return The created topic handle
+     */
+    public Topic topic(final String topic) {
+        return new Topic(this, topic);
+    }
+
     /**
      * Emits an event and asynchronously calls all event listeners that opted in to receive it
+     * If a journal is configured, the event gets appended to it before any listener is called
+     * Use {@link #emit(Topic, Event)} to skip parsing and matching the topic on every single emit
      *
      * @param topic The raw topic the event belongs to
      * @param event The event itself
-     * @return A future to keep track with the listener executing task
+     * @return A future to keep track with the listener executing task; completes exceptionally if the event could not be journaled
      */
     public CompletableFuture<Void> emit(final String topic, final Event event) {
-        final EventContext context = new EventContext(this, topic);
+        final Exception failure = this.journal(topic, event);
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+        return this.dispatch(this.route(topic, event), event);
+    }
 
-        return CompletableFuture.allOf(
-                this.callBridges(context, event),
-                this.run(() -> {
-                    for (final ListenerDefinition listenerDefinition : this.listenerDefinitions.getEntities().values()) {
-                        for (final ListenerMethodDefinition methodDefinition : listenerDefinition.getMethodDefinitions()) {
-                            if (methodDefinition.getReceivingTopics().stream().noneMatch(receivingTopic -> receivingTopic.matches(topic))) {
-                                continue;
-                            }
-
-                            if (!methodDefinition.getReceivingEventType().isAssignableFrom(event.getClass())) {
-                                continue;
-                            }
-
-                            try {
-                                final Method method = methodDefinition.getMethod();
-                                final boolean wasAccessible = method.canAccess(listenerDefinition.getInstance());
-                                if (!wasAccessible) {
-                                    method.setAccessible(true);
-                                }
-
-                                method.invoke(listenerDefinition.getInstance(), context, event);
-
-                                if (!wasAccessible) {
-                                    method.setAccessible(false);
-                                }
-                            } catch (final InvocationTargetException | IllegalAccessException exception) {
-                                exception.printStackTrace();
-                            }
-                        }
-                    }
-                })
-        );
+    /**
+     * Emits an event through a topic handle and asynchronously calls all event listeners that opted in to receive it
+     *
+     * @param topic The handle of the topic the event belongs to
+     * @param event The event itself
+     * @return A future to keep track with the listener executing task; completes exceptionally if the event could not be journaled
+     * @throws IllegalArgumentException If the topic handle belongs to another bus
+     * @see #emit(String, Event)
+     */
+    public CompletableFuture<Void> emit(final Topic topic, final Event event) {
+        this.checkOwnership(topic);
+        final Exception failure = this.journal(topic.getRaw(), event);
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+        return this.dispatch(this.route(topic, event), event);
+    }
+
+    /**
+     * Emits an event belonging to an explicit partition and asynchronously calls all event listeners that opted in to receive it
+     * If the bus uses partitioned dispatch, the key overrides the one of {@link pm.lus.eve.event.Partitioned} events;
+     * otherwise it is ignored
+     *
+     * @param topic The raw topic the event belongs to
+     * @param event The event itself
+     * @param key   The key of the partition the event belongs to
+     * @return A future to keep track with the listener executing task; completes exceptionally if the event could not be journaled
+     * @see Builder#partitioned(int, int, BackpressurePolicy)
+     */
+    public CompletableFuture<Void> emit(final String topic, final Event event, final Object key) {
+        final Exception failure = this.journal(topic, event);
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+        return this.dispatch(this.route(topic, event), event, key);
+    }
+
+    /**
+     * Emits an event belonging to an explicit partition through a topic handle
+     *
+     * @param topic The handle of the topic the event belongs to
+     * @param event The event itself
+     * @param key   The key of the partition the event belongs to
+     * @return A future to keep track with the listener executing task; completes exceptionally if the event could not be journaled
+     * @throws IllegalArgumentException If the topic handle belongs to another bus
+     * @see #emit(String, Event, Object)
+     */
+    public CompletableFuture<Void> emit(final Topic topic, final Event event, final Object key) {
+        this.checkOwnership(topic);
+        final Exception failure = this.journal(topic.getRaw(), event);
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+        return this.dispatch(this.route(topic, event), event, key);
+    }
+
+    /**
+     * Emits an event which originated on another node, e.g. one received by a {@link pm.lus.eve.transport.TcpEventAcceptor}
+     * The origin is passed to all receivers using {@link EventContext#getOrigin()}, so bridges are able to not send the event back
+     *
+     * @param origin The identifier of the node the event was originally emitted on
+     * @param topic  The raw topic the event belongs to
+     * @param event  The event itself
+     * @return A future to keep track with the listener executing task; completes exceptionally if the event could not be journaled
+     */
+    public CompletableFuture<Void> emitFrom(final String origin, final String topic, final Event event) {
+        final Exception failure = this.journal(topic, event);
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+        return this.dispatch(this.route(topic, event).withContext(new EventContext(this, topic, origin)), event);
+    }
+
+    /**
+     * Emits an event once the given delay elapsed, accurate to about 10 milliseconds
+     * Delayed events are kept in a timer wheel, so even millions of them can be scheduled and cancelled in constant time;
+     * all events becoming due at the same time get emitted together as if passed to {@link #emitAll(Map)}
+     *
+     * @param topic The raw topic the event belongs to
+     * @param event The event itself
+     * @param delay The delay to wait for
+     * @return The handle of the scheduled emit which may be used to cancel it
+     * @throws IllegalArgumentException If the delay is negative
+     * @throws IllegalStateException    If the bus has been closed
+     */
+    public ScheduledEmit emitAfter(final String topic, final Event event, final Duration delay) {
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("the delay must not be negative");
+        }
+        return this.emitScheduler.schedule(topic, event, toNanosSaturated(delay));
+    }
+
+    /**
+     * Emits an event through a topic handle once the given delay elapsed
+     *
+     * @param topic The handle of the topic the event belongs to
+     * @param event The event itself
+     * @param delay The delay to wait for
+     * @return The handle of the scheduled emit which may be used to cancel it
+     * @throws IllegalArgumentException If the delay is negative or the topic handle belongs to another bus
+     * @see #emitAfter(String, Event, Duration)
+     */
+    public ScheduledEmit emitAfter(final Topic topic, final Event event, final Duration delay) {
+        this.checkOwnership(topic);
+        return this.emitAfter(topic.getRaw(), event, delay);
+    }
+
+    /**
+     * Emits an event at the given point in time; points in the past make it get emitted right away
+     * The delay is calculated once, so later changes of the system clock do not affect it
+     *
+     * @param topic The raw topic the event belongs to
+     * @param event The event itself
+     * @param time  The point in time to emit the event at
+     * @return The handle of the scheduled emit which may be used to cancel it
+     * @throws IllegalStateException If the bus has been closed
+     * @see #emitAfter(String, Event, Duration)
+     */
+    public ScheduledEmit emitAt(final String topic, final Event event, final Instant time) {
+        final Duration delay = Duration.between(Instant.now(), time);
+        return this.emitAfter(topic, event, delay.isNegative() ? Duration.ZERO : delay);
+    }
+
+    /**
+     * Emits an event through a topic handle at the given point in time
+     *
+     * @param topic The handle of the topic the event belongs to
+     * @param event The event itself
+     * @param time  The point in time to emit the event at
+     * @return The handle of the scheduled emit which may be used to cancel it
+     * @throws IllegalArgumentException If the topic handle belongs to another bus
+     * @see #emitAt(String, Event, Instant)
+     */
+    public ScheduledEmit emitAt(final Topic topic, final Event event, final Instant time) {
+        this.checkOwnership(topic);
+        return this.emitAt(topic.getRaw(), event, time);
+    }
+
+    private static long toNanosSaturated(final Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (final ArithmeticException exception) {
+            return Long.MAX_VALUE;
+        }
     }
 
-    private CompletableFuture<Void> callBridges(final EventContext context, final Event event) {
+    /**
+     * Emits an event as a request and waits for the first reply passed to {@link EventContext#reply(Event)} by any of its receivers
+     * Replies are handed straight to the returned future using the correlation identifier of the request; they are not emitted to any topic
+     * Non-async callbacks run on the thread of the replying receiver or, if the request times out, on the executor of the bus
+     *
+     * @param topic     The raw topic the request belongs to
+     * @param event     The request itself
+     * @param replyType The type of the awaited reply
+     * @param timeout   The time to wait for a reply
+     * @param <R>       The type of the awaited reply
+     * @return A future completing with the reply; completes exceptionally with a {@link java.util.concurrent.TimeoutException} if no reply arrived in time,
+     * with a {@link ClassCastException} if the reply is of another type or with an {@link IllegalStateException} if nothing receives the request
+     * @throws IllegalArgumentException If the timeout is not positive
+     */
+    public <R extends Event> CompletableFuture<R> request(final String topic, final Event event, final Class<R> replyType, final Duration timeout) {
+        return this.request(topic, this.route(topic, event), event, replyType, timeout);
+    }
+
+    /**
+     * Emits an event as a request through a topic handle and waits for the first reply passed to {@link EventContext#reply(Event)}
+     *
+     * @param topic     The handle of the topic the request belongs to
+     * @param event     The request itself
+     * @param replyType The type of the awaited reply
+     * @param timeout   The time to wait for a reply
+     * @param <R>       The type of the awaited reply
+     * @return A future completing with the reply
+     * @throws IllegalArgumentException If the timeout is not positive or the topic handle belongs to another bus
+     * @see #request(String, Event, Class, Duration)
+     */
+    public <R extends Event> CompletableFuture<R> request(final Topic topic, final Event event, final Class<R> replyType, final Duration timeout) {
+        this.checkOwnership(topic);
+        return this.request(topic.getRaw(), this.route(topic, event), event, replyType, timeout);
+    }
+
+    private <R extends Event> CompletableFuture<R> request(final String topic, final Route route, final Event event, final Class<R> replyType, final Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("the request timeout has to be positive");
+        }
+        if (route.getListenerCount() == 0 && route.getBridges().length == 0) {
+            return CompletableFuture.failedFuture(new IllegalStateException("nothing receives requests of type " + event.getClass().getName() + " on topic '" + topic + "'"));
+        }
+        final Exception failure = this.journal(topic, event);
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+
+        final CompletableFuture<R> future = new CompletableFuture<>();
+        final long correlationId = this.pendingRequests.register(replyType, Math.max(1, timeout.toMillis()), future);
+        this.dispatch(route.withContext(new EventContext(this, topic, null, correlationId)), event).whenComplete((ignored, throwable) -> {
+            // The request will never be answered if it could not be delivered
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Completes a request waiting for a reply; usually called using {@link EventContext#reply(Event)}
+     *
+     * @param correlationId The correlation identifier of the request (see {@link EventContext#getCorrelationId()})
+     * @param reply         The reply
+     * @return Whether or not the request was still waiting for a reply
+     */
+    public boolean reply(final long correlationId, final Event reply) {
+        return this.pendingRequests.complete(correlationId, reply);
+    }
+
+    /**
+     * Appends an event to the journal if one is configured
+     *
+     * @param topic The raw topic the event belongs to
+     * @param event The event itself
+     * @return The failure if the event could not be appended, either an {@link IOException} or a failure of the codec, or null otherwise
+     */
+    private Exception journal(final String topic, final Event event) {
+        if (this.journal == null) {
+            return null;
+        }
+        try {
+            this.journal.append(topic, event);
+            return null;
+        } catch (final IOException | RuntimeException exception) {
+            return exception;
+        }
+    }
+
+    /**
+     * Appends an event to the journal if one is configured and rethrows the failure if it could not be appended
+     *
+     * @param topic The raw topic the event belongs to
+     * @param event The event itself
+     */
+    private void journalSync(final String topic, final Event event) {
+        final Exception failure = this.journal(topic, event);
+        if (failure instanceof IOException) {
+            throw new UncheckedIOException((IOException) failure);
+        }
+        if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    private CompletableFuture<Void> dispatch(final Route route, final Event event) {
+        return this.dispatch(route, event, null);
+    }
+
+    private CompletableFuture<Void> dispatch(final Route route, final Event event, final Object key) {
         return CompletableFuture.allOf(
-                this.bridges.getEntities().stream()
-                        .map(bridge -> this.run(() -> bridge.call(context, event)))
-                        .toArray(CompletableFuture[]::new)
+                this.callBridges(route.getContext(), event, route),
+                this.listenerDispatcher.dispatch(route, event, key),
+                this.conflation.dispatch(route, event, key)
         );
     }
 
+    /**
+     * Emits an event and synchronously calls all event listeners and bridges that opted in to receive it on the calling thread
+     * Once the route of a topic and event type is cached, this does not allocate any memory
+     *
+     * @param topic The raw topic the event belongs to
+     * @param event The event itself
+     * @throws UncheckedIOException If a journal is configured and the event could not be appended to it; failures of the codec get rethrown as they are
+     */
+    public void emitSync(final String topic, final Event event) {
+        this.journalSync(topic, event);
+        this.invoke(this.route(topic, event), event);
+    }
+
+    /**
+     * Emits an event through a topic handle and synchronously calls all event listeners and bridges that opted in to receive it on the calling thread
+     *
+     * @param topic The handle of the topic the event belongs to
+     * @param event The event itself
+     * @throws UncheckedIOException     If a journal is configured and the event could not be appended to it; failures of the codec get rethrown as they are
+     * @throws IllegalArgumentException If the topic handle belongs to another bus
+     * @see #emitSync(String, Event)
+     */
+    public void emitSync(final Topic topic, final Event event) {
+        this.checkOwnership(topic);
+        this.journalSync(topic.getRaw(), event);
+        this.invoke(this.route(topic, event), event);
+    }
+
+    private void invoke(final Route route, final Event event) {
+        final EventContext context = route.getContext();
+        final long emittedAt = Tasks.emittedAt(this.instrumentation);
+
+        for (final EventBridge<?> bridge : route.getBridges()) {
+            try {
+                Tasks.call(this.instrumentation, this.watchdog, bridge, context, event, emittedAt);
+            } catch (final Throwable throwable) {
+                Tasks.fail(this.errorHandler, Tasks.failedBridge(this.instrumentation, this.watchdog, bridge, context, event, throwable));
+            }
+        }
+
+        // Retries are dispatched asynchronously like any other emit
+        for (final ListenerMethodDefinition methodDefinition : route.getListeners()) {
+            Tasks.invoke(this.instrumentation, this.errorHandler, this.watchdog, this.listenerDispatcher, methodDefinition, context, event, emittedAt);
+        }
+        // There is nothing pending to conflate with when delivering synchronously
+        for (final ListenerMethodDefinition methodDefinition : route.getConflatingListeners()) {
+            Tasks.invoke(this.instrumentation, this.errorHandler, this.watchdog, this.conflation, methodDefinition, context, event, emittedAt);
+        }
+    }
+
+    /**
+     * Emits multiple events to the same topic and asynchronously calls all event listeners and bridges that opted in to receive them
+     * The receivers of every event type are resolved only once and every receiver processes its share of the batch in a single task
+     *
+     * @param topic  The raw topic the events belong to
+     * @param events The events to emit; every receiver gets passed them in iteration order
+     * @return A future to keep track with the whole batch
+     */
+    public CompletableFuture<Void> emitAll(final String topic, final Collection<? extends Event> events) {
+        return this.emitAll(Collections.singletonMap(topic, events));
+    }
+
+    /**
+     * Emits multiple events to multiple topics and asynchronously calls all event listeners and bridges that opted in to receive them
+     * The receivers of every topic and event type are resolved only once and every receiver processes its share of the batch in a single task
+     *
+     * @param events The events to emit mapped by their raw topics; every receiver gets passed them in iteration order
+     * @return A future to keep track with the whole batch; completes exceptionally if the events could not be journaled
+     */
+    public CompletableFuture<Void> emitAll(final Map<String, ? extends Collection<? extends Event>> events) {
+        if (this.journal != null) {
+            // The whole batch gets checked before anything is appended, so a rejected batch does not end up in the journal partially
+            try {
+                this.journal.appendAll(events);
+            } catch (final IOException | RuntimeException exception) {
+                return CompletableFuture.failedFuture(exception);
+            }
+        }
+
+        final long emittedAt = Tasks.emittedAt(this.instrumentation);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        final Map<ListenerMethodDefinition, Batch> listenerBatches = new LinkedHashMap<>();
+        final Map<EventBridge<?>, Batch> bridgeBatches = new LinkedHashMap<>();
+
+        for (final Map.Entry<String, ? extends Collection<? extends Event>> entry : events.entrySet()) {
+            final Map<Class<? extends Event>, Route> routes = new HashMap<>();
+            for (final Event event : entry.getValue()) {
+                final Route route = routes.computeIfAbsent(event.getClass(), type -> this.route(entry.getKey(), type)).select(event);
+                if (this.instrumentation != null) {
+                    this.instrumentation.onEmit(entry.getKey(), event);
+                    this.instrumentation.onRouteResolved(route.getContext(), event.getClass(), route.getListenerCount(), route.getBridges().length);
+                }
+                for (final ListenerMethodDefinition methodDefinition : route.getListeners()) {
+                    listenerBatches.computeIfAbsent(methodDefinition, key -> new Batch()).add(route.getContext(), event);
+                }
+                for (final EventBridge<?> bridge : route.getBridges()) {
+                    bridgeBatches.computeIfAbsent(bridge, key -> new Batch()).add(route.getContext(), event);
+                }
+                // Conflating methods only ever receive the newest events of the batch, so they do not get batched
+                for (final ListenerMethodDefinition methodDefinition : route.getConflatingListeners()) {
+                    futures.add(this.conflation.submit(methodDefinition, route.getContext(), event, null, emittedAt));
+                }
+            }
+        }
+
+        futures.add(this.listenerDispatcher.dispatchAll(listenerBatches));
+        bridgeBatches.forEach((bridge, batch) -> futures.add(this.run(() -> this.callBridge(bridge, batch, emittedAt))));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Calls a bridge for every event of a batch; a failing event does not keep the bridge from receiving the remaining ones
+     * Every failure gets passed to the error handler and the first one gets rethrown once the whole batch got delivered
+     */
+    private void callBridge(final EventBridge<?> bridge, final Batch batch, final long emittedAt) {
+        RuntimeException failure = null;
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                Tasks.call(this.instrumentation, this.watchdog, bridge, batch.getContext(i), batch.getEvent(i), emittedAt);
+            } catch (final RuntimeException exception) {
+                Tasks.fail(this.errorHandler, Tasks.failedBridge(this.instrumentation, this.watchdog, bridge, batch.getContext(i), batch.getEvent(i), exception));
+                if (failure == null) {
+                    failure = exception;
+                } else {
+                    failure.addSuppressed(exception);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Replays the records of a journal starting at the given offset into this bus
+     * Replayed events are dispatched as fast as they can be read and do not get journaled again
+     *
+     * @param journal    The journal to replay
+     * @param fromOffset The offset of the first record to replay; see {@link Journal#offsetAt(long)} to replay starting at a specific time
+     * @param topic      The exact raw topic to replay the records of or null to replay all records
+     * @return A future to keep track with the listeners and bridges receiving the replayed events
+     */
+    public CompletableFuture<Void> replay(final Journal journal, final long fromOffset, final String topic) {
+        // Futures get combined in chunks so that replaying huge journals does not keep every single future around
+        final List<CompletableFuture<Void>> chunk = new ArrayList<>(REPLAY_CHUNK_SIZE);
+        final List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        journal.replay(fromOffset, topic, (offset, timestamp, recordTopic, event) -> {
+            chunk.add(this.dispatch(this.route(recordTopic, event), event));
+            if (chunk.size() == REPLAY_CHUNK_SIZE) {
+                chunks.add(CompletableFuture.allOf(chunk.toArray(new CompletableFuture<?>[0])));
+                chunk.clear();
+            }
+        });
+        chunks.add(CompletableFuture.allOf(chunk.toArray(new CompletableFuture<?>[0])));
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Replays all records of a journal starting at the given offset into this bus
+     *
+     * @param journal    The journal to replay
+     * @param fromOffset The offset of the first record to replay
+     * @return A future to keep track with the listeners and bridges receiving the replayed events
+     * @see #replay(Journal, long, String)
+     */
+    public CompletableFuture<Void> replay(final Journal journal, final long fromOffset) {
+        return this.replay(journal, fromOffset, null);
+    }
+
+    private CompletableFuture<Void> callBridges(final EventContext context, final Event event, final Route route) {
+        final EventBridge<?>[] bridges = route.getBridges();
+        if (bridges.length == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final long emittedAt = Tasks.emittedAt(this.instrumentation);
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[bridges.length];
+        for (int i = 0; i < bridges.length; i++) {
+            final EventBridge<?> bridge = bridges[i];
+            futures[i] = this.run(() -> Tasks.call(this.instrumentation, this.watchdog, bridge, context, event, emittedAt));
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private Route route(final String topic, final Event event) {
+        if (this.instrumentation == null) {
+            return this.route(topic, event.getClass()).select(event);
+        }
+
+        this.instrumentation.onEmit(topic, event);
+        final Route route = this.route(topic, event.getClass()).select(event);
+        this.instrumentation.onRouteResolved(route.getContext(), event.getClass(), route.getListenerCount(), route.getBridges().length);
+        return route;
+    }
+
+    private Route route(final Topic topic, final Event event) {
+        if (this.instrumentation == null) {
+            return this.route(topic, event.getClass()).select(event);
+        }
+
+        this.instrumentation.onEmit(topic.getRaw(), event);
+        final Route route = this.route(topic, event.getClass()).select(event);
+        this.instrumentation.onRouteResolved(route.getContext(), event.getClass(), route.getListenerCount(), route.getBridges().length);
+        return route;
+    }
+
+    /**
+     * Resolves the receivers of an event using the routes cached inside of the topic handle
+     * Event types exceeding the capacity of the handle get resolved using the dispatch cache instead
+     *
+     * @param topic The handle of the topic the event belongs to
+     * @param type  The concrete type of the event
+     * @return The resolved route
+     */
+    Route route(final Topic topic, final Class<? extends Event> type) {
+        final RoutingTable table = this.routingTable();
+
+        final Route cached = topic.get(table, type);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Route route = this.dispatchCache.get(table, topic.getRaw(), type);
+        if (route != null) {
+            topic.put(table, type, route);
+            return route;
+        }
+
+        final Route resolved = table.resolve(new EventContext(this, topic.getRaw()), topic.getSegments(), type);
+        if (!topic.put(table, type, resolved)) {
+            this.dispatchCache.put(table, topic.getRaw(), type, resolved);
+        }
+        return resolved;
+    }
+
+    private void checkOwnership(final Topic topic) {
+        if (topic.getBus() != this) {
+            throw new IllegalArgumentException("the topic handle '" + topic + "' belongs to another event bus");
+        }
+    }
+
+    /**
+     * Resolves the receivers of an event using the dispatch cache
+     *
+     * @param topic The raw topic the event belongs to
+     * @param type  The concrete type of the event
+     * @return The resolved route
+     */
+    Route route(final String topic, final Class<? extends Event> type) {
+        final RoutingTable table = this.routingTable();
+
+        final Route cached = this.dispatchCache.get(table, topic, type);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Route route = table.resolve(new EventContext(this, topic), type);
+        this.dispatchCache.put(table, topic, type, route);
+        return route;
+    }
+
+    private RoutingTable routingTable() {
+        final RoutingTable current = this.routingTable;
+        if (current.isCurrent(this.listenerDefinitions.getVersion(), this.bridges.getVersion())) {
+            return current;
+        }
+
+        synchronized (this) {
+            // Snapshots carry their own versions, so the table always matches the versions it gets checked against
+            final Snapshot<ListenerDefinition> listenerDefinitions = this.listenerDefinitions.snapshot();
+            final Snapshot<EventBridge<?>> bridges = this.bridges.snapshot();
+            if (!this.routingTable.isCurrent(listenerDefinitions.getVersion(), bridges.getVersion())) {
+                this.routingTable = RoutingTable.build(listenerDefinitions, bridges);
+                this.dispatchCache.clear();
+
+                final Set<Listener> listeners = new HashSet<>();
+                for (final ListenerDefinition listenerDefinition : listenerDefinitions) {
+                    listeners.add(listenerDefinition.getInstance());
+                }
+                this.listenerDispatcher.retain(listeners);
+                this.conflation.retain(listeners);
+                if (this.watchdog != null) {
+                    final Set<Object> receivers = new HashSet<>();
+                    for (final ListenerDefinition listenerDefinition : listenerDefinitions) {
+                        receivers.addAll(listenerDefinition.getMethodDefinitions());
+                    }
+                    for (final EventBridge<?> bridge : bridges) {
+                        receivers.add(bridge);
+                    }
+                    this.watchdog.retain(receivers);
+                }
+            }
+            return this.routingTable;
+        }
+    }
+
+    /**
+     * Drops all delayed emits, shuts the executor and the partitions down, fails all requests waiting for a reply, stops the watchdog,
+     * closes all registered bridges so that they deliver the events they buffer and closes the journal
+     */
     @Override
     public void close() {
+        this.emitScheduler.close();
         this.executorService.shutdown();
+        this.listenerDispatcher.close();
+        this.pendingRequests.close();
+        this.errorHandler.close();
+        if (this.watchdog != null) {
+            this.watchdog.close();
+        }
+        for (final EventBridge<?> bridge : this.bridges.snapshot()) {
+            try {
+                bridge.close();
+            } catch (final Throwable throwable) {
+                LOGGER.error("could not close bridge '{}'", bridge.getClass().getName(), throwable);
+            }
+        }
+        if (this.journal != null) {
+            try {
+                this.journal.close();
+            } catch (final IOException exception) {
+                LOGGER.error("could not close the journal", exception);
+            }
+        }
     }
 
     private CompletableFuture<Void> run(final Runnable task) {
-        final CompletableFuture<Void> future = new CompletableFuture<>();
-        this.executorService.execute(() -> {
-            try {
-                task.run();
-                future.complete(null);
-            } catch (final Throwable throwable) {
-                future.completeExceptionally(throwable);
+        return Tasks.run(this.executorService, task);
+    }
+
+    /**
+     * Configures and builds event buses
+     *
+     * @author Lukas Schulte Pelkum
+     * @version 0.1.0
+     * @since 0.1.0
+     */
+    public static class Builder {
+
+        public static final int DEFAULT_MAILBOX_DRAIN_BATCH_SIZE = 64;
+        public static final int DEFAULT_PARTITION_QUEUE_CAPACITY = 4096;
+
+        private ExecutorService executorService;
+        private Instrumentation instrumentation = Instrumentation.DISABLED;
+        private Journal journal;
+        private ErrorHandler errorHandler;
+        private Watchdog watchdog;
+        private int dispatchCacheCapacity = DispatchCache.DEFAULT_CAPACITY;
+        private int mailboxDrainBatchSize;
+        private int partitions;
+        private int partitionQueueCapacity;
+        private BackpressurePolicy partitionPolicy;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the executor service used to call listeners and bridges; defaults to a cached thread pool
+         *
+         * @param executorService The executor service to use
+         * @return The new builder state
+         */
+        public Builder executor(final ExecutorService executorService) {
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * Makes the bus use a {@link BoundedExecutor} with a fixed amount of threads and a bounded queue
+         * Its queue depth and rejection metrics are available using {@link EventBus#executor()}
+         *
+         * @param threads       The amount of threads calling listeners and bridges
+         * @param queueCapacity The maximum amount of dispatching tasks waiting for a thread
+         * @param policy        The policy to apply whenever the queue is full
+         * @return The new builder state
+         */
+        public Builder bounded(final int threads, final int queueCapacity, final BackpressurePolicy policy) {
+            return this.executor(new BoundedExecutor(threads, queueCapacity, policy));
+        }
+
+        /**
+         * Makes the bus call every listener task and bridge on its own virtual thread
+         * This allows listeners and bridges doing blocking I/O to scale to a huge amount of concurrent deliveries
+         *
+         * @return The new builder state
+         * @throws UnsupportedOperationException If the running JDK does not support virtual threads (see {@link VirtualThreads#isSupported()})
+         */
+        public Builder virtualThreads() {
+            return this.executor(VirtualThreads.newExecutor());
+        }
+
+        /**
+         * Sets the instrumentation notified about emits and deliveries; disabled by default
+         * See {@link pm.lus.eve.instrumentation.MetricsInstrumentation} for a built-in implementation collecting metrics
+         *
+         * @param instrumentation The instrumentation to use; null disables instrumentation
+         * @return The new builder state
+         */
+        public Builder instrumentation(final Instrumentation instrumentation) {
+            this.instrumentation = instrumentation != null ? instrumentation : Instrumentation.DISABLED;
+            return this;
+        }
+
+        /**
+         * Sets the handler failed deliveries to listener methods and synchronously called bridges get passed to
+         * Defaults to an {@link ErrorPipeline} logging failures rate-limited; see {@link ErrorPipeline#builder()} to add retries and a dead letter queue
+         *
+         * @param errorHandler The error handler to use; gets closed together with the bus
+         * @return The new builder state
+         */
+        public Builder errorHandler(final ErrorHandler errorHandler) {
+            this.errorHandler = errorHandler;
+            return this;
+        }
+
+        /**
+         * Enforces the timeouts of listener methods and bridges using the given watchdog
+         * Receivers exceeding their timeout too often get skipped by their circuit breaker for a while; see {@link Watchdog#builder()}
+         *
+         * @param watchdog The watchdog to use; gets closed together with the bus
+         * @return The new builder state
+         */
+        public Builder watchdog(final Watchdog watchdog) {
+            this.watchdog = watchdog;
+            return this;
+        }
+
+        /**
+         * Makes the bus append every emitted event to the given journal before dispatching it
+         *
+         * @param journal The journal to use; gets closed together with the bus
+         * @return The new builder state
+         */
+        public Builder journal(final Journal journal) {
+            this.journal = journal;
+            return this;
+        }
+
+        /**
+         * Sets the amount of (topic, event type) routes the dispatch cache holds
+         *
+         * @param dispatchCacheCapacity The capacity of the dispatch cache
+         * @return The new builder state
+         */
+        public Builder dispatchCacheCapacity(final int dispatchCacheCapacity) {
+            this.dispatchCacheCapacity = dispatchCacheCapacity;
+            return this;
+        }
+
+        /**
+         * Makes the bus hand events over to one mailbox per listener instead of calling all listeners of an event in a single task
+         * Listeners then run in parallel to each other, but every single listener receives its events one after another in emit order
+         * Combined with {@link BackpressurePolicy#DROP_OLDEST}, dropping the oldest queued task drops all events pending in the mailbox of one listener
+         *
+         * @param drainBatchSize The maximum amount of tasks a mailbox processes before giving its thread back to the executor
+         * @return The new builder state
+         */
+        public Builder mailboxes(final int drainBatchSize) {
+            if (drainBatchSize <= 0) {
+                throw new IllegalArgumentException("the mailbox drain batch size has to be positive");
             }
-        });
-        return future;
+            this.mailboxDrainBatchSize = drainBatchSize;
+            return this;
+        }
+
+        /**
+         * Makes the bus hand events over to one mailbox per listener using the default drain batch size
+         *
+         * @return The new builder state
+         * @see #mailboxes(int)
+         */
+        public Builder mailboxes() {
+            return this.mailboxes(DEFAULT_MAILBOX_DRAIN_BATCH_SIZE);
+        }
+
+        /**
+         * Makes the bus hash the partition key of every event onto one of multiple single-threaded shards calling its listeners
+         * All events sharing a key are delivered one after another in emit order while different keys are processed in parallel
+         * The key is taken from {@link EventBus#emit(String, Event, Object)}, {@link pm.lus.eve.event.Partitioned} events or the topic, in this order
+         * Bridges are not partitioned and keep being called using the executor
+         * With {@link BackpressurePolicy#BLOCK}, a listener emitting into the full queue of its own shard gets the emit rejected,
+         * as it can neither wait for itself nor overtake the queued events; listeners of two shards emitting into each other's full
+         * queues still wait for each other forever, so such listeners should use another policy or enough queue capacity
+         *
+         * @param shards        The amount of shards, each owning a single thread
+         * @param queueCapacity The maximum amount of dispatching tasks waiting for the thread of a single shard
+         * @param policy        The policy to apply whenever the queue of a shard is full; may not reorder events and thus not be {@link BackpressurePolicy#CALLER_RUNS}
+         * @return The new builder state
+         */
+        public Builder partitioned(final int shards, final int queueCapacity, final BackpressurePolicy policy) {
+            if (shards <= 0) {
+                throw new IllegalArgumentException("the amount of partitions has to be positive");
+            }
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("the partition queue capacity has to be positive");
+            }
+            if (policy == BackpressurePolicy.CALLER_RUNS) {
+                throw new IllegalArgumentException("partitions cannot use the CALLER_RUNS policy as it would break the order of their events");
+            }
+            this.partitions = shards;
+            this.partitionQueueCapacity = queueCapacity;
+            this.partitionPolicy = policy;
+            return this;
+        }
+
+        /**
+         * Makes the bus use one partition per available processor, the default queue capacity and block emitters whenever a queue is full
+         *
+         * @return The new builder state
+         * @see #partitioned(int, int, BackpressurePolicy)
+         */
+        public Builder partitioned() {
+            return this.partitioned(Runtime.getRuntime().availableProcessors(), DEFAULT_PARTITION_QUEUE_CAPACITY, BackpressurePolicy.BLOCK);
+        }
+
+        /**
+         * @return The built event bus
+         * @throws IllegalArgumentException If both mailboxes and partitioned dispatch got configured
+         */
+        public EventBus build() {
+            if (this.partitions > 0 && this.mailboxDrainBatchSize > 0) {
+                throw new IllegalArgumentException("mailboxes and partitioned dispatch cannot be combined");
+            }
+            return new EventBus(this);
+        }
+
     }
 
 }
@@ -0,0 +1,65 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Represents a strategy of handing the listener invocations of emitted events over to an executor
+ * Redelivered events take the same way as newly emitted ones, so retries keep the ordering guarantees of the strategy
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+interface ListenerDispatcher extends Redeliverer {
+
+    /**
+     * Dispatches a single event to the listeners of its route
+     *
+     * @param route The route of the event
+     * @param event The event itself
+     * @return A future to keep track with the listener invocations
+     */
+    CompletableFuture<Void> dispatch(Route route, Event event);
+
+    /**
+     * Dispatches a single event belonging to an explicit partition to the listeners of its route
+     * Strategies not partitioning events ignore the key
+     *
+     * @param route The route of the event
+     * @param event The event itself
+     * @param key   The key of the partition the event belongs to or null to derive it from the event
+     * @return A future to keep track with the listener invocations
+     */
+    default CompletableFuture<Void> dispatch(final Route route, final Event event, final Object key) {
+        return this.dispatch(route, event);
+    }
+
+    /**
+     * Dispatches batches of events to the listener methods receiving them
+     *
+     * @param batches The events every listener method receives, in order
+     * @return A future to keep track with the listener invocations
+     */
+    CompletableFuture<Void> dispatchAll(Map<ListenerMethodDefinition, Batch> batches);
+
+    /**
+     * Gets called whenever the registered listeners changed so that per-listener state of removed listeners can be dropped
+     *
+     * @param listeners The currently registered listeners
+     */
+    default void retain(final Set<Listener> listeners) {
+    }
+
+    /**
+     * Gets called once the bus gets closed so that threads owned by the strategy can be shut down
+     */
+    default void close() {
+    }
+
+}
@@ -0,0 +1,108 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.collection.MpscQueue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents an actor-style mailbox executing the tasks submitted for a single listener one after another in submission order
+ * At most one drain of a mailbox is scheduled on the executor at any time, so mailboxes of different listeners run in parallel
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class Mailbox implements Runnable, Rejectable {
+
+    private final Executor executor;
+    private final int drainBatchSize;
+    private final MpscQueue<DispatchTask> queue;
+    private final AtomicBoolean scheduled;
+
+    Mailbox(final Executor executor, final int drainBatchSize) {
+        this.executor = executor;
+        this.drainBatchSize = drainBatchSize;
+        this.queue = new MpscQueue<>();
+        this.scheduled = new AtomicBoolean();
+    }
+
+    /**
+     * Appends a task to the mailbox and schedules a drain if none is scheduled yet
+     *
+     * @param task The task to execute
+     * @return A future to keep track with the task
+     */
+    CompletableFuture<Void> submit(final Runnable task) {
+        final DispatchTask dispatchTask = new DispatchTask(task);
+        this.queue.offer(dispatchTask);
+        this.schedule();
+        return dispatchTask.getFuture();
+    }
+
+    private void schedule() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this);
+            } catch (final RejectedExecutionException exception) {
+                this.reject(exception);
+            }
+        }
+    }
+
+    /**
+     * Drains up to the configured amount of tasks and reschedules itself if there are more
+     * Yielding the thread after a batch keeps a busy listener from starving the mailboxes of other listeners
+     */
+    @Override
+    public void run() {
+        for (int i = 0; i < this.drainBatchSize; i++) {
+            final DispatchTask task = this.queue.poll();
+            if (task == null) {
+                break;
+            }
+            task.run();
+        }
+
+        this.unschedule();
+    }
+
+    /**
+     * Rejects all pending tasks as the drain which would have processed them got rejected
+     * This is safe as no drain is running while the scheduled one got rejected
+     *
+     * @param exception The exception describing the rejection
+     */
+    @Override
+    public void reject(final RejectedExecutionException exception) {
+        DispatchTask task;
+        while ((task = this.queue.poll()) != null) {
+            task.reject(exception);
+        }
+        this.unschedule();
+    }
+
+    /**
+     * Drops all pending tasks as the drain which would have processed them got dropped
+     * Dropping only the oldest one would have to reschedule the drain, which takes the queue slot that just got freed
+     * and keeps the executor evicting drains one event at a time instead of making space for the new task
+     */
+    @Override
+    public void drop() {
+        DispatchTask task;
+        while ((task = this.queue.poll()) != null) {
+            task.drop();
+        }
+        this.unschedule();
+    }
+
+    private void unschedule() {
+        this.scheduled.set(false);
+        if (!this.queue.isEmpty()) {
+            this.schedule();
+        }
+    }
+
+}
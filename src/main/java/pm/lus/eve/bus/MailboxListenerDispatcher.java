@@ -0,0 +1,93 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.error.ErrorHandler;
+import pm.lus.eve.instrumentation.Instrumentation;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Hands the invocations of every listener over to a mailbox dedicated to that listener
+ * This results in parallelism across listeners, FIFO order within a single listener and no head-of-line blocking between listeners
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class MailboxListenerDispatcher implements ListenerDispatcher {
+
+    private final Executor executor;
+    // Null if instrumentation is disabled
+    private final Instrumentation instrumentation;
+    private final ErrorHandler errorHandler;
+    // Null if the watchdog is disabled
+    private final Watchdog watchdog;
+    private final int drainBatchSize;
+    private final Map<Listener, Mailbox> mailboxes;
+
+    MailboxListenerDispatcher(final Executor executor, final int drainBatchSize, final Instrumentation instrumentation, final ErrorHandler errorHandler, final Watchdog watchdog) {
+        this.executor = executor;
+        this.instrumentation = instrumentation;
+        this.errorHandler = errorHandler;
+        this.watchdog = watchdog;
+        this.drainBatchSize = drainBatchSize;
+        this.mailboxes = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public CompletableFuture<Void> dispatch(final Route route, final Event event) {
+        final ListenerMethodDefinition[][] groups = route.getListenerGroups();
+        if (groups.length == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final EventContext context = route.getContext();
+        final long emittedAt = Tasks.emittedAt(this.instrumentation);
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            final ListenerMethodDefinition[] methodDefinitions = groups[i];
+            futures[i] = this.mailbox(methodDefinitions[0].getListener()).submit(() -> {
+                for (final ListenerMethodDefinition methodDefinition : methodDefinitions) {
+                    Tasks.invoke(this.instrumentation, this.errorHandler, this.watchdog, this, methodDefinition, context, event, emittedAt);
+                }
+            });
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    @Override
+    public CompletableFuture<Void> dispatchAll(final Map<ListenerMethodDefinition, Batch> batches) {
+        final long emittedAt = Tasks.emittedAt(this.instrumentation);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(batches.size());
+        batches.forEach((methodDefinition, batch) -> futures.add(this.mailbox(methodDefinition.getListener()).submit(() -> {
+            for (int i = 0; i < batch.size(); i++) {
+                Tasks.invoke(this.instrumentation, this.errorHandler, this.watchdog, this, methodDefinition, batch.getContext(i), batch.getEvent(i), emittedAt);
+            }
+        })));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @Override
+    public CompletableFuture<Void> redeliver(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event) {
+        return Tasks.redeliver(task -> this.mailbox(methodDefinition.getListener()).submit(task), this.instrumentation, this.watchdog, methodDefinition, context, event);
+    }
+
+    @Override
+    public void retain(final Set<Listener> listeners) {
+        this.mailboxes.keySet().retainAll(listeners);
+    }
+
+    private Mailbox mailbox(final Listener listener) {
+        return this.mailboxes.computeIfAbsent(listener, key -> new Mailbox(this.executor, this.drainBatchSize));
+    }
+
+}
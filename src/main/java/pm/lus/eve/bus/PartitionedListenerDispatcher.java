@@ -0,0 +1,150 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.Partitioned;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.error.ErrorHandler;
+import pm.lus.eve.instrumentation.Instrumentation;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hashes the partition key of every event onto one of a fixed amount of single-threaded shards
+ * All events sharing a key are handled by the same thread in emit order, while different keys are spread across all shards
+ * Events not implementing {@link Partitioned} that are emitted without an explicit key are partitioned by their topic
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class PartitionedListenerDispatcher implements ListenerDispatcher {
+
+    private final BoundedExecutor[] shards;
+    // Redeliver into the shard the event was originally dispatched to, as its explicit key is not known anymore
+    private final Redeliverer[] redeliverers;
+    // Null if instrumentation is disabled
+    private final Instrumentation instrumentation;
+    private final ErrorHandler errorHandler;
+    // Null if the watchdog is disabled
+    private final Watchdog watchdog;
+
+    PartitionedListenerDispatcher(
+            final int shards,
+            final int queueCapacity,
+            final BackpressurePolicy policy,
+            final Instrumentation instrumentation,
+            final ErrorHandler errorHandler,
+            final Watchdog watchdog
+    ) {
+        this.instrumentation = instrumentation;
+        this.errorHandler = errorHandler;
+        this.watchdog = watchdog;
+        this.shards = new BoundedExecutor[shards];
+        this.redeliverers = new Redeliverer[shards];
+        for (int i = 0; i < shards; i++) {
+            final BoundedExecutor shard = new BoundedExecutor(1, queueCapacity, policy, true);
+            shard.prestartAllCoreThreads();
+            this.shards[i] = shard;
+            this.redeliverers[i] = (methodDefinition, context, event) ->
+                    Tasks.redeliver(task -> Tasks.run(shard, task), this.instrumentation, this.watchdog, methodDefinition, context, event);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> dispatch(final Route route, final Event event) {
+        return this.dispatch(route, event, null);
+    }
+
+    @Override
+    public CompletableFuture<Void> dispatch(final Route route, final Event event, final Object key) {
+        final ListenerMethodDefinition[] methodDefinitions = route.getListeners();
+        if (methodDefinitions.length == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final EventContext context = route.getContext();
+        final long emittedAt = Tasks.emittedAt(this.instrumentation);
+        final int shard = this.shardIndex(context, event, key);
+        final Redeliverer redeliverer = this.redeliverers[shard];
+        return Tasks.run(this.shards[shard], () -> {
+            for (final ListenerMethodDefinition methodDefinition : methodDefinitions) {
+                Tasks.invoke(this.instrumentation, this.errorHandler, this.watchdog, redeliverer, methodDefinition, context, event, emittedAt);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> dispatchAll(final Map<ListenerMethodDefinition, Batch> batches) {
+        final long emittedAt = Tasks.emittedAt(this.instrumentation);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        final int[][] indices = new int[this.shards.length][];
+        final int[] counts = new int[this.shards.length];
+
+        batches.forEach((methodDefinition, batch) -> {
+            // Split the batch by shard so that every shard receives its share in batch order
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < batch.size(); i++) {
+                final int shard = this.shardIndex(batch.getContext(i), batch.getEvent(i), null);
+                if (indices[shard] == null || indices[shard].length < batch.size()) {
+                    indices[shard] = new int[batch.size()];
+                }
+                indices[shard][counts[shard]++] = i;
+            }
+
+            for (int shard = 0; shard < this.shards.length; shard++) {
+                if (counts[shard] == 0) {
+                    continue;
+                }
+                final int[] shardIndices = Arrays.copyOf(indices[shard], counts[shard]);
+                final Redeliverer redeliverer = this.redeliverers[shard];
+                futures.add(Tasks.run(this.shards[shard], () -> {
+                    for (final int i : shardIndices) {
+                        Tasks.invoke(this.instrumentation, this.errorHandler, this.watchdog, redeliverer, methodDefinition, batch.getContext(i), batch.getEvent(i), emittedAt);
+                    }
+                }));
+            }
+        });
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @Override
+    public CompletableFuture<Void> redeliver(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event) {
+        return this.redeliverers[this.shardIndex(context, event, null)].redeliver(methodDefinition, context, event);
+    }
+
+    @Override
+    public void close() {
+        for (final BoundedExecutor shard : this.shards) {
+            shard.shutdown();
+        }
+    }
+
+    /**
+     * @return The single-threaded executors making up the shards
+     */
+    List<BoundedExecutor> getShards() {
+        return Collections.unmodifiableList(Arrays.asList(this.shards));
+    }
+
+    private int shardIndex(final EventContext context, final Event event, final Object key) {
+        final Object partitionKey;
+        if (key != null) {
+            partitionKey = key;
+        } else if (event instanceof Partitioned) {
+            partitionKey = ((Partitioned) event).getPartitionKey();
+        } else {
+            partitionKey = context.getTopic();
+        }
+
+        // Spread the higher bits as keys whose hashes only differ in them would otherwise share a shard
+        final int hash = partitionKey != null ? partitionKey.hashCode() : 0;
+        return Math.floorMod(hash ^ (hash >>> 16), this.shards.length);
+    }
+
+}
@@ -0,0 +1,126 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the requests waiting for a reply by their correlation identifiers
+ * Requests expire using a {@link TimerWheel}, so waiting for a reply does neither need a thread nor a scheduled executor task per request
+ * Expired requests are failed on the executor of the bus, so the callbacks of requesters never run on (and never stall) the timer thread
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class PendingRequests {
+
+    private static final long TICK_MILLIS = 10;
+    private static final int WHEEL_SIZE = 512;
+
+    private final Map<Long, Request<?>> requests;
+    private final AtomicLong correlationIds;
+    private final TimerWheel timer;
+    private final Executor executor;
+
+    PendingRequests(final Executor executor) {
+        this.executor = executor;
+        this.requests = new ConcurrentHashMap<>();
+        this.correlationIds = new AtomicLong();
+        this.timer = new TimerWheel(TICK_MILLIS, TimeUnit.MILLISECONDS, WHEEL_SIZE);
+    }
+
+    /**
+     * Registers a new request; it gets removed as soon as its future completes in any way
+     *
+     * @param replyType     The type of the awaited reply
+     * @param timeoutMillis The time to wait for a reply
+     * @param future        The future to complete with the reply
+     * @param <R>           The type of the awaited reply
+     * @return The correlation identifier of the request; never 0
+     */
+    <R extends Event> long register(final Class<R> replyType, final long timeoutMillis, final CompletableFuture<R> future) {
+        final long correlationId = this.correlationIds.incrementAndGet();
+        this.requests.put(correlationId, new Request<>(replyType, future));
+
+        final TimerWheel.Timeout timeout = this.timer.schedule(() -> {
+            this.requests.remove(correlationId);
+            this.expire(future, timeoutMillis);
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        // Covers futures completed by anyone else, e.g. cancelled by the requester
+        future.whenComplete((reply, throwable) -> {
+            this.requests.remove(correlationId);
+            timeout.cancel();
+        });
+        return correlationId;
+    }
+
+    private void expire(final CompletableFuture<?> future, final long timeoutMillis) {
+        final Runnable task = () -> future.completeExceptionally(new TimeoutException("no reply within " + timeoutMillis + "ms"));
+        try {
+            this.executor.execute(task);
+        } catch (final RejectedExecutionException exception) {
+            // The request must not wait forever just because the executor is saturated or shut down
+            task.run();
+        }
+    }
+
+    /**
+     * Completes the request with the given correlation identifier
+     *
+     * @param correlationId The correlation identifier of the request
+     * @param reply         The reply
+     * @return Whether or not the request was still waiting for a reply
+     */
+    boolean complete(final long correlationId, final Event reply) {
+        // Removed before completing so that the request is gone once the requester sees the reply
+        final Request<?> request = this.requests.remove(correlationId);
+        return request != null && request.complete(reply);
+    }
+
+    /**
+     * @return The amount of requests waiting for a reply
+     */
+    int size() {
+        return this.requests.size();
+    }
+
+    /**
+     * Fails all waiting requests and stops the timer
+     */
+    void close() {
+        this.timer.close();
+        for (final Request<?> request : this.requests.values()) {
+            request.future.completeExceptionally(new IllegalStateException("the event bus has been closed"));
+        }
+    }
+
+    private static final class Request<R extends Event> {
+
+        private final Class<R> replyType;
+        private final CompletableFuture<R> future;
+
+        private Request(final Class<R> replyType, final CompletableFuture<R> future) {
+            this.replyType = replyType;
+            this.future = future;
+        }
+
+        private boolean complete(final Event reply) {
+            if (!this.replyType.isInstance(reply)) {
+                return this.future.completeExceptionally(new ClassCastException(
+                        "expected a reply of type " + this.replyType.getName() + " but got " + (reply != null ? reply.getClass().getName() : "null")
+                ));
+            }
+            return this.future.complete(this.replyType.cast(reply));
+        }
+
+    }
+
+}
@@ -0,0 +1,30 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hands a failed event back to the listener method it failed in, the same way it was dispatched in the first place
+ * This keeps retries inside of the mailbox or partition of the listener, so they respect its ordering guarantees
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@FunctionalInterface
+interface Redeliverer {
+
+    /**
+     * Delivers an event to a listener method again
+     *
+     * @param methodDefinition The listener method to deliver the event to
+     * @param context          The context of the event
+     * @param event            The event itself
+     * @return A future completing once the event got delivered; completes exceptionally with anything the method throws
+     */
+    CompletableFuture<Void> redeliver(ListenerMethodDefinition methodDefinition, EventContext context, Event event);
+
+}
@@ -0,0 +1,26 @@
+package pm.lus.eve.bus;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Represents a task which has to be notified if an executor never runs it so that nobody waits for it forever
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+interface Rejectable {
+
+    /**
+     * Gets called if the task was rejected and the emitter should be notified about it
+     *
+     * @param exception The exception describing the rejection
+     */
+    void reject(RejectedExecutionException exception);
+
+    /**
+     * Gets called if the task was silently dropped
+     */
+    void drop();
+
+}
@@ -0,0 +1,131 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Represents the immutable, precomputed set of receivers an event of a specific type sent to a specific topic gets delivered to
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class Route {
+
+    private final EventContext context;
+    private final ListenerMethodDefinition[] listeners;
+    private final ListenerMethodDefinition[][] listenerGroups;
+    private final ListenerMethodDefinition[] conflatingListeners;
+    private final EventBridge<?>[] bridges;
+    // Null if none of the listener methods filters events
+    private final RouteFilter filter;
+
+    Route(
+            final EventContext context,
+            final ListenerMethodDefinition[] listeners,
+            final ListenerMethodDefinition[][] listenerGroups,
+            final ListenerMethodDefinition[] conflatingListeners,
+            final EventBridge<?>[] bridges,
+            final RouteFilter filter
+    ) {
+        this.context = context;
+        this.listeners = listeners;
+        this.listenerGroups = listenerGroups;
+        this.conflatingListeners = conflatingListeners;
+        this.bridges = bridges;
+        this.filter = filter;
+    }
+
+    /**
+     * Narrows this route down to the listener methods whose filters accept a specific event
+     * Unfiltered routes are returned as they are, so routes without filters do not allocate anything
+     *
+     * @param event The event to deliver
+     * @return The route to deliver the event using
+     */
+    Route select(final Event event) {
+        if (this.filter == null) {
+            return this;
+        }
+
+        final Set<ListenerMethodDefinition> accepted = this.filter.select(event);
+        final ListenerMethodDefinition[][] listenerGroups = Arrays.stream(this.listenerGroups)
+                .map(group -> retain(group, accepted))
+                .filter(group -> group.length > 0)
+                .toArray(ListenerMethodDefinition[][]::new);
+        return new Route(
+                this.context,
+                retain(this.listeners, accepted),
+                listenerGroups,
+                retain(this.conflatingListeners, accepted),
+                this.bridges,
+                null
+        );
+    }
+
+    /**
+     * Creates a copy of this route passing another context to the receivers
+     *
+     * @param context The context to pass
+     * @return The created route
+     */
+    Route withContext(final EventContext context) {
+        return new Route(context, this.listeners, this.listenerGroups, this.conflatingListeners, this.bridges, this.filter);
+    }
+
+    private static ListenerMethodDefinition[] retain(final ListenerMethodDefinition[] methodDefinitions, final Set<ListenerMethodDefinition> accepted) {
+        return Arrays.stream(methodDefinitions)
+                .filter(methodDefinition -> !methodDefinition.isFiltered() || accepted.contains(methodDefinition))
+                .toArray(ListenerMethodDefinition[]::new);
+    }
+
+    /**
+     * As event contexts are immutable, a single one is shared by all events delivered using this route
+     *
+     * @return The context to pass to the receivers
+     */
+    EventContext getContext() {
+        return this.context;
+    }
+
+    /**
+     * @return The non-conflating listener methods to invoke; must not be modified
+     */
+    ListenerMethodDefinition[] getListeners() {
+        return this.listeners;
+    }
+
+    /**
+     * @return The listener methods to invoke grouped by the listener instance they belong to; must not be modified
+     */
+    ListenerMethodDefinition[][] getListenerGroups() {
+        return this.listenerGroups;
+    }
+
+    /**
+     * @return The conflating listener methods to hand the event over to; must not be modified
+     */
+    ListenerMethodDefinition[] getConflatingListeners() {
+        return this.conflatingListeners;
+    }
+
+    /**
+     * @return The amount of listener methods receiving the event, conflating ones included
+     */
+    int getListenerCount() {
+        return this.listeners.length + this.conflatingListeners.length;
+    }
+
+    /**
+     * @return The bridges to call; must not be modified
+     */
+    EventBridge<?>[] getBridges() {
+        return this.bridges;
+    }
+
+}
@@ -0,0 +1,122 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+import pm.lus.eve.listener.filter.EqualityFilter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects the filtered listener methods of a route receiving a specific event
+ * Methods with equality filters are indexed by the value of their first filtered property,
+ * so every property is read once per event instead of evaluating the filters of every single method
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class RouteFilter {
+
+    private final Property[] properties;
+    // Filtered using predicates only, so they have to be checked one after another
+    private final ListenerMethodDefinition[] unindexed;
+
+    private RouteFilter(final Property[] properties, final ListenerMethodDefinition[] unindexed) {
+        this.properties = properties;
+        this.unindexed = unindexed;
+    }
+
+    /**
+     * Builds the filter of a route
+     *
+     * @param methodDefinitions All listener methods of the route
+     * @return The built filter or null if none of the methods is filtered
+     */
+    static RouteFilter build(final List<ListenerMethodDefinition> methodDefinitions) {
+        final Map<String, Map<String, List<ListenerMethodDefinition>>> indices = new LinkedHashMap<>();
+        final Map<String, EqualityFilter> extractors = new HashMap<>();
+        final List<ListenerMethodDefinition> unindexed = new ArrayList<>();
+
+        for (final ListenerMethodDefinition methodDefinition : methodDefinitions) {
+            if (!methodDefinition.isFiltered()) {
+                continue;
+            }
+
+            final List<EqualityFilter> filters = methodDefinition.getFilters();
+            if (filters.isEmpty()) {
+                unindexed.add(methodDefinition);
+                continue;
+            }
+
+            final EqualityFilter filter = filters.get(0);
+            extractors.putIfAbsent(filter.getProperty(), filter);
+            indices.computeIfAbsent(filter.getProperty(), key -> new HashMap<>())
+                    .computeIfAbsent(filter.getValue(), key -> new ArrayList<>())
+                    .add(methodDefinition);
+        }
+
+        if (indices.isEmpty() && unindexed.isEmpty()) {
+            return null;
+        }
+
+        final Property[] properties = indices.entrySet().stream()
+                .map(entry -> new Property(extractors.get(entry.getKey()), entry.getValue()))
+                .toArray(Property[]::new);
+        return new RouteFilter(properties, unindexed.toArray(new ListenerMethodDefinition[0]));
+    }
+
+    /**
+     * Collects the filtered listener methods receiving an event
+     *
+     * @param event The event to check
+     * @return The filtered listener methods receiving the event; unfiltered ones are not contained
+     */
+    Set<ListenerMethodDefinition> select(final Event event) {
+        final Set<ListenerMethodDefinition> accepted = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final Property property : this.properties) {
+            final String key = property.extractor.keyOf(event);
+            if (key == null) {
+                continue;
+            }
+
+            final ListenerMethodDefinition[] candidates = property.index.get(key);
+            if (candidates == null) {
+                continue;
+            }
+            for (final ListenerMethodDefinition candidate : candidates) {
+                // The indexed filter matches already, but the method may have additional filters
+                if (candidate.accepts(event)) {
+                    accepted.add(candidate);
+                }
+            }
+        }
+
+        for (final ListenerMethodDefinition methodDefinition : this.unindexed) {
+            if (methodDefinition.accepts(event)) {
+                accepted.add(methodDefinition);
+            }
+        }
+        return accepted;
+    }
+
+    private static final class Property {
+
+        private final EqualityFilter extractor;
+        private final Map<String, ListenerMethodDefinition[]> index;
+
+        private Property(final EqualityFilter extractor, final Map<String, List<ListenerMethodDefinition>> index) {
+            this.extractor = extractor;
+            this.index = new HashMap<>();
+            index.forEach((value, methodDefinitions) -> this.index.put(value, methodDefinitions.toArray(new ListenerMethodDefinition[0])));
+        }
+
+    }
+
+}
@@ -0,0 +1,130 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.collection.Snapshot;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.definition.ListenerDefinition;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+import pm.lus.eve.topic.ReceivingTopic;
+import pm.lus.eve.topic.TopicIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents an immutable snapshot of all listener subscriptions and bridges of a bus at a specific registration version
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+class RoutingTable {
+
+    private final long listenerVersion;
+    private final long bridgeVersion;
+    // Listener subscriptions and bridges keyed by the event type they receive; resolved using the hierarchy of the emitted type
+    private final Map<Class<?>, TopicIndex<ListenerMethodDefinition>> indices;
+    private final Map<Class<?>, List<EventBridge<?>>> bridges;
+
+    private RoutingTable(
+            final long listenerVersion,
+            final long bridgeVersion,
+            final Map<Class<?>, TopicIndex<ListenerMethodDefinition>> indices,
+            final Map<Class<?>, List<EventBridge<?>>> bridges
+    ) {
+        this.listenerVersion = listenerVersion;
+        this.bridgeVersion = bridgeVersion;
+        this.indices = indices;
+        this.bridges = bridges;
+    }
+
+    static RoutingTable build(final Snapshot<ListenerDefinition> listenerDefinitions, final Snapshot<EventBridge<?>> bridges) {
+        final Map<Class<?>, TopicIndex<ListenerMethodDefinition>> indices = new HashMap<>();
+        for (final ListenerDefinition listenerDefinition : listenerDefinitions) {
+            for (final ListenerMethodDefinition methodDefinition : listenerDefinition.getMethodDefinitions()) {
+                final TopicIndex<ListenerMethodDefinition> index = indices.computeIfAbsent(methodDefinition.getReceivingEventType(), key -> new TopicIndex<>());
+                for (final ReceivingTopic receivingTopic : methodDefinition.getReceivingTopics()) {
+                    index.add(receivingTopic, methodDefinition);
+                }
+            }
+        }
+
+        final Map<Class<?>, List<EventBridge<?>>> bridgesByType = new HashMap<>();
+        for (final EventBridge<?> bridge : bridges) {
+            bridgesByType.computeIfAbsent(bridge.getReceivingEventType(), key -> new ArrayList<>()).add(bridge);
+        }
+
+        return new RoutingTable(listenerDefinitions.getVersion(), bridges.getVersion(), indices, bridgesByType);
+    }
+
+    /**
+     * Resolves the receivers of an event of the given type sent to the topic of the given context
+     * Only the subscriptions of the event supertypes get looked at instead of checking every single listener method and bridge
+     *
+     * @param context The context events delivered using the route get passed
+     * @param type    The concrete type of the event
+     * @return The resolved route
+     */
+    Route resolve(final EventContext context, final Class<? extends Event> type) {
+        return this.resolve(context, ReceivingTopic.split(context.getTopic()), type);
+    }
+
+    /**
+     * Resolves the receivers of an event of the given type sent to the already split topic of the given context
+     *
+     * @param context  The context events delivered using the route get passed
+     * @param segments The segments of the topic of the context
+     * @param type     The concrete type of the event
+     * @return The resolved route
+     */
+    Route resolve(final EventContext context, final String[] segments, final Class<? extends Event> type) {
+        final List<ListenerMethodDefinition> listeners = new ArrayList<>();
+        final List<EventBridge<?>> bridges = new ArrayList<>();
+        for (final Class<?> supertype : TypeHierarchy.of(type)) {
+            final TopicIndex<ListenerMethodDefinition> index = this.indices.get(supertype);
+            if (index != null) {
+                listeners.addAll(index.match(context.getTopic(), segments));
+            }
+
+            final List<EventBridge<?>> typeBridges = this.bridges.get(supertype);
+            if (typeBridges != null) {
+                bridges.addAll(typeBridges);
+            }
+        }
+
+        // Conflating methods are not invoked as part of the regular listener tasks but get their own pending slots
+        final List<ListenerMethodDefinition> regularListeners = new ArrayList<>();
+        final List<ListenerMethodDefinition> conflatingListeners = new ArrayList<>();
+        final Map<Listener, List<ListenerMethodDefinition>> groups = new LinkedHashMap<>();
+        for (final ListenerMethodDefinition methodDefinition : listeners) {
+            if (methodDefinition.isConflating()) {
+                conflatingListeners.add(methodDefinition);
+                continue;
+            }
+            regularListeners.add(methodDefinition);
+            groups.computeIfAbsent(methodDefinition.getListener(), key -> new ArrayList<>()).add(methodDefinition);
+        }
+        final ListenerMethodDefinition[][] listenerGroups = groups.values().stream()
+                .map(group -> group.toArray(new ListenerMethodDefinition[0]))
+                .toArray(ListenerMethodDefinition[][]::new);
+
+        return new Route(
+                context,
+                regularListeners.toArray(new ListenerMethodDefinition[0]),
+                listenerGroups,
+                conflatingListeners.toArray(new ListenerMethodDefinition[0]),
+                bridges.toArray(new EventBridge<?>[0]),
+                RouteFilter.build(listeners)
+        );
+    }
+
+    boolean isCurrent(final long listenerVersion, final long bridgeVersion) {
+        return this.listenerVersion == listenerVersion && this.bridgeVersion == bridgeVersion;
+    }
+
+}
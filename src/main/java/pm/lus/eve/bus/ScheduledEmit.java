@@ -0,0 +1,79 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Represents the handle of an event emitted with a delay using {@link EventBus#emitAfter(String, Event, Duration)}
+ * or {@link EventBus#emitAt(String, Event, Instant)}
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public final class ScheduledEmit {
+
+    private final EmitScheduler scheduler;
+    private final String topic;
+    private final Event event;
+    private TimerWheel.Timeout timeout;
+
+    ScheduledEmit(final EmitScheduler scheduler, final String topic, final Event event) {
+        this.scheduler = scheduler;
+        this.topic = topic;
+        this.event = event;
+    }
+
+    void setTimeout(final TimerWheel.Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return The raw topic the event gets emitted to
+     */
+    public String getTopic() {
+        return this.topic;
+    }
+
+    /**
+     * @return The scheduled event
+     */
+    public Event getEvent() {
+        return this.event;
+    }
+
+    /**
+     * Prevents the event from being emitted if it was not emitted yet
+     *
+     * @return Whether or not the emit got cancelled by this call
+     */
+    public boolean cancel() {
+        if (!this.timeout.cancel()) {
+            return false;
+        }
+        this.scheduler.onCancel();
+        return true;
+    }
+
+    /**
+     * @return Whether or not the emit got cancelled
+     */
+    public boolean isCancelled() {
+        return this.timeout.isCancelled();
+    }
+
+    /**
+     * @return Whether or not the event became due and got handed to the bus
+     */
+    public boolean isEmitted() {
+        return this.timeout.isExpired();
+    }
+
+    @Override
+    public String toString() {
+        return this.topic + ": " + this.event;
+    }
+
+}
@@ -0,0 +1,72 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.error.ErrorHandler;
+import pm.lus.eve.instrumentation.Instrumentation;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Invokes all listeners of a single emitted event one after another inside of a single executor task
+ * Separate emits run concurrently, so there are no ordering guarantees between them
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class TaskListenerDispatcher implements ListenerDispatcher {
+
+    private final Executor executor;
+    // Null if instrumentation is disabled
+    private final Instrumentation instrumentation;
+    private final ErrorHandler errorHandler;
+    // Null if the watchdog is disabled
+    private final Watchdog watchdog;
+
+    TaskListenerDispatcher(final Executor executor, final Instrumentation instrumentation, final ErrorHandler errorHandler, final Watchdog watchdog) {
+        this.executor = executor;
+        this.instrumentation = instrumentation;
+        this.errorHandler = errorHandler;
+        this.watchdog = watchdog;
+    }
+
+    @Override
+    public CompletableFuture<Void> dispatch(final Route route, final Event event) {
+        final ListenerMethodDefinition[] methodDefinitions = route.getListeners();
+        if (methodDefinitions.length == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final EventContext context = route.getContext();
+        final long emittedAt = Tasks.emittedAt(this.instrumentation);
+        return Tasks.run(this.executor, () -> {
+            for (final ListenerMethodDefinition methodDefinition : methodDefinitions) {
+                Tasks.invoke(this.instrumentation, this.errorHandler, this.watchdog, this, methodDefinition, context, event, emittedAt);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> dispatchAll(final Map<ListenerMethodDefinition, Batch> batches) {
+        final long emittedAt = Tasks.emittedAt(this.instrumentation);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(batches.size());
+        batches.forEach((methodDefinition, batch) -> futures.add(Tasks.run(this.executor, () -> {
+            for (int i = 0; i < batch.size(); i++) {
+                Tasks.invoke(this.instrumentation, this.errorHandler, this.watchdog, this, methodDefinition, batch.getContext(i), batch.getEvent(i), emittedAt);
+            }
+        })));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @Override
+    public CompletableFuture<Void> redeliver(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event) {
+        return Tasks.redeliver(task -> Tasks.run(this.executor, task), this.instrumentation, this.watchdog, methodDefinition, context, event);
+    }
+
+}
@@ -0,0 +1,298 @@
+package pm.lus.eve.bus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.error.ErrorHandler;
+import pm.lus.eve.error.FailedDelivery;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.instrumentation.Instrumentation;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Contains helpers shared by the different ways of dispatching events
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class Tasks {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Tasks.class);
+
+    private Tasks() {
+    }
+
+    /**
+     * Executes a task using the given executor
+     * If the executor rejects the task, the returned future completes exceptionally instead of the exception being thrown
+     *
+     * @param executor The executor to use
+     * @param task     The task to execute
+     * @return A future to keep track with the task
+     */
+    static CompletableFuture<Void> run(final Executor executor, final Runnable task) {
+        final DispatchTask dispatchTask = new DispatchTask(task);
+        try {
+            executor.execute(dispatchTask);
+        } catch (final RejectedExecutionException exception) {
+            dispatchTask.reject(exception);
+        }
+        return dispatchTask.getFuture();
+    }
+
+    /**
+     * Captures the time an event got emitted at, if needed for instrumentation
+     *
+     * @param instrumentation The instrumentation to use or null if it is disabled
+     * @return The current value of {@link System#nanoTime()} or 0 if instrumentation is disabled
+     */
+    static long emittedAt(final Instrumentation instrumentation) {
+        return instrumentation != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Invokes a listener method, passing anything it throws to the error handler
+     * Listener methods whose circuit breaker is open are skipped
+     *
+     * @param instrumentation  The instrumentation to notify or null if it is disabled
+     * @param errorHandler     The error handler to pass failures to
+     * @param watchdog         The watchdog to enforce the timeout of the listener method with or null if it is disabled
+     * @param redeliverer      Hands the event back to the method if the error handler retries it
+     * @param methodDefinition The listener method to invoke
+     * @param context          The context of the event
+     * @param event            The event itself
+     * @param emittedAt        The time the event got emitted at (see {@link #emittedAt(Instrumentation)})
+     */
+    static void invoke(
+            final Instrumentation instrumentation,
+            final ErrorHandler errorHandler,
+            final Watchdog watchdog,
+            final Redeliverer redeliverer,
+            final ListenerMethodDefinition methodDefinition,
+            final EventContext context,
+            final Event event,
+            final long emittedAt
+    ) {
+        try {
+            deliver(instrumentation, watchdog, methodDefinition, context, event, emittedAt);
+        } catch (final Throwable throwable) {
+            fail(errorHandler, FailedDelivery.ofListener(methodDefinition, context, event, throwable, () -> redeliverer.redeliver(methodDefinition, context, event)));
+        }
+    }
+
+    /**
+     * Submits the redelivery of an event to a listener method; unlike {@link #invoke}, failures complete the returned future
+     * instead of being passed to the error handler, which keeps track of the attempts itself
+     *
+     * @param submitter        Submits the delivering task, e.g. to the mailbox or partition of the listener
+     * @param instrumentation  The instrumentation to notify or null if it is disabled
+     * @param watchdog         The watchdog to enforce the timeout of the listener method with or null if it is disabled
+     * @param methodDefinition The listener method to deliver the event to
+     * @param context          The context of the event
+     * @param event            The event itself
+     * @return A future completing once the event got delivered; completes exceptionally with anything the method throws
+     */
+    static CompletableFuture<Void> redeliver(
+            final Function<Runnable, CompletableFuture<Void>> submitter,
+            final Instrumentation instrumentation,
+            final Watchdog watchdog,
+            final ListenerMethodDefinition methodDefinition,
+            final EventContext context,
+            final Event event
+    ) {
+        final long emittedAt = emittedAt(instrumentation);
+        final CompletableFuture<Void> delivered = new CompletableFuture<>();
+        submitter.apply(() -> {
+            try {
+                deliver(instrumentation, watchdog, methodDefinition, context, event, emittedAt);
+                delivered.complete(null);
+            } catch (final Throwable throwable) {
+                delivered.completeExceptionally(throwable);
+            }
+        }).whenComplete((ignored, throwable) -> {
+            // Covers rejected and dropped tasks, which never ran
+            if (throwable != null) {
+                delivered.completeExceptionally(throwable);
+            } else {
+                delivered.complete(null);
+            }
+        });
+        return delivered;
+    }
+
+    /**
+     * Invokes a listener method; anything it throws gets rethrown after notifying the instrumentation
+     * Listener methods whose circuit breaker is open are skipped
+     *
+     * @param instrumentation  The instrumentation to notify or null if it is disabled
+     * @param watchdog         The watchdog to enforce the timeout of the listener method with or null if it is disabled
+     * @param methodDefinition The listener method to invoke
+     * @param context          The context of the event
+     * @param event            The event itself
+     * @param emittedAt        The time the event got emitted at (see {@link #emittedAt(Instrumentation)})
+     * @throws Throwable Anything the listener method throws
+     */
+    static void deliver(
+            final Instrumentation instrumentation,
+            final Watchdog watchdog,
+            final ListenerMethodDefinition methodDefinition,
+            final EventContext context,
+            final Event event,
+            final long emittedAt
+    ) throws Throwable {
+        if (watchdog == null) {
+            deliver(instrumentation, methodDefinition, context, event, emittedAt);
+            return;
+        }
+
+        final CircuitBreaker breaker = watchdog.breaker(methodDefinition);
+        if (!breaker.allow()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final Watchdog.Invocation invocation = watchdog.enter(breaker);
+        try {
+            deliver(instrumentation, methodDefinition, context, event, emittedAt);
+        } finally {
+            watchdog.exit(invocation, breaker, start);
+        }
+    }
+
+    private static void deliver(
+            final Instrumentation instrumentation,
+            final ListenerMethodDefinition methodDefinition,
+            final EventContext context,
+            final Event event,
+            final long emittedAt
+    ) throws Throwable {
+        if (instrumentation == null) {
+            methodDefinition.getInvoker().invoke(context, event);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        instrumentation.onListenerStart(methodDefinition, context, event, start - emittedAt);
+        Throwable failure = null;
+        try {
+            methodDefinition.getInvoker().invoke(context, event);
+        } catch (final Throwable throwable) {
+            failure = throwable;
+            throw throwable;
+        } finally {
+            instrumentation.onListenerEnd(methodDefinition, context, event, System.nanoTime() - start, failure);
+        }
+    }
+
+    /**
+     * Describes a failed delivery to a bridge which gets redelivered through the same watchdog and instrumentation
+     *
+     * @param instrumentation The instrumentation to notify or null if it is disabled
+     * @param watchdog        The watchdog to enforce the timeout of the bridge with or null if it is disabled
+     * @param bridge          The bridge that failed
+     * @param context         The context of the event
+     * @param event           The event itself
+     * @param cause           The throwable the bridge threw
+     * @return The failed delivery to the bridge
+     */
+    static FailedDelivery failedBridge(
+            final Instrumentation instrumentation,
+            final Watchdog watchdog,
+            final EventBridge<?> bridge,
+            final EventContext context,
+            final Event event,
+            final Throwable cause
+    ) {
+        return FailedDelivery.ofBridge(bridge, context, event, cause, () -> {
+            try {
+                call(instrumentation, watchdog, bridge, context, event, emittedAt(instrumentation));
+                return CompletableFuture.completedFuture(null);
+            } catch (final Throwable throwable) {
+                return CompletableFuture.failedFuture(throwable);
+            }
+        });
+    }
+
+    /**
+     * Passes a failed delivery to the error handler; a failing error handler must not break dispatching
+     *
+     * @param errorHandler The error handler to pass the failure to
+     * @param failure      The failed delivery
+     */
+    static void fail(final ErrorHandler errorHandler, final FailedDelivery failure) {
+        try {
+            errorHandler.handle(failure);
+        } catch (final Throwable throwable) {
+            LOGGER.error("the error handler failed while handling: {}", failure, throwable);
+        }
+    }
+
+    /**
+     * Calls a bridge; anything it throws gets rethrown after notifying the instrumentation
+     * Bridges whose circuit breaker is open are skipped
+     *
+     * @param instrumentation The instrumentation to notify or null if it is disabled
+     * @param watchdog        The watchdog to enforce the timeout of the bridge with or null if it is disabled
+     * @param bridge          The bridge to call
+     * @param context         The context of the event
+     * @param event           The event itself
+     * @param emittedAt       The time the event got emitted at (see {@link #emittedAt(Instrumentation)})
+     */
+    static void call(
+            final Instrumentation instrumentation,
+            final Watchdog watchdog,
+            final EventBridge<?> bridge,
+            final EventContext context,
+            final Event event,
+            final long emittedAt
+    ) {
+        if (watchdog == null) {
+            call(instrumentation, bridge, context, event, emittedAt);
+            return;
+        }
+
+        final CircuitBreaker breaker = watchdog.breaker(bridge);
+        if (!breaker.allow()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final Watchdog.Invocation invocation = watchdog.enter(breaker);
+        try {
+            call(instrumentation, bridge, context, event, emittedAt);
+        } finally {
+            watchdog.exit(invocation, breaker, start);
+        }
+    }
+
+    private static void call(
+            final Instrumentation instrumentation,
+            final EventBridge<?> bridge,
+            final EventContext context,
+            final Event event,
+            final long emittedAt
+    ) {
+        if (instrumentation == null) {
+            bridge.call(context, event);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        instrumentation.onBridgeStart(bridge, context, event, start - emittedAt);
+        Throwable failure = null;
+        try {
+            bridge.call(context, event);
+        } catch (final RuntimeException | Error throwable) {
+            failure = throwable;
+            throw throwable;
+        } finally {
+            instrumentation.onBridgeEnd(bridge, context, event, System.nanoTime() - start, failure);
+        }
+    }
+
+}
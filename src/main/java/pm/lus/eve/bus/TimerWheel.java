@@ -0,0 +1,411 @@
+package pm.lus.eve.bus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pm.lus.eve.collection.MpscQueue;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Represents a hierarchical hashed timer wheel running short tasks once their delay elapsed
+ * Every level consists of the same amount of slots, each spanning a whole revolution of the level below it;
+ * tasks are hashed onto the lowest level covering their deadline and move down a level whenever the slot holding them comes up,
+ * so expiring a tick only touches the tasks that are actually due, no matter how far in the future the others are
+ * Scheduling and cancelling are constant time and lock-free; the single timer thread is started by the first scheduled task
+ * Tasks run on the timer thread, are accurate to a single tick and must not block
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class TimerWheel implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimerWheel.class);
+
+    private static final AtomicInteger TIMER_COUNTER = new AtomicInteger();
+
+    // The maximum amount of newly scheduled tasks moved into the wheel per tick so that a flood of them cannot delay expiring ones
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final int INIT = 0;
+    private static final int STARTED = 1;
+    private static final int CLOSED = 2;
+
+    private final long tickNanos;
+    private final int wheelSize;
+    private final int bits;
+    private final int mask;
+    // Higher levels are allocated once the first task reaches that far into the future
+    private final Bucket[][] levels;
+    // Null if nothing has to happen after the tasks of a tick ran
+    private final Runnable tickListener;
+    // Only polled by the timer thread
+    private final MpscQueue<Timeout> scheduled;
+    private final MpscQueue<Timeout> cancelled;
+    private volatile int state;
+    private volatile long startTime;
+    private Thread thread;
+    // Only accessed by the timer thread
+    private long tick;
+
+    TimerWheel(final long tickDuration, final TimeUnit unit, final int wheelSize) {
+        this(tickDuration, unit, wheelSize, null);
+    }
+
+    /**
+     * @param tickDuration The duration of a single tick
+     * @param unit         The unit of the tick duration
+     * @param wheelSize    The amount of slots per level; rounded up to a power of two
+     * @param tickListener Runs on the timer thread after the tasks of every tick ran, e.g. to process the work they collected as a batch; may be null
+     */
+    TimerWheel(final long tickDuration, final TimeUnit unit, final int wheelSize, final Runnable tickListener) {
+        this.tickNanos = unit.toNanos(tickDuration);
+        // Rounded up to a power of two so that slots can be selected using shifts and a mask
+        this.wheelSize = Math.max(2, Integer.highestOneBit(wheelSize - 1) << 1);
+        this.bits = Integer.numberOfTrailingZeros(this.wheelSize);
+        this.mask = this.wheelSize - 1;
+        // Enough levels to cover every non-negative tick
+        this.levels = new Bucket[(Long.SIZE - 1 + this.bits - 1) / this.bits][];
+        this.levels[0] = this.createLevel();
+        this.tickListener = tickListener;
+        this.scheduled = new MpscQueue<>();
+        this.cancelled = new MpscQueue<>();
+        this.state = INIT;
+    }
+
+    /**
+     * Schedules a task to run once the given delay elapsed
+     *
+     * @param task  The task to run on the timer thread
+     * @param delay The delay to wait for
+     * @param unit  The unit of the delay
+     * @return The handle of the scheduled task
+     * @throws IllegalStateException If the timer has been closed
+     */
+    Timeout schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        this.start();
+
+        final long delayNanos = unit.toNanos(delay);
+        long deadline = System.nanoTime() + delayNanos - this.startTime;
+        if (delayNanos > 0 && deadline < 0) {
+            deadline = Long.MAX_VALUE;
+        }
+
+        final Timeout timeout = new Timeout(this, task, deadline);
+        this.scheduled.offer(timeout);
+        return timeout;
+    }
+
+    private void start() {
+        if (this.state == STARTED) {
+            return;
+        }
+
+        synchronized (this) {
+            if (this.state == CLOSED) {
+                throw new IllegalStateException("the timer has been closed");
+            }
+            if (this.state == INIT) {
+                this.startTime = System.nanoTime();
+                this.thread = new Thread(this::run, "eve-timer-" + TIMER_COUNTER.incrementAndGet());
+                this.thread.setDaemon(true);
+                this.state = STARTED;
+                this.thread.start();
+            }
+        }
+    }
+
+    private void run() {
+        while (this.state == STARTED) {
+            if (!this.awaitTick()) {
+                continue;
+            }
+
+            this.removeCancelled();
+            // Cascading first guarantees that newly scheduled tasks never end up in a slot that is emptied during the same tick
+            this.cascade();
+            this.transferScheduled();
+            this.levels[0][(int) (this.tick & this.mask)].expire();
+            if (this.tickListener != null) {
+                try {
+                    this.tickListener.run();
+                } catch (final Throwable throwable) {
+                    LOGGER.error("the tick listener of timer '{}' failed", this.thread.getName(), throwable);
+                }
+            }
+            this.tick++;
+        }
+    }
+
+    /**
+     * Sleeps until the current tick is due
+     *
+     * @return Whether or not the tick is due; false if the sleep got interrupted
+     */
+    private boolean awaitTick() {
+        final long deadline = this.tickNanos * (this.tick + 1);
+        while (true) {
+            final long current = System.nanoTime() - this.startTime;
+            final long sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - current + 999_999);
+            if (sleepMillis <= 0) {
+                return true;
+            }
+
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (final InterruptedException exception) {
+                return false;
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = this.cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            final Timeout timeout = this.scheduled.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state != Timeout.PENDING) {
+                continue;
+            }
+            this.add(timeout);
+        }
+    }
+
+    /**
+     * Moves the tasks of the higher level slots starting with the current tick down to the lower levels, beginning with the highest one
+     */
+    private void cascade() {
+        int level = 0;
+        while (level + 1 < this.levels.length && (this.tick & ((1L << ((level + 1) * this.bits)) - 1)) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            if (this.levels[level] != null) {
+                this.levels[level][(int) ((this.tick >>> (level * this.bits)) & this.mask)].cascade(this);
+            }
+        }
+    }
+
+    /**
+     * Hashes a task onto the lowest level whose current revolution covers its deadline
+     *
+     * @param timeout The task to add
+     */
+    private void add(final Timeout timeout) {
+        // Tasks whose tick already passed run with the current one
+        final long deadline = Math.max(timeout.deadline / this.tickNanos, this.tick);
+        for (int level = 0; ; level++) {
+            final int shift = level * this.bits;
+            final long slot = deadline >>> shift;
+            if (slot - (this.tick >>> shift) < this.wheelSize) {
+                if (this.levels[level] == null) {
+                    this.levels[level] = this.createLevel();
+                }
+                this.levels[level][(int) (slot & this.mask)].add(timeout);
+                return;
+            }
+        }
+    }
+
+    private Bucket[] createLevel() {
+        final Bucket[] level = new Bucket[this.wheelSize];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = new Bucket();
+        }
+        return level;
+    }
+
+    /**
+     * Stops the timer thread; tasks that are still pending never run
+     */
+    @Override
+    public void close() {
+        final Thread thread;
+        synchronized (this) {
+            final boolean started = this.state == STARTED;
+            this.state = CLOSED;
+            if (!started) {
+                return;
+            }
+            thread = this.thread;
+        }
+
+        thread.interrupt();
+        if (Thread.currentThread() == thread) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Represents the handle of a task scheduled using {@link #schedule(Runnable, long, TimeUnit)}
+     *
+     * @author Lukas Schulte Pelkum
+     * @version 0.1.0
+     * @since 0.1.0
+     */
+    static final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        // A field updater instead of an atomic per timeout as millions of them may be pending at once
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimerWheel timer;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state;
+
+        // Only accessed by the timer thread
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(final TimerWheel timer, final Runnable task, final long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+            this.state = PENDING;
+        }
+
+        /**
+         * Prevents the task from running if it did not run yet
+         *
+         * @return Whether or not the task got cancelled by this call
+         */
+        boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            // The timer thread unlinks it on its next tick so that cancelled tasks do not wait for their deadline in memory
+            this.timer.cancelled.offer(this);
+            return true;
+        }
+
+        boolean isCancelled() {
+            return this.state == CANCELLED;
+        }
+
+        boolean isExpired() {
+            return this.state == EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, PENDING, EXPIRED)) {
+                return;
+            }
+            try {
+                this.task.run();
+            } catch (final Throwable throwable) {
+                LOGGER.error("a task of timer '{}' failed", this.timer.thread.getName(), throwable);
+            }
+        }
+
+    }
+
+    /**
+     * Represents a doubly linked list of the timeouts hashed onto the same slot of a level; only accessed by the timer thread
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(final Timeout timeout) {
+            timeout.bucket = this;
+            if (this.head == null) {
+                this.head = timeout;
+                this.tail = timeout;
+                return;
+            }
+            this.tail.next = timeout;
+            timeout.previous = this.tail;
+            this.tail = timeout;
+        }
+
+        /**
+         * Runs all tasks of this slot of the lowest level, which are all due with the current tick
+         */
+        private void expire() {
+            Timeout timeout = this.detach();
+            while (timeout != null) {
+                final Timeout next = this.unlink(timeout);
+                timeout.expire();
+                timeout = next;
+            }
+        }
+
+        /**
+         * Moves all tasks of this slot of a higher level down to the levels matching their remaining delays
+         *
+         * @param timer The timer this bucket belongs to
+         */
+        private void cascade(final TimerWheel timer) {
+            Timeout timeout = this.detach();
+            while (timeout != null) {
+                final Timeout next = this.unlink(timeout);
+                if (!timeout.isCancelled()) {
+                    timer.add(timeout);
+                }
+                timeout = next;
+            }
+        }
+
+        private Timeout detach() {
+            final Timeout head = this.head;
+            this.head = null;
+            this.tail = null;
+            return head;
+        }
+
+        private Timeout unlink(final Timeout timeout) {
+            final Timeout next = timeout.next;
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        private void remove(final Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            if (timeout == this.head) {
+                this.head = timeout.next;
+            }
+            if (timeout == this.tail) {
+                this.tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+    }
+
+}
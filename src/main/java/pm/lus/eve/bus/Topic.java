@@ -0,0 +1,130 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.topic.ReceivingTopic;
+
+/**
+ * Represents a pre-parsed handle of a raw topic bound to a specific bus, obtained using {@link EventBus#topic(String)}
+ * The topic is split into interned segments once and the resolved routes are cached inside of the handle itself,
+ * so emitting through it does neither parse nor match the topic as long as no listener or bridge gets (un)registered
+ * Handles are meant to be created once and kept around, e.g. in constant fields of the emitting class
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public final class Topic {
+
+    // The maximum amount of event types whose routes are cached; further types fall back to the dispatch cache
+    static final int MAX_CACHED_TYPES = 8;
+
+    private final EventBus bus;
+    private final String raw;
+    private final String[] segments;
+    // Immutable snapshot which is swapped as a whole so that lookups never need to lock
+    private volatile Routes routes;
+
+    Topic(final EventBus bus, final String raw) {
+        this.bus = bus;
+        this.raw = raw;
+        this.segments = ReceivingTopic.split(raw);
+        for (int i = 0; i < this.segments.length; i++) {
+            this.segments[i] = this.segments[i].intern();
+        }
+        this.routes = Routes.EMPTY;
+    }
+
+    /**
+     * @return The bus this handle belongs to
+     */
+    public EventBus getBus() {
+        return this.bus;
+    }
+
+    /**
+     * @return The raw topic
+     */
+    public String getRaw() {
+        return this.raw;
+    }
+
+    String[] getSegments() {
+        return this.segments;
+    }
+
+    /**
+     * Looks up the cached route for the given event type
+     *
+     * @param table The routing table the route has to be resolved with
+     * @param type  The concrete type of the event
+     * @return The cached route or null if there is none
+     */
+    Route get(final RoutingTable table, final Class<? extends Event> type) {
+        final Routes current = this.routes;
+        if (current.table != table) {
+            return null;
+        }
+
+        final Class<?>[] types = current.types;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == type) {
+                return current.routes[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Caches the given route unless the maximum amount of cached event types is reached
+     * Routes cached for an older routing table are dropped
+     *
+     * @param table The routing table the route was resolved with
+     * @param type  The concrete type of the event
+     * @param route The resolved route
+     * @return Whether or not the route got cached
+     */
+    boolean put(final RoutingTable table, final Class<? extends Event> type, final Route route) {
+        // Racing emitters may overwrite each others entries; the lost ones simply get resolved again
+        final Routes current = this.routes;
+        if (current.table != table) {
+            this.routes = new Routes(table, new Class<?>[]{type}, new Route[]{route});
+            return true;
+        }
+
+        final int length = current.types.length;
+        if (length == MAX_CACHED_TYPES) {
+            return false;
+        }
+
+        final Class<?>[] types = new Class<?>[length + 1];
+        final Route[] routes = new Route[length + 1];
+        System.arraycopy(current.types, 0, types, 0, length);
+        System.arraycopy(current.routes, 0, routes, 0, length);
+        types[length] = type;
+        routes[length] = route;
+        this.routes = new Routes(table, types, routes);
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return this.raw;
+    }
+
+    private static final class Routes {
+
+        private static final Routes EMPTY = new Routes(null, new Class<?>[0], new Route[0]);
+
+        private final RoutingTable table;
+        private final Class<?>[] types;
+        private final Route[] routes;
+
+        private Routes(final RoutingTable table, final Class<?>[] types, final Route[] routes) {
+            this.table = table;
+            this.types = types;
+            this.routes = routes;
+        }
+
+    }
+
+}
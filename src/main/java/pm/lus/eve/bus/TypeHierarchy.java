@@ -0,0 +1,61 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.event.Event;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Resolves and caches the event supertypes of event classes
+ * The resolved hierarchies are stored using a {@link ClassValue}, so they do not keep classes of unloaded class loaders alive
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class TypeHierarchy {
+
+    private static final ClassValue<Class<?>[]> SUPERTYPES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(final Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private TypeHierarchy() {
+    }
+
+    /**
+     * Looks up all types a listener or bridge may subscribe to in order to receive events of the given type
+     * This includes the type itself, its superclasses and all of its interfaces that are {@link Event}s themselves
+     *
+     * @param type The concrete type of the event
+     * @return The event supertypes, starting with the type itself and continuing with the more specific ones first; must not be modified
+     */
+    static Class<?>[] of(final Class<? extends Event> type) {
+        return SUPERTYPES.get(type);
+    }
+
+    private static Class<?>[] resolve(final Class<?> type) {
+        final Set<Class<?>> supertypes = new LinkedHashSet<>();
+        final Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(type);
+        while (!queue.isEmpty()) {
+            final Class<?> current = queue.poll();
+            if (!Event.class.isAssignableFrom(current) || !supertypes.add(current)) {
+                continue;
+            }
+
+            if (current.getSuperclass() != null) {
+                queue.add(current.getSuperclass());
+            }
+            for (final Class<?> implemented : current.getInterfaces()) {
+                queue.add(implemented);
+            }
+        }
+        return supertypes.toArray(new Class<?>[0]);
+    }
+
+}
@@ -0,0 +1,66 @@
+package pm.lus.eve.bus;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides access to virtual threads without requiring the library to be compiled against JDK 21 or newer
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public final class VirtualThreads {
+
+    // Null if the running JDK does not support virtual threads
+    private static final MethodHandle EXECUTOR_FACTORY = lookupExecutorFactory();
+
+    private VirtualThreads() {
+    }
+
+    private static MethodHandle lookupExecutorFactory() {
+        // JDK 19 and 20 only provide virtual threads as a preview feature
+        if (Runtime.version().feature() < 21) {
+            return null;
+        }
+
+        try {
+            return MethodHandles.publicLookup().findStatic(
+                    Executors.class,
+                    "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class)
+            );
+        } catch (final NoSuchMethodException | IllegalAccessException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Whether or not the running JDK supports virtual threads
+     */
+    public static boolean isSupported() {
+        return EXECUTOR_FACTORY != null;
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread for every task
+     *
+     * @return The created executor
+     * @throws UnsupportedOperationException If the running JDK does not support virtual threads
+     */
+    public static ExecutorService newExecutor() {
+        if (EXECUTOR_FACTORY == null) {
+            throw new UnsupportedOperationException("virtual threads require JDK 21 or newer (running " + Runtime.version() + ")");
+        }
+
+        try {
+            return (ExecutorService) EXECUTOR_FACTORY.invokeExact();
+        } catch (final Throwable throwable) {
+            throw new UnsupportedOperationException("could not create a virtual thread executor", throwable);
+        }
+    }
+
+}
@@ -0,0 +1,377 @@
+package pm.lus.eve.bus;
+
+import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects listener method and bridge invocations exceeding their timeout and trips the {@link CircuitBreaker} of receivers that keep doing so
+ * Every dispatching thread publishes its current invocation into a record of its own which a single thread scans periodically,
+ * so watching an invocation costs a few memory writes instead of a scheduled timer per call
+ * Hung invocations get interrupted by default so that they release the dispatching thread and the receivers sharing its task
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class Watchdog implements Closeable {
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_SCAN_INTERVAL = Duration.ofMillis(50);
+    public static final int DEFAULT_BREAKER_THRESHOLD = 3;
+    public static final Duration DEFAULT_BREAKER_COOLDOWN = Duration.ofSeconds(30);
+
+    private static final AtomicInteger WATCHDOG_COUNTER = new AtomicInteger();
+
+    // The status is stored in the lowest two bits of the state of an invocation, the invocation sequence in all others
+    private static final long IDLE = 0;
+    private static final long RUNNING = 1;
+    private static final long REPORTED = 2;
+    private static final long STATUS_MASK = 3;
+
+    private final long defaultTimeoutNanos;
+    private final long scanIntervalMillis;
+    private final int breakerThreshold;
+    private final long breakerCooldownNanos;
+    private final boolean interruptHungThreads;
+
+    private final Map<Object, CircuitBreaker> breakers;
+    private final Set<Invocation> invocations;
+    private final ThreadLocal<Invocation> currentInvocation;
+    private final LongAdder interrupted;
+    private final Thread thread;
+    private volatile boolean running;
+
+    private Watchdog(final Builder builder) {
+        this.defaultTimeoutNanos = builder.defaultTimeout.toNanos();
+        this.scanIntervalMillis = Math.max(1, builder.scanInterval.toMillis());
+        this.breakerThreshold = builder.breakerThreshold;
+        this.breakerCooldownNanos = builder.breakerCooldown.toNanos();
+        this.interruptHungThreads = builder.interruptHungThreads;
+        this.breakers = new ConcurrentHashMap<>();
+        this.invocations = ConcurrentHashMap.newKeySet();
+        this.currentInvocation = ThreadLocal.withInitial(() -> {
+            final Invocation invocation = new Invocation(Thread.currentThread());
+            this.invocations.add(invocation);
+            return invocation;
+        });
+        this.interrupted = new LongAdder();
+        this.running = true;
+        this.thread = new Thread(this::run, "eve-watchdog-" + WATCHDOG_COUNTER.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @return A new builder to configure a watchdog with
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param methodDefinition The listener method
+     * @return The circuit breaker of the listener method
+     */
+    CircuitBreaker breaker(final ListenerMethodDefinition methodDefinition) {
+        final CircuitBreaker breaker = this.breakers.get(methodDefinition);
+        if (breaker != null) {
+            return breaker;
+        }
+        return this.breakers.computeIfAbsent(methodDefinition, key -> this.createBreaker(methodDefinition.getName(), methodDefinition.getTimeoutMillis()));
+    }
+
+    /**
+     * @param bridge The bridge
+     * @return The circuit breaker of the bridge
+     */
+    CircuitBreaker breaker(final EventBridge<?> bridge) {
+        final CircuitBreaker breaker = this.breakers.get(bridge);
+        if (breaker != null) {
+            return breaker;
+        }
+        return this.breakers.computeIfAbsent(bridge, key -> this.createBreaker(bridge.getClass().getName(), bridge.getTimeoutMillis()));
+    }
+
+    private CircuitBreaker createBreaker(final String receiver, final long timeoutMillis) {
+        final long timeoutNanos = timeoutMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : this.defaultTimeoutNanos;
+        return new CircuitBreaker(receiver, timeoutNanos, this.breakerThreshold, this.breakerCooldownNanos);
+    }
+
+    /**
+     * Drops the circuit breakers of receivers that are not registered anymore
+     *
+     * @param receivers The registered listener methods and bridges
+     */
+    void retain(final Set<Object> receivers) {
+        this.breakers.keySet().retainAll(receivers);
+    }
+
+    /**
+     * Publishes the start of an invocation on the current thread so that the watchdog scans it
+     *
+     * @param breaker The circuit breaker of the invoked receiver
+     * @return The record of the current thread or null if the thread already runs a watched invocation, e.g. when emitting synchronously from a listener
+     */
+    Invocation enter(final CircuitBreaker breaker) {
+        final Invocation invocation = this.currentInvocation.get();
+        if ((invocation.state.get() & STATUS_MASK) != IDLE) {
+            return null;
+        }
+
+        // The state is written last so that the scanner never sees a running invocation with the values of an older one
+        invocation.breaker = breaker;
+        invocation.deadline = System.nanoTime() + breaker.getTimeoutNanos();
+        invocation.sequence++;
+        invocation.state.set(invocation.sequence << 2 | RUNNING);
+        return invocation;
+    }
+
+    /**
+     * Publishes the end of an invocation
+     *
+     * @param invocation The record returned by {@link #enter(CircuitBreaker)}
+     * @param breaker    The circuit breaker of the invoked receiver
+     * @param start      The time the invocation started at
+     */
+    void exit(final Invocation invocation, final CircuitBreaker breaker, final long start) {
+        if (invocation == null) {
+            // Nested invocations are not scanned, so their timeout is only checked once they completed
+            if (System.nanoTime() - start > breaker.getTimeoutNanos()) {
+                breaker.onTimeout();
+            } else {
+                breaker.onSuccess();
+            }
+            return;
+        }
+
+        final long sequence = invocation.sequence;
+        invocation.breaker = null;
+        if (invocation.state.compareAndSet(sequence << 2 | RUNNING, sequence << 2 | IDLE)) {
+            if (System.nanoTime() > invocation.deadline) {
+                breaker.onTimeout();
+            } else {
+                breaker.onSuccess();
+            }
+            return;
+        }
+
+        // The watchdog already reported the invocation and may have interrupted the thread, which must not leak into the next task
+        synchronized (invocation) {
+            invocation.state.set(sequence << 2 | IDLE);
+            if (this.interruptHungThreads) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private void run() {
+        while (this.running) {
+            try {
+                Thread.sleep(this.scanIntervalMillis);
+            } catch (final InterruptedException exception) {
+                continue;
+            }
+            this.scan();
+        }
+    }
+
+    private void scan() {
+        final long now = System.nanoTime();
+        for (final Invocation invocation : this.invocations) {
+            // Threads of shrinking pools terminate eventually
+            if (!invocation.thread.isAlive()) {
+                this.invocations.remove(invocation);
+                continue;
+            }
+
+            final long state = invocation.state.get();
+            if ((state & STATUS_MASK) != RUNNING) {
+                continue;
+            }
+            final CircuitBreaker breaker = invocation.breaker;
+            if (breaker == null || now - invocation.deadline <= 0) {
+                continue;
+            }
+
+            // Succeeds only if the invocation did neither end nor got replaced by a newer one in the meantime
+            synchronized (invocation) {
+                if (!invocation.state.compareAndSet(state, (state & ~STATUS_MASK) | REPORTED)) {
+                    continue;
+                }
+                // The timeout is recorded first, so that the breaker is already open once the interrupted invocation returns
+                breaker.onTimeout();
+                if (this.interruptHungThreads) {
+                    invocation.thread.interrupt();
+                    this.interrupted.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The circuit breakers of all listener methods and bridges that have been invoked so far
+     */
+    public Collection<CircuitBreaker> getBreakers() {
+        return Collections.unmodifiableCollection(new ArrayList<>(this.breakers.values()));
+    }
+
+    /**
+     * @return The circuit breakers that are currently not closed
+     */
+    public List<CircuitBreaker> getOpenBreakers() {
+        final List<CircuitBreaker> open = new ArrayList<>();
+        for (final CircuitBreaker breaker : this.breakers.values()) {
+            if (breaker.getState() != CircuitBreaker.State.CLOSED) {
+                open.add(breaker);
+            }
+        }
+        return open;
+    }
+
+    /**
+     * @return The amount of invocations that exceeded their timeout across all receivers
+     */
+    public long getTimeoutCount() {
+        long timeouts = 0;
+        for (final CircuitBreaker breaker : this.breakers.values()) {
+            timeouts += breaker.getTimeoutCount();
+        }
+        return timeouts;
+    }
+
+    /**
+     * @return The amount of hung invocations whose threads got interrupted
+     */
+    public long getInterruptedCount() {
+        return this.interrupted.sum();
+    }
+
+    /**
+     * Stops the scanning thread
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        this.thread.interrupt();
+    }
+
+    /**
+     * Represents the record a single dispatching thread publishes its current invocation into
+     */
+    static final class Invocation {
+
+        private final Thread thread;
+        private final AtomicLong state;
+        private volatile CircuitBreaker breaker;
+        private volatile long deadline;
+        // Only accessed by the owning thread
+        private long sequence;
+
+        private Invocation(final Thread thread) {
+            this.thread = thread;
+            this.state = new AtomicLong(IDLE);
+        }
+
+    }
+
+    /**
+     * Configures and builds watchdogs
+     *
+     * @author Lukas Schulte Pelkum
+     * @version 0.1.0
+     * @since 0.1.0
+     */
+    public static class Builder {
+
+        private Duration defaultTimeout = DEFAULT_TIMEOUT;
+        private Duration scanInterval = DEFAULT_SCAN_INTERVAL;
+        private int breakerThreshold = DEFAULT_BREAKER_THRESHOLD;
+        private Duration breakerCooldown = DEFAULT_BREAKER_COOLDOWN;
+        private boolean interruptHungThreads = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the timeout of listener methods and bridges not specifying their own one
+         * (see {@link pm.lus.eve.listener.annotation.Listen#timeout()} and {@link EventBridge#getTimeoutMillis()})
+         *
+         * @param defaultTimeout The default timeout
+         * @return The new builder state
+         */
+        public Builder defaultTimeout(final Duration defaultTimeout) {
+            if (defaultTimeout.isNegative() || defaultTimeout.isZero()) {
+                throw new IllegalArgumentException("the default timeout has to be positive");
+            }
+            this.defaultTimeout = defaultTimeout;
+            return this;
+        }
+
+        /**
+         * Sets how often in-flight invocations get scanned; hung invocations are detected up to this late
+         *
+         * @param scanInterval The scan interval
+         * @return The new builder state
+         */
+        public Builder scanInterval(final Duration scanInterval) {
+            if (scanInterval.isNegative() || scanInterval.isZero()) {
+                throw new IllegalArgumentException("the scan interval has to be positive");
+            }
+            this.scanInterval = scanInterval;
+            return this;
+        }
+
+        /**
+         * Configures when circuit breakers open and for how long they skip their receivers
+         *
+         * @param threshold The amount of consecutive timeouts opening a breaker
+         * @param cooldown  The time an open breaker skips its receiver before letting a trial invocation through
+         * @return The new builder state
+         */
+        public Builder breaker(final int threshold, final Duration cooldown) {
+            if (threshold <= 0) {
+                throw new IllegalArgumentException("the breaker threshold has to be positive");
+            }
+            if (cooldown.isNegative()) {
+                throw new IllegalArgumentException("the breaker cooldown must not be negative");
+            }
+            this.breakerThreshold = threshold;
+            this.breakerCooldown = cooldown;
+            return this;
+        }
+
+        /**
+         * Sets whether or not the threads of hung invocations get interrupted; enabled by default
+         *
+         * @param interruptHungThreads Whether or not to interrupt hung invocations
+         * @return The new builder state
+         */
+        public Builder interruptHungThreads(final boolean interruptHungThreads) {
+            this.interruptHungThreads = interruptHungThreads;
+            return this;
+        }
+
+        /**
+         * @return The built watchdog; its scanning thread is running already
+         */
+        public Watchdog build() {
+            return new Watchdog(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,185 @@
+package pm.lus.eve.codec;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.journal.EventCodec;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the binary formats of event types and converts events into bytes and back
+ * Every serialized event starts with the schema id of its format, so the format of an event type may evolve by registering it using a new schema id;
+ * the previous schema id may then be registered using a serializer reading the old format into the new type
+ * Events are written directly into the target buffers (heap or direct) and read directly from the source buffers
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class CodecRegistry implements EventCodec {
+
+    // schema id (4)
+    private static final int EVENT_HEADER_SIZE = 4;
+    // topic length (2)
+    private static final int TOPIC_HEADER_SIZE = 2;
+
+    private final Map<Class<?>, Registration<?>> writers;
+    private final Map<Integer, Registration<?>> readers;
+
+    public CodecRegistry() {
+        this.writers = new ConcurrentHashMap<>();
+        this.readers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Registers an event type using the given serializer
+     * The schema id gets written in front of every event of the type and identifies the serializer while reading
+     *
+     * @param type       The event type
+     * @param schemaId   The id identifying the binary format of the event type
+     * @param serializer The serializer to use
+     * @param <T>        The event type
+     * @return This registry
+     * @throws IllegalArgumentException If the schema id is already in use
+     */
+    public <T extends Event> CodecRegistry register(final Class<T> type, final int schemaId, final EventSerializer<T> serializer) {
+        final Registration<T> registration = new Registration<>(type, schemaId, serializer);
+        if (this.readers.putIfAbsent(schemaId, registration) != null) {
+            throw new IllegalArgumentException("the schema id " + schemaId + " is already in use");
+        }
+        this.writers.put(type, registration);
+        return this;
+    }
+
+    /**
+     * Registers an event type using a serializer writing its fields one after another
+     * The fields get looked up once right here; supported field types are primitives, their wrappers, strings, byte arrays and enums
+     *
+     * @param type     The event type; needs a constructor without any parameters
+     * @param schemaId The id identifying the binary format of the event type
+     * @param <T>      The event type
+     * @return This registry
+     * @throws IllegalArgumentException If the schema id is already in use or the type cannot be serialized reflectively
+     */
+    public <T extends Event> CodecRegistry register(final Class<T> type, final int schemaId) {
+        return this.register(type, schemaId, ReflectiveSerializer.create(type));
+    }
+
+    /**
+     * Registers a serializer that is only used to read events of an outdated schema
+     * Events of the type keep getting written using the schema registered using {@link #register(Class, int, EventSerializer)}
+     *
+     * @param schemaId   The outdated schema id
+     * @param serializer The serializer reading the outdated format
+     * @param <T>        The event type
+     * @return This registry
+     * @throws IllegalArgumentException If the schema id is already in use
+     */
+    public <T extends Event> CodecRegistry registerLegacy(final int schemaId, final EventSerializer<T> serializer) {
+        if (this.readers.putIfAbsent(schemaId, new Registration<>(null, schemaId, serializer)) != null) {
+            throw new IllegalArgumentException("the schema id " + schemaId + " is already in use");
+        }
+        return this;
+    }
+
+    /**
+     * @param type The event type
+     * @return Whether or not events of the given exact type can be serialized
+     */
+    public boolean supports(final Class<? extends Event> type) {
+        return this.writers.containsKey(type);
+    }
+
+    @Override
+    public int sizeOf(final Event event) {
+        return EVENT_HEADER_SIZE + this.writer(event).sizeOf(event);
+    }
+
+    @Override
+    public void encode(final Event event, final ByteBuffer target) {
+        final Registration<?> registration = this.writer(event);
+        target.putInt(registration.schemaId);
+        registration.write(event, target);
+    }
+
+    @Override
+    public Event decode(final ByteBuffer source) {
+        final int schemaId = source.getInt();
+        final Registration<?> registration = this.readers.get(schemaId);
+        if (registration == null) {
+            throw new IllegalArgumentException("unknown schema id " + schemaId);
+        }
+        return registration.serializer.read(source);
+    }
+
+    /**
+     * Computes the amount of bytes {@link #encode(String, Event, ByteBuffer)} writes
+     *
+     * @param topic The raw topic the event belongs to
+     * @param event The event
+     * @return The size of the encoded topic and event in bytes
+     */
+    public int sizeOf(final String topic, final Event event) {
+        return TOPIC_HEADER_SIZE + Utf8.length(topic) + this.sizeOf(event);
+    }
+
+    /**
+     * Writes a topic followed by an event, e.g. to send it to another bus using a bridge
+     *
+     * @param topic  The raw topic the event belongs to
+     * @param event  The event
+     * @param target The buffer to write to; has at least {@link #sizeOf(String, Event)} bytes remaining
+     */
+    public void encode(final String topic, final Event event, final ByteBuffer target) {
+        final int topicLength = Utf8.length(topic);
+        if (topicLength > 0xFFFF) {
+            throw new IllegalArgumentException("the topic must not be longer than 65535 bytes");
+        }
+        target.putShort((short) topicLength);
+        Utf8.write(topic, target);
+        this.encode(event, target);
+    }
+
+    /**
+     * Reads a topic and an event written using {@link #encode(String, Event, ByteBuffer)}
+     *
+     * @param source The buffer to read from
+     * @return The read topic and event
+     */
+    public DecodedEvent decodeWithTopic(final ByteBuffer source) {
+        final String topic = Utf8.read(source, source.getShort() & 0xFFFF);
+        return new DecodedEvent(topic, this.decode(source));
+    }
+
+    private Registration<?> writer(final Event event) {
+        final Registration<?> registration = this.writers.get(event.getClass());
+        if (registration == null) {
+            throw new IllegalArgumentException("the event type '" + event.getClass().getName() + "' is not registered");
+        }
+        return registration;
+    }
+
+    private static final class Registration<T extends Event> {
+
+        private final Class<T> type;
+        private final int schemaId;
+        private final EventSerializer<T> serializer;
+
+        private Registration(final Class<T> type, final int schemaId, final EventSerializer<T> serializer) {
+            this.type = type;
+            this.schemaId = schemaId;
+            this.serializer = serializer;
+        }
+
+        private int sizeOf(final Event event) {
+            return this.serializer.sizeOf(this.type.cast(event));
+        }
+
+        private void write(final Event event, final ByteBuffer target) {
+            this.serializer.write(this.type.cast(event), target);
+        }
+
+    }
+
+}
@@ -0,0 +1,36 @@
+package pm.lus.eve.codec;
+
+import pm.lus.eve.event.Event;
+
+/**
+ * Represents an event read together with the topic it belongs to
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class DecodedEvent {
+
+    private final String topic;
+    private final Event event;
+
+    public DecodedEvent(final String topic, final Event event) {
+        this.topic = topic;
+        this.event = event;
+    }
+
+    /**
+     * @return The raw topic the event belongs to
+     */
+    public String getTopic() {
+        return this.topic;
+    }
+
+    /**
+     * @return The event itself
+     */
+    public Event getEvent() {
+        return this.event;
+    }
+
+}
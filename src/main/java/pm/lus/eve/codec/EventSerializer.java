@@ -0,0 +1,42 @@
+package pm.lus.eve.codec;
+
+import pm.lus.eve.event.Event;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Represents the binary format of a single event type
+ * Implementations write into and read from buffers directly and have to be thread-safe
+ *
+ * @param <T> The type of the events to serialize
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public interface EventSerializer<T extends Event> {
+
+    /**
+     * Computes the exact amount of bytes {@link #write(Event, ByteBuffer)} writes for the given event
+     *
+     * @param event The event to serialize
+     * @return The size of the serialized event in bytes
+     */
+    int sizeOf(T event);
+
+    /**
+     * Writes an event into the given buffer, starting at its position
+     *
+     * @param event  The event to serialize
+     * @param target The buffer to write to; has at least {@link #sizeOf(Event)} bytes remaining
+     */
+    void write(T event, ByteBuffer target);
+
+    /**
+     * Reads an event from the given buffer, starting at its position
+     *
+     * @param source The buffer to read from
+     * @return The read event
+     */
+    T read(ByteBuffer source);
+
+}
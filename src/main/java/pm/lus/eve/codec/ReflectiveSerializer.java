@@ -0,0 +1,415 @@
+package pm.lus.eve.codec;
+
+import pm.lus.eve.event.Event;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Serializes events by writing their fields one after another
+ * All reflective lookups happen once when the serializer gets created; serializing itself only calls method handles
+ * Fields are ordered by their declaring class (superclasses first) and their name; static and transient fields are skipped
+ * Supported field types are primitives, their wrappers, strings, byte arrays and enums; reference types are prefixed with a null marker
+ *
+ * @param <T> The type of the events to serialize
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class ReflectiveSerializer<T extends Event> implements EventSerializer<T> {
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final FieldCodec[] fields;
+
+    private ReflectiveSerializer(final Class<T> type, final MethodHandle constructor, final FieldCodec[] fields) {
+        this.type = type;
+        this.constructor = constructor;
+        this.fields = fields;
+    }
+
+    /**
+     * Creates the serializer of the given event type
+     *
+     * @param type The event type; needs a constructor without any parameters
+     * @param <T>  The event type
+     * @return The created serializer
+     * @throws IllegalArgumentException If the type has no such constructor, a field of an unsupported type or is inaccessible
+     */
+    static <T extends Event> ReflectiveSerializer<T> create(final Class<T> type) {
+        try {
+            final Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+
+            final List<Class<?>> hierarchy = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                hierarchy.add(0, current);
+            }
+
+            final List<FieldCodec> fields = new ArrayList<>();
+            for (final Class<?> declaring : hierarchy) {
+                final Field[] declared = declaring.getDeclaredFields();
+                Arrays.sort(declared, Comparator.comparing(Field::getName));
+                for (final Field field : declared) {
+                    if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    fields.add(FieldCodec.create(field));
+                }
+            }
+
+            final MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+            return new ReflectiveSerializer<>(type, handle, fields.toArray(new FieldCodec[0]));
+        } catch (final NoSuchMethodException exception) {
+            throw new IllegalArgumentException("'" + type.getName() + "' needs a constructor without any parameters to be serialized reflectively", exception);
+        } catch (final IllegalAccessException | RuntimeException exception) {
+            throw new IllegalArgumentException("'" + type.getName() + "' cannot be serialized reflectively: " + exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public int sizeOf(final T event) {
+        try {
+            int size = 0;
+            for (final FieldCodec field : this.fields) {
+                size += field.sizeOf(event);
+            }
+            return size;
+        } catch (final Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    @Override
+    public void write(final T event, final ByteBuffer target) {
+        try {
+            for (final FieldCodec field : this.fields) {
+                field.write(event, target);
+            }
+        } catch (final Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    @Override
+    public T read(final ByteBuffer source) {
+        try {
+            final Object event = (Object) this.constructor.invokeExact();
+            for (final FieldCodec field : this.fields) {
+                field.read(event, source);
+            }
+            return this.type.cast(event);
+        } catch (final Throwable throwable) {
+            throw rethrow(throwable);
+        }
+    }
+
+    private static RuntimeException rethrow(final Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        return new IllegalStateException(throwable);
+    }
+
+    private enum Kind {
+        BOOLEAN, BYTE, SHORT, CHAR, INT, LONG, FLOAT, DOUBLE, BOXED, STRING, BYTES, ENUM
+    }
+
+    private static final class FieldCodec {
+
+        private final Kind kind;
+        // The kind of the primitive value of a wrapper type field
+        private final Kind boxedKind;
+        private final Class<?> type;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private FieldCodec(final Kind kind, final Kind boxedKind, final Class<?> type, final MethodHandle getter, final MethodHandle setter) {
+            this.kind = kind;
+            this.boxedKind = boxedKind;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private static FieldCodec create(final Field field) throws IllegalAccessException {
+            final Class<?> type = field.getType();
+            final Kind kind;
+            Kind boxedKind = null;
+            if (type.isPrimitive()) {
+                kind = primitiveKind(type);
+            } else if (primitiveKind(unbox(type)) != null && unbox(type) != type) {
+                kind = Kind.BOXED;
+                boxedKind = primitiveKind(unbox(type));
+            } else if (type == String.class) {
+                kind = Kind.STRING;
+            } else if (type == byte[].class) {
+                kind = Kind.BYTES;
+            } else if (type.isEnum()) {
+                kind = Kind.ENUM;
+            } else {
+                throw new IllegalArgumentException("field '" + field.getName() + "' has the unsupported type '" + type.getName() + "'");
+            }
+
+            // Primitive handles keep their type so that values do not get boxed
+            final Class<?> handleType = type.isPrimitive() ? type : Object.class;
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodHandle getter = lookup.unreflectGetter(field).asType(MethodType.methodType(handleType, Object.class));
+            final MethodHandle setter = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, handleType));
+            return new FieldCodec(kind, boxedKind, type, getter, setter);
+        }
+
+        private static Kind primitiveKind(final Class<?> type) {
+            if (type == boolean.class) {
+                return Kind.BOOLEAN;
+            } else if (type == byte.class) {
+                return Kind.BYTE;
+            } else if (type == short.class) {
+                return Kind.SHORT;
+            } else if (type == char.class) {
+                return Kind.CHAR;
+            } else if (type == int.class) {
+                return Kind.INT;
+            } else if (type == long.class) {
+                return Kind.LONG;
+            } else if (type == float.class) {
+                return Kind.FLOAT;
+            } else if (type == double.class) {
+                return Kind.DOUBLE;
+            }
+            return null;
+        }
+
+        private static Class<?> unbox(final Class<?> type) {
+            try {
+                final Class<?> primitive = (Class<?>) type.getField("TYPE").get(null);
+                return primitive != void.class ? primitive : type;
+            } catch (final ReflectiveOperationException | ClassCastException exception) {
+                return type;
+            }
+        }
+
+        private static int primitiveSize(final Kind kind) {
+            switch (kind) {
+                case BOOLEAN:
+                case BYTE:
+                    return 1;
+                case SHORT:
+                case CHAR:
+                    return 2;
+                case INT:
+                case FLOAT:
+                    return 4;
+                default:
+                    return 8;
+            }
+        }
+
+        private int sizeOf(final Object event) throws Throwable {
+            switch (this.kind) {
+                case BOXED: {
+                    final Object value = (Object) this.getter.invokeExact(event);
+                    return value == null ? 1 : 1 + primitiveSize(this.boxedKind);
+                }
+                case STRING: {
+                    final String value = (String) (Object) this.getter.invokeExact(event);
+                    return value == null ? 1 : 1 + 4 + Utf8.length(value);
+                }
+                case BYTES: {
+                    final byte[] value = (byte[]) (Object) this.getter.invokeExact(event);
+                    return value == null ? 1 : 1 + 4 + value.length;
+                }
+                case ENUM: {
+                    final Enum<?> value = (Enum<?>) (Object) this.getter.invokeExact(event);
+                    return value == null ? 1 : 1 + 4 + Utf8.length(value.name());
+                }
+                default:
+                    return primitiveSize(this.kind);
+            }
+        }
+
+        private void write(final Object event, final ByteBuffer target) throws Throwable {
+            switch (this.kind) {
+                case BOOLEAN:
+                    target.put((boolean) this.getter.invokeExact(event) ? (byte) 1 : (byte) 0);
+                    break;
+                case BYTE:
+                    target.put((byte) this.getter.invokeExact(event));
+                    break;
+                case SHORT:
+                    target.putShort((short) this.getter.invokeExact(event));
+                    break;
+                case CHAR:
+                    target.putChar((char) this.getter.invokeExact(event));
+                    break;
+                case INT:
+                    target.putInt((int) this.getter.invokeExact(event));
+                    break;
+                case LONG:
+                    target.putLong((long) this.getter.invokeExact(event));
+                    break;
+                case FLOAT:
+                    target.putFloat((float) this.getter.invokeExact(event));
+                    break;
+                case DOUBLE:
+                    target.putDouble((double) this.getter.invokeExact(event));
+                    break;
+                default:
+                    this.writeReference((Object) this.getter.invokeExact(event), target);
+                    break;
+            }
+        }
+
+        private void writeReference(final Object value, final ByteBuffer target) {
+            if (value == null) {
+                target.put((byte) 0);
+                return;
+            }
+            target.put((byte) 1);
+
+            switch (this.kind) {
+                case BOXED:
+                    writeBoxed(this.boxedKind, value, target);
+                    break;
+                case STRING:
+                    target.putInt(Utf8.length((String) value));
+                    Utf8.write((String) value, target);
+                    break;
+                case BYTES:
+                    target.putInt(((byte[]) value).length);
+                    target.put((byte[]) value);
+                    break;
+                case ENUM:
+                    final String name = ((Enum<?>) value).name();
+                    target.putInt(Utf8.length(name));
+                    Utf8.write(name, target);
+                    break;
+                default:
+                    throw new IllegalStateException("unexpected field kind " + this.kind);
+            }
+        }
+
+        private static void writeBoxed(final Kind kind, final Object value, final ByteBuffer target) {
+            switch (kind) {
+                case BOOLEAN:
+                    target.put((Boolean) value ? (byte) 1 : (byte) 0);
+                    break;
+                case BYTE:
+                    target.put((Byte) value);
+                    break;
+                case SHORT:
+                    target.putShort((Short) value);
+                    break;
+                case CHAR:
+                    target.putChar((Character) value);
+                    break;
+                case INT:
+                    target.putInt((Integer) value);
+                    break;
+                case LONG:
+                    target.putLong((Long) value);
+                    break;
+                case FLOAT:
+                    target.putFloat((Float) value);
+                    break;
+                default:
+                    target.putDouble((Double) value);
+                    break;
+            }
+        }
+
+        private void read(final Object event, final ByteBuffer source) throws Throwable {
+            switch (this.kind) {
+                case BOOLEAN:
+                    this.setter.invokeExact(event, source.get() != 0);
+                    break;
+                case BYTE:
+                    this.setter.invokeExact(event, source.get());
+                    break;
+                case SHORT:
+                    this.setter.invokeExact(event, source.getShort());
+                    break;
+                case CHAR:
+                    this.setter.invokeExact(event, source.getChar());
+                    break;
+                case INT:
+                    this.setter.invokeExact(event, source.getInt());
+                    break;
+                case LONG:
+                    this.setter.invokeExact(event, source.getLong());
+                    break;
+                case FLOAT:
+                    this.setter.invokeExact(event, source.getFloat());
+                    break;
+                case DOUBLE:
+                    this.setter.invokeExact(event, source.getDouble());
+                    break;
+                default:
+                    this.setter.invokeExact(event, this.readReference(source));
+                    break;
+            }
+        }
+
+        private Object readReference(final ByteBuffer source) {
+            if (source.get() == 0) {
+                return null;
+            }
+
+            switch (this.kind) {
+                case BOXED:
+                    return readBoxed(this.boxedKind, source);
+                case STRING:
+                    return Utf8.read(source, source.getInt());
+                case BYTES:
+                    final byte[] value = new byte[source.getInt()];
+                    source.get(value);
+                    return value;
+                case ENUM:
+                    return this.enumConstant(Utf8.read(source, source.getInt()));
+                default:
+                    throw new IllegalStateException("unexpected field kind " + this.kind);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object enumConstant(final String name) {
+            return Enum.valueOf((Class) this.type, name);
+        }
+
+        private static Object readBoxed(final Kind kind, final ByteBuffer source) {
+            switch (kind) {
+                case BOOLEAN:
+                    return source.get() != 0;
+                case BYTE:
+                    return source.get();
+                case SHORT:
+                    return source.getShort();
+                case CHAR:
+                    return source.getChar();
+                case INT:
+                    return source.getInt();
+                case LONG:
+                    return source.getLong();
+                case FLOAT:
+                    return source.getFloat();
+                default:
+                    return source.getDouble();
+            }
+        }
+
+    }
+
+}
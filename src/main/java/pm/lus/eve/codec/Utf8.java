@@ -0,0 +1,94 @@
+package pm.lus.eve.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Contains helpers writing and reading UTF-8 strings directly into and from buffers
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class Utf8 {
+
+    private Utf8() {
+    }
+
+    /**
+     * Computes the amount of bytes the UTF-8 representation of the given string takes
+     *
+     * @param value The string
+     * @return The UTF-8 length of the string
+     */
+    static int length(final String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+            if (character < 0x80) {
+                length++;
+            } else if (character < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(character) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                // Unpaired surrogates get replaced by '?' just like String#getBytes does
+                length += Character.isSurrogate(character) ? 1 : 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes the UTF-8 representation of the given string without creating an intermediate byte array
+     *
+     * @param value  The string
+     * @param target The buffer to write to
+     */
+    static void write(final String value, final ByteBuffer target) {
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+            if (character < 0x80) {
+                target.put((byte) character);
+            } else if (character < 0x800) {
+                target.put((byte) (0xC0 | (character >> 6)));
+                target.put((byte) (0x80 | (character & 0x3F)));
+            } else if (Character.isHighSurrogate(character) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(character, value.charAt(++i));
+                target.put((byte) (0xF0 | (codePoint >> 18)));
+                target.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                target.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(character)) {
+                target.put((byte) '?');
+            } else {
+                target.put((byte) (0xE0 | (character >> 12)));
+                target.put((byte) (0x80 | ((character >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (character & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * Reads a UTF-8 string of the given length
+     * Heap buffers get decoded in place; direct buffers get decoded without copying their bytes into an array first
+     *
+     * @param source The buffer to read from
+     * @param length The length of the string in bytes
+     * @return The read string
+     */
+    static String read(final ByteBuffer source, final int length) {
+        if (source.hasArray()) {
+            final String value = new String(source.array(), source.arrayOffset() + source.position(), length, StandardCharsets.UTF_8);
+            source.position(source.position() + length);
+            return value;
+        }
+
+        final ByteBuffer slice = source.slice();
+        slice.limit(length);
+        source.position(source.position() + length);
+        return StandardCharsets.UTF_8.decode(slice).toString();
+    }
+
+}
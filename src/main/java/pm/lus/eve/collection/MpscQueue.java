@@ -0,0 +1,75 @@
+package pm.lus.eve.collection;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Represents an unbounded, lock-free multi-producer single-consumer queue of linked nodes
+ * Any thread may offer elements, but only a single thread at a time is allowed to poll them
+ *
+ * @param <T> The type of the queued elements
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class MpscQueue<T> {
+
+    // Producers append by swapping the head; the consumer follows the links starting at the tail
+    private final AtomicReference<Node<T>> head;
+    private Node<T> tail;
+
+    public MpscQueue() {
+        final Node<T> stub = new Node<>(null);
+        this.head = new AtomicReference<>(stub);
+        this.tail = stub;
+    }
+
+    /**
+     * Appends an element to the queue; may be called by any thread
+     *
+     * @param element The element to append
+     */
+    public void offer(final T element) {
+        final Node<T> node = new Node<>(element);
+        final Node<T> previous = this.head.getAndSet(node);
+        previous.next = node;
+    }
+
+    /**
+     * Removes the oldest element from the queue; may only be called by the consumer thread
+     * An element whose producer is still linking it may not be visible yet
+     *
+     * @return The oldest element or null if the queue is empty
+     */
+    public T poll() {
+        final Node<T> next = this.tail.next;
+        if (next == null) {
+            return null;
+        }
+
+        final T element = next.element;
+        next.element = null;
+        this.tail = next;
+        return element;
+    }
+
+    /**
+     * Checks whether or not the queue is empty; may only be called by the consumer thread
+     *
+     * @return Whether or not the queue is empty
+     */
+    public boolean isEmpty() {
+        return this.tail.next == null && this.head.get() == this.tail;
+    }
+
+    private static final class Node<T> {
+
+        private volatile Node<T> next;
+        private T element;
+
+        private Node(final T element) {
+            this.element = element;
+        }
+
+    }
+
+}
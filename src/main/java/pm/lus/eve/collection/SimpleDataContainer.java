@@ -1,10 +1,15 @@
 package pm.lus.eve.collection;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Acts as a wrapper around a (concurrent) HashSet which implements the builder pattern
+ * Acts as a copy-on-write set of entities which implements the builder pattern
+ * Every modification swaps an immutable {@link Snapshot} of all entities, so reading them never locks; modifications are expected to be rare
  *
  * @param <T> The type of the entities to hold
  * @author Lukas Schulte Pelkum
@@ -13,10 +18,10 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class SimpleDataContainer<T> {
 
-    private final Set<T> entities;
+    private volatile Snapshot<T> snapshot;
 
     public SimpleDataContainer() {
-        this.entities = ConcurrentHashMap.newKeySet();
+        this.snapshot = Snapshot.empty();
     }
 
     /**
@@ -26,7 +31,29 @@ public class SimpleDataContainer<T> {
      * @return The new data container state
      */
     public SimpleDataContainer<T> add(final T entity) {
-        this.entities.add(entity);
+        return this.addAll(Collections.singleton(entity));
+    }
+
+    /**
+     * Adds multiple entities to the internal set, taking a new snapshot only once
+     *
+     * @param entities The entities to add
+     * @return The new data container state
+     */
+    public synchronized SimpleDataContainer<T> addAll(final Collection<? extends T> entities) {
+        final Snapshot<T> current = this.snapshot;
+        // Skips entities which are already present as well as duplicates inside of the given ones, matched using equals like Snapshot#indexOf
+        final Set<Object> present = new HashSet<>(current.asList());
+        final Object[] added = entities.stream()
+                .filter(present::add)
+                .toArray();
+        if (added.length == 0) {
+            return this;
+        }
+
+        final Object[] next = Arrays.copyOf(current.array(), current.size() + added.length);
+        System.arraycopy(added, 0, next, current.size(), added.length);
+        this.snapshot = new Snapshot<>(current.getVersion() + 1, next);
         return this;
     }
 
@@ -36,16 +63,49 @@ public class SimpleDataContainer<T> {
      * @param entity The entity to remove
      * @return The new data container state
      */
-    public SimpleDataContainer<T> remove(final T entity) {
-        this.entities.remove(entity);
+    public synchronized SimpleDataContainer<T> remove(final T entity) {
+        final Snapshot<T> current = this.snapshot;
+        final int index = current.indexOf(entity);
+        if (index < 0) {
+            return this;
+        }
+
+        final Object[] next = new Object[current.size() - 1];
+        System.arraycopy(current.array(), 0, next, 0, index);
+        System.arraycopy(current.array(), index + 1, next, index, next.length - index);
+        this.snapshot = new Snapshot<>(current.getVersion() + 1, next);
         return this;
     }
 
     /**
-     * @return The modifiable internal set
+     * Returns the current snapshot of all entities together with the modification version it belongs to
+     * This is the cheapest way to iterate the entities and the only way to read them and their version consistently
+     *
+     * @return The current snapshot
+     */
+    public Snapshot<T> snapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Returns the registered entities
+     * Until 0.1.0 this returned the modifiable internal set; the container now has to be modified using {@link #add(Object)},
+     * {@link #addAll(Collection)} and {@link #remove(Object)} so that every modification bumps its version and swaps its snapshot
+     *
+     * @return An unmodifiable copy of the internal set; does not reflect later modifications
      */
     public Set<T> getEntities() {
-        return this.entities;
+        return Collections.unmodifiableSet(new LinkedHashSet<>(this.snapshot.asList()));
+    }
+
+    /**
+     * Returns a counter which gets incremented after every modification of the internal set
+     * This allows consumers to cache data derived from the entities and to detect when it became stale
+     *
+     * @return The current modification version
+     */
+    public long getVersion() {
+        return this.snapshot.getVersion();
     }
 
 }
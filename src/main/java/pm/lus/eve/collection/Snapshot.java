@@ -0,0 +1,109 @@
+package pm.lus.eve.collection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents an immutable, array-backed snapshot of the entities of a data container at a specific modification version
+ * Snapshots are swapped as a whole on every modification, so readers can loop over them without any locking or hash lookups
+ *
+ * @param <T> The type of the entities
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public final class Snapshot<T> implements Iterable<T> {
+
+    private static final Snapshot<?> EMPTY = new Snapshot<>(0, new Object[0]);
+
+    private final long version;
+    private final Object[] entities;
+
+    Snapshot(final long version, final Object[] entities) {
+        this.version = version;
+        this.entities = entities;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Snapshot<T> empty() {
+        return (Snapshot<T>) EMPTY;
+    }
+
+    /**
+     * @return The modification version of the container this snapshot was taken at
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * @return The amount of entities
+     */
+    public int size() {
+        return this.entities.length;
+    }
+
+    /**
+     * @return Whether or not the snapshot does not contain any entity
+     */
+    public boolean isEmpty() {
+        return this.entities.length == 0;
+    }
+
+    /**
+     * @param index The index of the entity, in registration order
+     * @return The entity at the given index
+     */
+    @SuppressWarnings("unchecked")
+    public T get(final int index) {
+        return (T) this.entities[index];
+    }
+
+    /**
+     * @return An unmodifiable list view of the entities in registration order
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> asList() {
+        return Collections.unmodifiableList((List<T>) Arrays.asList(this.entities));
+    }
+
+    int indexOf(final Object entity) {
+        for (int i = 0; i < this.entities.length; i++) {
+            if (this.entities[i].equals(entity)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    Object[] array() {
+        return this.entities;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < Snapshot.this.entities.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (this.index >= Snapshot.this.entities.length) {
+                    throw new NoSuchElementException();
+                }
+                return (T) Snapshot.this.entities[this.index++];
+            }
+
+        };
+    }
+
+}
@@ -1,11 +1,14 @@
 package pm.lus.eve.collection;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
  * Acts as a map-like data structure which transforms its values based on the key using a transformer
+ * Every modification swaps an immutable {@link Snapshot} of all values, so reading them never locks; modifications are expected to be rare
  * Additionally it implements the builder pattern to allow a more fluent code flow
  *
  * @param <T> The type of the key
@@ -16,12 +19,13 @@ import java.util.function.Function;
  */
 public class TransformingDataContainer<T, R> {
 
-    private final Map<T, R> entities;
     private final Function<T, R> transformer;
+    // Swapped as a whole so that the map and the snapshot of its values always belong together
+    private volatile State<T, R> state;
 
     public TransformingDataContainer(final Function<T, R> transformer) {
-        this.entities = new ConcurrentHashMap<>();
         this.transformer = transformer;
+        this.state = new State<>(Collections.emptyMap(), Snapshot.empty());
     }
 
     /**
@@ -31,7 +35,32 @@ public class TransformingDataContainer<T, R> {
      * @return The new data container state
      */
     public TransformingDataContainer<T, R> add(final T entity) {
-        this.entities.put(entity, this.transformer.apply(entity));
+        return this.addAll(Collections.singleton(entity));
+    }
+
+    /**
+     * Transforms multiple entities and adds them to the internal map, taking a new snapshot only once
+     * Entities which were added before get transformed again and replace their old values
+     *
+     * @param entities The entities to use as the keys
+     * @return The new data container state
+     */
+    public TransformingDataContainer<T, R> addAll(final Collection<? extends T> entities) {
+        if (entities.isEmpty()) {
+            return this;
+        }
+
+        // Transforming may be expensive, so it is done before locking
+        final Map<T, R> transformed = new LinkedHashMap<>();
+        for (final T entity : entities) {
+            transformed.put(entity, this.transformer.apply(entity));
+        }
+
+        synchronized (this) {
+            final Map<T, R> next = new LinkedHashMap<>(this.state.entities);
+            next.putAll(transformed);
+            this.swap(next);
+        }
         return this;
     }
 
@@ -41,16 +70,63 @@ public class TransformingDataContainer<T, R> {
      * @param entity The entity to use as the key
      * @return The new data container state
      */
-    public TransformingDataContainer<T, R> remove(final T entity) {
-        this.entities.remove(entity);
+    public synchronized TransformingDataContainer<T, R> remove(final T entity) {
+        if (!this.state.entities.containsKey(entity)) {
+            return this;
+        }
+
+        final Map<T, R> next = new LinkedHashMap<>(this.state.entities);
+        next.remove(entity);
+        this.swap(next);
         return this;
     }
 
+    private void swap(final Map<T, R> entities) {
+        final Snapshot<R> values = new Snapshot<>(this.state.values.getVersion() + 1, entities.values().toArray());
+        this.state = new State<>(Collections.unmodifiableMap(entities), values);
+    }
+
     /**
-     * @return The modifiable internal map
+     * Returns the current snapshot of all transformed values together with the modification version it belongs to
+     * This is the cheapest way to iterate the values and the only way to read them and their version consistently
+     *
+     * @return The current snapshot
+     */
+    public Snapshot<R> snapshot() {
+        return this.state.values;
+    }
+
+    /**
+     * Returns the registered entities mapped to their transformed values
+     * Until 0.1.0 this returned the modifiable internal map; the container now has to be modified using {@link #add(Object)},
+     * {@link #addAll(Collection)} and {@link #remove(Object)} so that every modification bumps its version and swaps its snapshot
+     *
+     * @return An unmodifiable copy of the internal map; does not reflect later modifications
      */
     public Map<T, R> getEntities() {
-        return this.entities;
+        return this.state.entities;
+    }
+
+    /**
+     * Returns a counter which gets incremented after every modification of the internal map
+     * This allows consumers to cache data derived from the entities and to detect when it became stale
+     *
+     * @return The current modification version
+     */
+    public long getVersion() {
+        return this.state.values.getVersion();
+    }
+
+    private static final class State<T, R> {
+
+        private final Map<T, R> entities;
+        private final Snapshot<R> values;
+
+        private State(final Map<T, R> entities, final Snapshot<R> values) {
+            this.entities = entities;
+            this.values = values;
+        }
+
     }
 
 }
@@ -0,0 +1,84 @@
+package pm.lus.eve.error;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a bounded queue keeping the deliveries that finally failed so that they can be inspected or redelivered later
+ * Whenever the queue is full, the oldest failure gets dropped in favor of the new one
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class DeadLetterQueue implements ErrorHandler {
+
+    private final int capacity;
+    private final ArrayDeque<FailedDelivery> failures;
+    private final LongAdder dropped;
+
+    public DeadLetterQueue(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("the dead letter queue capacity has to be positive");
+        }
+        this.capacity = capacity;
+        this.failures = new ArrayDeque<>();
+        this.dropped = new LongAdder();
+    }
+
+    @Override
+    public void handle(final FailedDelivery failure) {
+        synchronized (this.failures) {
+            if (this.failures.size() == this.capacity) {
+                this.failures.pollFirst();
+                this.dropped.increment();
+            }
+            this.failures.addLast(failure);
+        }
+    }
+
+    /**
+     * @return The oldest failure or null if the queue is empty
+     */
+    public FailedDelivery poll() {
+        synchronized (this.failures) {
+            return this.failures.pollFirst();
+        }
+    }
+
+    /**
+     * Removes all failures from the queue
+     *
+     * @return The removed failures, oldest first
+     */
+    public List<FailedDelivery> drain() {
+        synchronized (this.failures) {
+            final List<FailedDelivery> drained = new ArrayList<>(this.failures);
+            this.failures.clear();
+            return drained;
+        }
+    }
+
+    /**
+     * @return The amount of failures currently in the queue
+     */
+    public int size() {
+        synchronized (this.failures) {
+            return this.failures.size();
+        }
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return The amount of failures that got dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+}
@@ -0,0 +1,28 @@
+package pm.lus.eve.error;
+
+/**
+ * Represents the SPI every failed delivery of an event to a listener method or bridge gets passed to
+ * Handlers get called on the thread the delivery failed on, so they have to be thread-safe and should return quickly
+ * See {@link ErrorPipeline} for the built-in implementation logging, retrying and dead-lettering failures
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface ErrorHandler {
+
+    /**
+     * Gets called whenever a listener method or bridge threw while handling an event
+     *
+     * @param failure The failed delivery
+     */
+    void handle(FailedDelivery failure);
+
+    /**
+     * Gets called once the bus this handler belongs to gets closed
+     */
+    default void close() {
+    }
+
+}
@@ -0,0 +1,211 @@
+package pm.lus.eve.error;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the default {@link ErrorHandler} of a bus, passing failed deliveries through up to three stages:
+ * <ol>
+ *     <li>Retrying them with backoff on a dedicated scheduler thread, so retries never occupy dispatching threads</li>
+ *     <li>Logging the ones that finally failed using a {@link RateLimitedErrorLogger}</li>
+ *     <li>Passing the ones that finally failed to further handlers, e.g. a {@link DeadLetterQueue}</li>
+ * </ol>
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class ErrorPipeline implements ErrorHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ErrorPipeline.class);
+    private static final AtomicInteger SCHEDULER_COUNTER = new AtomicInteger();
+
+    // Null if failures do not get retried
+    private final RetryPolicy retryPolicy;
+    private final ScheduledThreadPoolExecutor retryScheduler;
+    private final Set<FailedDelivery> pendingRetries;
+    // Null if failures do not get logged
+    private final RateLimitedErrorLogger logger;
+    private final List<ErrorHandler> handlers;
+    private final LongAdder retried;
+
+    private ErrorPipeline(final Builder builder) {
+        this.retryPolicy = builder.retryPolicy;
+        this.retryScheduler = builder.retryPolicy != null ? createScheduler() : null;
+        this.pendingRetries = ConcurrentHashMap.newKeySet();
+        this.logger = builder.logger;
+        this.handlers = new ArrayList<>(builder.handlers);
+        this.retried = new LongAdder();
+    }
+
+    /**
+     * @return A new builder to configure an error pipeline with; logs failures using the default {@link RateLimitedErrorLogger} unless configured otherwise
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        final String name = "eve-retry-" + SCHEDULER_COUNTER.incrementAndGet();
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return scheduler;
+    }
+
+    @Override
+    public void handle(final FailedDelivery failure) {
+        if (this.retryPolicy != null && this.retryPolicy.shouldRetry(failure)) {
+            this.pendingRetries.add(failure);
+            try {
+                this.retryScheduler.schedule(() -> this.retry(failure), this.retryPolicy.backoffMillis(failure.getAttempt()), TimeUnit.MILLISECONDS);
+                return;
+            } catch (final RejectedExecutionException exception) {
+                // The pipeline has been closed; the failure is final
+                this.pendingRetries.remove(failure);
+            }
+        }
+        this.fail(failure);
+    }
+
+    private void retry(final FailedDelivery failure) {
+        if (!this.pendingRetries.remove(failure)) {
+            return;
+        }
+
+        this.retried.increment();
+        // Redelivering may queue the event behind others, e.g. inside of a mailbox, so the retry thread does not wait for it
+        failure.redeliverAsync().whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                this.handle(failure.next(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable));
+            }
+        });
+    }
+
+    private void fail(final FailedDelivery failure) {
+        if (this.logger != null) {
+            this.logger.handle(failure);
+        }
+        for (final ErrorHandler handler : this.handlers) {
+            try {
+                handler.handle(failure);
+            } catch (final Throwable throwable) {
+                LOGGER.error("error handler '{}' failed", handler.getClass().getName(), throwable);
+            }
+        }
+    }
+
+    /**
+     * @return The amount of redeliveries attempted so far
+     */
+    public long getRetriedCount() {
+        return this.retried.sum();
+    }
+
+    /**
+     * @return The amount of failures currently waiting to be retried
+     */
+    public int getPendingRetryCount() {
+        return this.pendingRetries.size();
+    }
+
+    /**
+     * Stops retrying; failures that were still waiting to be retried are treated as final, so they are logged and dead-lettered
+     */
+    @Override
+    public void close() {
+        if (this.retryScheduler == null) {
+            return;
+        }
+
+        this.retryScheduler.shutdownNow();
+        for (final FailedDelivery failure : this.pendingRetries) {
+            if (this.pendingRetries.remove(failure)) {
+                this.fail(failure);
+            }
+        }
+    }
+
+    /**
+     * Configures and builds error pipelines
+     *
+     * @author Lukas Schulte Pelkum
+     * @version 0.1.0
+     * @since 0.1.0
+     */
+    public static class Builder {
+
+        private final List<ErrorHandler> handlers = new ArrayList<>();
+        private RetryPolicy retryPolicy;
+        private RateLimitedErrorLogger logger = new RateLimitedErrorLogger();
+
+        private Builder() {
+        }
+
+        /**
+         * Makes the pipeline retry failed deliveries before treating them as final
+         *
+         * @param retryPolicy The policy deciding how often and when to retry
+         * @return The new builder state
+         */
+        public Builder retry(final RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the logger final failures get logged using
+         *
+         * @param logger The logger to use; null disables logging
+         * @return The new builder state
+         */
+        public Builder logger(final RateLimitedErrorLogger logger) {
+            this.logger = logger;
+            return this;
+        }
+
+        /**
+         * Makes the pipeline keep final failures in the given dead letter queue
+         *
+         * @param deadLetters The dead letter queue to use
+         * @return The new builder state
+         */
+        public Builder deadLetters(final DeadLetterQueue deadLetters) {
+            return this.handler(deadLetters);
+        }
+
+        /**
+         * Adds a handler final failures get passed to after logging them
+         *
+         * @param handler The handler to add
+         * @return The new builder state
+         */
+        public Builder handler(final ErrorHandler handler) {
+            this.handlers.add(handler);
+            return this;
+        }
+
+        /**
+         * @return The built error pipeline
+         */
+        public ErrorPipeline build() {
+            return new ErrorPipeline(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,231 @@
+package pm.lus.eve.error;
+
+import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Represents a single failed delivery of an event to either a listener method or a bridge
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public final class FailedDelivery {
+
+    private final EventContext context;
+    private final Event event;
+    // Exactly one of both is set
+    private final ListenerMethodDefinition methodDefinition;
+    private final EventBridge<?> bridge;
+    // Null if the receiver gets called directly on redelivery
+    private final Redelivery redelivery;
+    private final Throwable cause;
+    private final int attempt;
+    private final long failedAt;
+
+    private FailedDelivery(
+            final EventContext context,
+            final Event event,
+            final ListenerMethodDefinition methodDefinition,
+            final EventBridge<?> bridge,
+            final Redelivery redelivery,
+            final Throwable cause,
+            final int attempt
+    ) {
+        this.context = context;
+        this.event = event;
+        this.methodDefinition = methodDefinition;
+        this.bridge = bridge;
+        this.redelivery = redelivery;
+        this.cause = cause;
+        this.attempt = attempt;
+        this.failedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * @param methodDefinition The listener method that failed
+     * @param context          The context of the event
+     * @param event            The event itself
+     * @param cause            The throwable the method threw
+     * @return The failed delivery to the listener method
+     */
+    public static FailedDelivery ofListener(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event, final Throwable cause) {
+        return ofListener(methodDefinition, context, event, cause, null);
+    }
+
+    /**
+     * @param methodDefinition The listener method that failed
+     * @param context          The context of the event
+     * @param event            The event itself
+     * @param cause            The throwable the method threw
+     * @param redelivery       Delivers the event to the method again or null to invoke the method directly
+     * @return The failed delivery to the listener method
+     */
+    public static FailedDelivery ofListener(
+            final ListenerMethodDefinition methodDefinition,
+            final EventContext context,
+            final Event event,
+            final Throwable cause,
+            final Redelivery redelivery
+    ) {
+        return new FailedDelivery(context, event, methodDefinition, null, redelivery, cause, 1);
+    }
+
+    /**
+     * @param bridge  The bridge that failed
+     * @param context The context of the event
+     * @param event   The event itself
+     * @param cause   The throwable the bridge threw
+     * @return The failed delivery to the bridge
+     */
+    public static FailedDelivery ofBridge(final EventBridge<?> bridge, final EventContext context, final Event event, final Throwable cause) {
+        return ofBridge(bridge, context, event, cause, null);
+    }
+
+    /**
+     * @param bridge     The bridge that failed
+     * @param context    The context of the event
+     * @param event      The event itself
+     * @param cause      The throwable the bridge threw
+     * @param redelivery Delivers the event to the bridge again or null to call the bridge directly
+     * @return The failed delivery to the bridge
+     */
+    public static FailedDelivery ofBridge(
+            final EventBridge<?> bridge,
+            final EventContext context,
+            final Event event,
+            final Throwable cause,
+            final Redelivery redelivery
+    ) {
+        return new FailedDelivery(context, event, null, bridge, redelivery, cause, 1);
+    }
+
+    /**
+     * Delivers the event to the same receiver again and waits for the delivery
+     *
+     * @throws Throwable Anything the receiver throws
+     * @see #redeliverAsync()
+     */
+    public void redeliver() throws Throwable {
+        try {
+            this.redeliverAsync().join();
+        } catch (final CompletionException exception) {
+            throw exception.getCause() != null ? exception.getCause() : exception;
+        }
+    }
+
+    /**
+     * Delivers the event to the same receiver again
+     * Failures reported by the event bus get redelivered the way they were delivered in the first place,
+     * i.e. through the mailbox or partition of the listener, guarded by the watchdog and reported to the instrumentation;
+     * all others call the receiver directly
+     *
+     * @return A future completing once the event got redelivered; completes exceptionally with anything the receiver throws
+     */
+    public CompletableFuture<Void> redeliverAsync() {
+        if (this.redelivery != null) {
+            return this.redelivery.redeliver();
+        }
+
+        try {
+            if (this.methodDefinition != null) {
+                this.methodDefinition.getInvoker().invoke(this.context, this.event);
+            } else {
+                this.bridge.call(this.context, this.event);
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (final Throwable throwable) {
+            return CompletableFuture.failedFuture(throwable);
+        }
+    }
+
+    /**
+     * @param cause The throwable the receiver threw this time
+     * @return The failure of the next delivery attempt
+     */
+    FailedDelivery next(final Throwable cause) {
+        return new FailedDelivery(this.context, this.event, this.methodDefinition, this.bridge, this.redelivery, cause, this.attempt + 1);
+    }
+
+    public EventContext getContext() {
+        return this.context;
+    }
+
+    /**
+     * @return The raw topic the event was emitted to
+     */
+    public String getTopic() {
+        return this.context.getTopic();
+    }
+
+    public Event getEvent() {
+        return this.event;
+    }
+
+    /**
+     * @return The name identifying the receiver; the name of the listener method ('&lt;class name&gt;#&lt;method name&gt;') or the class name of the bridge
+     */
+    public String getReceiver() {
+        return this.methodDefinition != null ? this.methodDefinition.getName() : this.bridge.getClass().getName();
+    }
+
+    /**
+     * @return The listener method that failed or null if a bridge failed
+     */
+    public ListenerMethodDefinition getListenerMethod() {
+        return this.methodDefinition;
+    }
+
+    /**
+     * @return The bridge that failed or null if a listener method failed
+     */
+    public EventBridge<?> getBridge() {
+        return this.bridge;
+    }
+
+    public Throwable getCause() {
+        return this.cause;
+    }
+
+    /**
+     * @return The number of the delivery attempt that failed, starting at 1
+     */
+    public int getAttempt() {
+        return this.attempt;
+    }
+
+    /**
+     * @return The time the delivery failed at in milliseconds since the epoch
+     */
+    public long getFailedAt() {
+        return this.failedAt;
+    }
+
+    @Override
+    public String toString() {
+        return this.getReceiver() + " failed to handle " + this.event.getClass().getName() + " on topic '" + this.getTopic() + "' (attempt " + this.attempt + ")";
+    }
+
+    /**
+     * Delivers the event of a failed delivery to its receiver again
+     *
+     * @author Lukas Schulte Pelkum
+     * @version 0.1.0
+     * @since 0.1.0
+     */
+    @FunctionalInterface
+    public interface Redelivery {
+
+        /**
+         * @return A future completing once the event got redelivered; completes exceptionally with anything the receiver throws
+         */
+        CompletableFuture<Void> redeliver();
+
+    }
+
+}
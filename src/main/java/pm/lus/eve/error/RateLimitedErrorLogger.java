@@ -0,0 +1,119 @@
+package pm.lus.eve.error;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logs failed deliveries using SLF4J, aggregating repeated failures instead of logging every single one
+ * Within every window, only the first few failures per receiver and throwable type get logged; the amount of suppressed ones
+ * gets logged together with the first failure of the next window, so an error storm costs a counter increment per failure
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class RateLimitedErrorLogger implements ErrorHandler {
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(10);
+    public static final int DEFAULT_MAX_LOGGED_PER_WINDOW = 3;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitedErrorLogger.class);
+
+    private final long windowNanos;
+    private final int maxLoggedPerWindow;
+    private final Map<Key, Window> windows;
+
+    public RateLimitedErrorLogger(final Duration window, final int maxLoggedPerWindow) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("the logging window has to be positive");
+        }
+        if (maxLoggedPerWindow <= 0) {
+            throw new IllegalArgumentException("at least one failure per window has to be logged");
+        }
+        this.windowNanos = window.toNanos();
+        this.maxLoggedPerWindow = maxLoggedPerWindow;
+        this.windows = new ConcurrentHashMap<>();
+    }
+
+    public RateLimitedErrorLogger() {
+        this(DEFAULT_WINDOW, DEFAULT_MAX_LOGGED_PER_WINDOW);
+    }
+
+    @Override
+    public void handle(final FailedDelivery failure) {
+        final Key key = new Key(failure.getReceiver(), failure.getCause().getClass());
+        final Window window = this.windows.computeIfAbsent(key, ignored -> new Window());
+
+        final long now = System.nanoTime();
+        final boolean log;
+        final long suppressed;
+        synchronized (window) {
+            if (now - window.start >= this.windowNanos) {
+                suppressed = window.suppressed;
+                window.start = now;
+                window.logged = 0;
+                window.suppressed = 0;
+            } else {
+                suppressed = 0;
+            }
+
+            log = window.logged < this.maxLoggedPerWindow;
+            if (log) {
+                window.logged++;
+            } else {
+                window.suppressed++;
+            }
+        }
+
+        if (suppressed > 0) {
+            LOGGER.warn("suppressed {} further failures of '{}' ({}) during the last window", suppressed, key.receiver, key.type.getName());
+        }
+        if (log) {
+            LOGGER.error("{}", failure, failure.getCause());
+        }
+    }
+
+    private static final class Key {
+
+        private final String receiver;
+        private final Class<?> type;
+
+        private Key(final String receiver, final Class<?> type) {
+            this.receiver = receiver;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) object;
+            return this.receiver.equals(key.receiver) && this.type == key.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.receiver, this.type);
+        }
+
+    }
+
+    private static final class Window {
+
+        // Starting in the past so that the first failure opens a new window
+        private long start = System.nanoTime() - Long.MAX_VALUE / 2;
+        private int logged;
+        private long suppressed;
+
+    }
+
+}
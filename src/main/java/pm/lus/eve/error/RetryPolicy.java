@@ -0,0 +1,80 @@
+package pm.lus.eve.error;
+
+import java.time.Duration;
+
+/**
+ * Represents how often and with which exponential backoff failed deliveries get retried
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public final class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final double multiplier;
+    private final long maxBackoffMillis;
+
+    private RetryPolicy(final int maxAttempts, final long initialBackoffMillis, final double multiplier, final long maxBackoffMillis) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.multiplier = multiplier;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * @param maxAttempts    The maximum amount of delivery attempts, the first one included
+     * @param initialBackoff The time to wait before the first retry
+     * @param multiplier     The factor the backoff gets multiplied with after every retry
+     * @param maxBackoff     The maximum time to wait before a retry
+     * @return The created retry policy
+     * @throws IllegalArgumentException If any of the values is out of range
+     */
+    public static RetryPolicy exponential(final int maxAttempts, final Duration initialBackoff, final double multiplier, final Duration maxBackoff) {
+        if (maxAttempts < 2) {
+            throw new IllegalArgumentException("a retry policy has to allow at least 2 attempts");
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("the backoff has to be positive and must not exceed the maximum backoff");
+        }
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("the backoff multiplier must not be lower than 1");
+        }
+        return new RetryPolicy(maxAttempts, initialBackoff.toMillis(), multiplier, maxBackoff.toMillis());
+    }
+
+    /**
+     * Doubles the backoff after every retry, up to 100 times the initial backoff
+     *
+     * @param maxAttempts    The maximum amount of delivery attempts, the first one included
+     * @param initialBackoff The time to wait before the first retry
+     * @return The created retry policy
+     * @see #exponential(int, Duration, double, Duration)
+     */
+    public static RetryPolicy exponential(final int maxAttempts, final Duration initialBackoff) {
+        return exponential(maxAttempts, initialBackoff, 2, initialBackoff.multipliedBy(100));
+    }
+
+    /**
+     * @param failure The failed delivery
+     * @return Whether or not the delivery may be attempted again
+     */
+    public boolean shouldRetry(final FailedDelivery failure) {
+        return failure.getAttempt() < this.maxAttempts;
+    }
+
+    /**
+     * @param attempt The number of the attempt that failed, starting at 1
+     * @return The time to wait before the next attempt in milliseconds
+     */
+    public long backoffMillis(final int attempt) {
+        final double backoff = this.initialBackoffMillis * Math.pow(this.multiplier, attempt - 1);
+        return (long) Math.min(backoff, this.maxBackoffMillis);
+    }
+
+    public int getMaxAttempts() {
+        return this.maxAttempts;
+    }
+
+}
@@ -0,0 +1,20 @@
+package pm.lus.eve.event;
+
+/**
+ * Represents an event belonging to a specific partition, e.g. all events concerning a single user
+ * If the bus uses partitioned dispatch, all events sharing the same partition key are delivered one after another in emit order
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public interface Partitioned extends Event {
+
+    /**
+     * The key has to implement {@link Object#hashCode()} consistently with {@link Object#equals(Object)}
+     *
+     * @return The key of the partition this event belongs to
+     */
+    Object getPartitionKey();
+
+}
@@ -1,6 +1,9 @@
 package pm.lus.eve.event.context;
 
 import pm.lus.eve.bus.EventBus;
+import pm.lus.eve.event.Event;
+
+import java.time.Duration;
 
 /**
  * Represents a context passed to every event listener
@@ -13,10 +16,24 @@ public class EventContext {
 
     private final EventBus bus;
     private final String topic;
+    // Null if the event was emitted on the local node
+    private final String origin;
+    // Zero if the event is no request
+    private final long correlationId;
 
-    public EventContext(final EventBus bus, final String topic) {
+    public EventContext(final EventBus bus, final String topic, final String origin, final long correlationId) {
         this.bus = bus;
         this.topic = topic;
+        this.origin = origin;
+        this.correlationId = correlationId;
+    }
+
+    public EventContext(final EventBus bus, final String topic, final String origin) {
+        this(bus, topic, origin, 0);
+    }
+
+    public EventContext(final EventBus bus, final String topic) {
+        this(bus, topic, null);
     }
 
     /**
@@ -33,4 +50,42 @@ public class EventContext {
         return this.topic;
     }
 
+    /**
+     * Bridges forwarding events to other nodes use this to avoid sending events back and forth
+     *
+     * @return The identifier of the node the corresponding event was originally emitted on or null if it was emitted locally
+     */
+    public String getOrigin() {
+        return this.origin;
+    }
+
+    /**
+     * @return Whether or not the corresponding event was emitted using {@link EventBus#request(String, Event, Class, Duration)} and awaits a reply
+     */
+    public boolean isRequest() {
+        return this.correlationId != 0;
+    }
+
+    /**
+     * @return The identifier correlating replies with the corresponding request or 0 if the event is no request
+     */
+    public long getCorrelationId() {
+        return this.correlationId;
+    }
+
+    /**
+     * Replies to the corresponding request; the reply is passed straight to the requester without being emitted to any topic
+     * Only the first reply to a request is taken into account
+     *
+     * @param reply The reply
+     * @return Whether or not the requester was still waiting for a reply
+     * @throws IllegalStateException If the corresponding event is no request
+     */
+    public boolean reply(final Event reply) {
+        if (this.correlationId == 0) {
+            throw new IllegalStateException("the event on topic '" + this.topic + "' is no request");
+        }
+        return this.bus.reply(this.correlationId, reply);
+    }
+
 }
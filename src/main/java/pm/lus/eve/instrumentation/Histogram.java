@@ -0,0 +1,134 @@
+package pm.lus.eve.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a lock-free histogram of non-negative values using a fixed set of power-of-two buckets
+ * Bucket i counts the values in (2^(i-1), 2^i], so percentiles are accurate up to a factor of two
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class Histogram {
+
+    // The last bucket collects every value above 2^(BUCKETS - 2), which is about 275 seconds for nanoseconds
+    public static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    public Histogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Computes the bucket a value gets counted in
+     *
+     * @param value The value
+     * @return The index of the bucket
+     */
+    public static int bucketOf(final long value) {
+        if (value <= 1) {
+            return 0;
+        }
+        return Math.min(64 - Long.numberOfLeadingZeros(value - 1), BUCKETS - 1);
+    }
+
+    /**
+     * @param bucket The index of the bucket
+     * @return The largest value counted in the given bucket; {@link Long#MAX_VALUE} for the last one
+     */
+    public static long upperBoundOf(final int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    /**
+     * Records a single value; negative values are recorded as 0
+     *
+     * @param value The value to record
+     */
+    public void record(final long value) {
+        final long recorded = Math.max(value, 0);
+        this.buckets.incrementAndGet(bucketOf(recorded));
+        this.sum.add(recorded);
+        this.max.accumulate(recorded);
+    }
+
+    /**
+     * @return The amount of recorded values
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += this.buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return The sum of all recorded values
+     */
+    public long getSum() {
+        return this.sum.sum();
+    }
+
+    /**
+     * @return The largest recorded value
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * @return The mean of all recorded values or 0 if nothing has been recorded yet
+     */
+    public double getMean() {
+        final long count = this.getCount();
+        return count == 0 ? 0 : (double) this.getSum() / count;
+    }
+
+    /**
+     * Estimates a percentile using the upper bound of the bucket it falls into; never larger than the recorded maximum
+     *
+     * @param percentile The percentile to estimate, between 0 and 100
+     * @return The estimated percentile or 0 if nothing has been recorded yet
+     */
+    public long getPercentile(final double percentile) {
+        final long[] counts = this.getBucketCounts();
+        long count = 0;
+        for (final long bucketCount : counts) {
+            count += bucketCount;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(count * (percentile / 100)));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+
+    /**
+     * @return A snapshot of the amount of values counted in every bucket
+     */
+    public long[] getBucketCounts() {
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets.get(i);
+        }
+        return counts;
+    }
+
+}
@@ -0,0 +1,99 @@
+package pm.lus.eve.instrumentation;
+
+import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+
+/**
+ * Represents a set of hooks the bus calls while emitting and delivering events
+ * All hooks do nothing by default, so implementations only have to override the ones they are interested in
+ * Hooks get called on the hot path and from multiple threads at once, so they have to be thread-safe, cheap and must not throw
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public interface Instrumentation {
+
+    // Disables instrumentation completely; the bus does not even measure time when using it
+    Instrumentation DISABLED = new Instrumentation() {
+    };
+
+    /**
+     * Gets called whenever an event gets emitted, before its receivers are resolved
+     *
+     * @param topic The raw topic the event belongs to
+     * @param event The event itself
+     */
+    default void onEmit(final String topic, final Event event) {
+    }
+
+    /**
+     * Gets called whenever the receivers of an emitted event have been resolved, no matter if the route was cached or not
+     *
+     * @param context   The context the receivers get passed
+     * @param type      The concrete type of the event
+     * @param listeners The amount of listener methods receiving the event
+     * @param bridges   The amount of bridges receiving the event
+     */
+    default void onRouteResolved(final EventContext context, final Class<? extends Event> type, final int listeners, final int bridges) {
+    }
+
+    /**
+     * Gets called right before a listener method gets invoked
+     *
+     * @param methodDefinition The listener method
+     * @param context          The context of the event
+     * @param event            The event itself
+     * @param queuedNanos      The time that passed between emitting the event and invoking the method
+     */
+    default void onListenerStart(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event, final long queuedNanos) {
+    }
+
+    /**
+     * Gets called right after a listener method returned or failed
+     *
+     * @param methodDefinition The listener method
+     * @param context          The context of the event
+     * @param event            The event itself
+     * @param durationNanos    The time the invocation took
+     * @param failure          The throwable the method threw or null if it returned normally
+     */
+    default void onListenerEnd(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event, final long durationNanos, final Throwable failure) {
+    }
+
+    /**
+     * Gets called whenever a pending event of a conflating listener method got replaced by a newer one and thus will never be delivered
+     *
+     * @param methodDefinition The conflating listener method
+     * @param context          The context of the replaced event
+     * @param event            The replaced event
+     */
+    default void onConflated(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event) {
+    }
+
+    /**
+     * Gets called right before a bridge gets called
+     *
+     * @param bridge      The bridge
+     * @param context     The context of the event
+     * @param event       The event itself
+     * @param queuedNanos The time that passed between emitting the event and calling the bridge
+     */
+    default void onBridgeStart(final EventBridge<?> bridge, final EventContext context, final Event event, final long queuedNanos) {
+    }
+
+    /**
+     * Gets called right after a bridge returned or failed
+     *
+     * @param bridge        The bridge
+     * @param context       The context of the event
+     * @param event         The event itself
+     * @param durationNanos The time the call took
+     * @param failure       The throwable the bridge threw or null if it returned normally
+     */
+    default void onBridgeEnd(final EventBridge<?> bridge, final EventContext context, final Event event, final long durationNanos, final Throwable failure) {
+    }
+
+}
@@ -0,0 +1,163 @@
+package pm.lus.eve.instrumentation;
+
+import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+import pm.lus.eve.topic.ReceivingTopic;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects invocation counts, failures, conflated events, latencies and queue wait times per listener method, bridge and receiving topic pattern
+ * Additionally, it keeps track of the amount of emitted events and the amount of receivers per event (fan-out)
+ * All metrics are based on lock-free counters and fixed-bucket {@link Histogram}s
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class MetricsInstrumentation implements Instrumentation {
+
+    // The amount of topics the matching pattern is remembered for per listener method; further topics get matched on every invocation
+    private static final int MAX_REMEMBERED_TOPICS = 1024;
+
+    private final LongAdder emitted;
+    private final Histogram fanOut;
+    private final Map<ListenerMethodDefinition, MethodMetrics> listeners;
+    private final Map<EventBridge<?>, ReceiverMetrics> bridges;
+    private final Map<String, ReceiverMetrics> patterns;
+
+    public MetricsInstrumentation() {
+        this.emitted = new LongAdder();
+        this.fanOut = new Histogram();
+        this.listeners = new ConcurrentHashMap<>();
+        this.bridges = new ConcurrentHashMap<>();
+        this.patterns = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void onEmit(final String topic, final Event event) {
+        this.emitted.increment();
+    }
+
+    @Override
+    public void onRouteResolved(final EventContext context, final Class<? extends Event> type, final int listeners, final int bridges) {
+        this.fanOut.record(listeners + bridges);
+    }
+
+    @Override
+    public void onListenerStart(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event, final long queuedNanos) {
+        final MethodMetrics metrics = this.methodMetrics(methodDefinition);
+        metrics.recordStart(queuedNanos);
+        final ReceiverMetrics pattern = metrics.pattern(context.getTopic());
+        if (pattern != null) {
+            pattern.recordStart(queuedNanos);
+        }
+    }
+
+    @Override
+    public void onListenerEnd(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event, final long durationNanos, final Throwable failure) {
+        final MethodMetrics metrics = this.methodMetrics(methodDefinition);
+        metrics.recordEnd(durationNanos, failure);
+        final ReceiverMetrics pattern = metrics.pattern(context.getTopic());
+        if (pattern != null) {
+            pattern.recordEnd(durationNanos, failure);
+        }
+    }
+
+    @Override
+    public void onConflated(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event) {
+        final MethodMetrics metrics = this.methodMetrics(methodDefinition);
+        metrics.recordConflated();
+        final ReceiverMetrics pattern = metrics.pattern(context.getTopic());
+        if (pattern != null) {
+            pattern.recordConflated();
+        }
+    }
+
+    @Override
+    public void onBridgeStart(final EventBridge<?> bridge, final EventContext context, final Event event, final long queuedNanos) {
+        this.bridges.computeIfAbsent(bridge, key -> new ReceiverMetrics()).recordStart(queuedNanos);
+    }
+
+    @Override
+    public void onBridgeEnd(final EventBridge<?> bridge, final EventContext context, final Event event, final long durationNanos, final Throwable failure) {
+        this.bridges.computeIfAbsent(bridge, key -> new ReceiverMetrics()).recordEnd(durationNanos, failure);
+    }
+
+    private MethodMetrics methodMetrics(final ListenerMethodDefinition methodDefinition) {
+        final MethodMetrics metrics = this.listeners.get(methodDefinition);
+        return metrics != null ? metrics : this.listeners.computeIfAbsent(methodDefinition, MethodMetrics::new);
+    }
+
+    /**
+     * @return The amount of emitted events
+     */
+    public long getEmitted() {
+        return this.emitted.sum();
+    }
+
+    /**
+     * @return The amount of receivers (listener methods and bridges) per emitted event
+     */
+    public Histogram getFanOut() {
+        return this.fanOut;
+    }
+
+    /**
+     * @return The metrics of every listener method that has been invoked at least once
+     */
+    public Map<ListenerMethodDefinition, ReceiverMetrics> getListenerMetrics() {
+        return Collections.unmodifiableMap(this.listeners);
+    }
+
+    /**
+     * @return The metrics of every bridge that has been called at least once
+     */
+    public Map<EventBridge<?>, ReceiverMetrics> getBridgeMetrics() {
+        return Collections.unmodifiableMap(this.bridges);
+    }
+
+    /**
+     * @return The metrics of all listener methods mapped by the raw receiving topic pattern that made them receive the events
+     */
+    public Map<String, ReceiverMetrics> getPatternMetrics() {
+        return Collections.unmodifiableMap(this.patterns);
+    }
+
+    private final class MethodMetrics extends ReceiverMetrics {
+
+        private final ListenerMethodDefinition methodDefinition;
+        private final Map<String, ReceiverMetrics> patternsByTopic;
+
+        private MethodMetrics(final ListenerMethodDefinition methodDefinition) {
+            this.methodDefinition = methodDefinition;
+            this.patternsByTopic = new ConcurrentHashMap<>();
+        }
+
+        private ReceiverMetrics pattern(final String topic) {
+            final ReceiverMetrics remembered = this.patternsByTopic.get(topic);
+            if (remembered != null) {
+                return remembered;
+            }
+
+            ReceiverMetrics pattern = null;
+            for (final ReceivingTopic receivingTopic : this.methodDefinition.getReceivingTopics()) {
+                if (receivingTopic.matches(topic)) {
+                    pattern = MetricsInstrumentation.this.patterns.computeIfAbsent(receivingTopic.getRaw(), key -> new ReceiverMetrics());
+                    break;
+                }
+            }
+            if (pattern != null && this.patternsByTopic.size() < MAX_REMEMBERED_TOPICS) {
+                this.patternsByTopic.put(topic, pattern);
+            }
+            return pattern;
+        }
+
+    }
+
+}
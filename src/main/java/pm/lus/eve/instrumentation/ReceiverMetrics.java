@@ -0,0 +1,79 @@
+package pm.lus.eve.instrumentation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the metrics collected for a single receiver, like a listener method, a bridge or all listeners of a receiving topic
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class ReceiverMetrics {
+
+    private final LongAdder invocations;
+    private final LongAdder failures;
+    private final Histogram latency;
+    private final Histogram queueWait;
+    private final LongAdder conflated;
+
+    ReceiverMetrics() {
+        this.invocations = new LongAdder();
+        this.failures = new LongAdder();
+        this.latency = new Histogram();
+        this.queueWait = new Histogram();
+        this.conflated = new LongAdder();
+    }
+
+    void recordStart(final long queuedNanos) {
+        this.queueWait.record(queuedNanos);
+    }
+
+    void recordEnd(final long durationNanos, final Throwable failure) {
+        this.invocations.increment();
+        if (failure != null) {
+            this.failures.increment();
+        }
+        this.latency.record(durationNanos);
+    }
+
+    void recordConflated() {
+        this.conflated.increment();
+    }
+
+    /**
+     * @return The amount of completed invocations, including failed ones
+     */
+    public long getInvocations() {
+        return this.invocations.sum();
+    }
+
+    /**
+     * @return The amount of invocations which threw
+     */
+    public long getFailures() {
+        return this.failures.sum();
+    }
+
+    /**
+     * @return The time invocations took in nanoseconds
+     */
+    public Histogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * @return The time in nanoseconds that passed between emitting events and starting to process them
+     */
+    public Histogram getQueueWait() {
+        return this.queueWait;
+    }
+
+    /**
+     * @return The amount of pending events that got replaced by newer ones before they could be delivered
+     */
+    public long getConflated() {
+        return this.conflated.sum();
+    }
+
+}
@@ -0,0 +1,43 @@
+package pm.lus.eve.journal;
+
+import pm.lus.eve.event.Event;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Represents a strategy of converting events into bytes and back
+ * Codecs write into and read from the target buffers directly, so no intermediate byte arrays are needed
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public interface EventCodec {
+
+    /**
+     * Computes the exact amount of bytes {@link #encode(Event, ByteBuffer)} writes for the given event
+     *
+     * @param event The event to encode
+     * @return The size of the encoded event in bytes
+     */
+    int sizeOf(Event event);
+
+    /**
+     * Encodes an event into the given buffer, starting at its position
+     * The buffer has at least {@link #sizeOf(Event)} bytes remaining; its position has to be advanced by exactly that amount
+     *
+     * @param event  The event to encode
+     * @param target The buffer to write to
+     */
+    void encode(Event event, ByteBuffer target);
+
+    /**
+     * Decodes an event from the bytes between the position and the limit of the given buffer
+     *
+     * @param source The buffer to read from
+     * @return The decoded event
+     * @throws IllegalArgumentException If the bytes do not represent an event known to this codec
+     */
+    Event decode(ByteBuffer source);
+
+}
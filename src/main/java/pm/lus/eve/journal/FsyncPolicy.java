@@ -0,0 +1,21 @@
+package pm.lus.eve.journal;
+
+/**
+ * Represents the different strategies of flushing appended events to the storage device
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public enum FsyncPolicy {
+
+    // Leaves flushing to the operating system; events survive a crash of the process but not necessarily one of the machine
+    NONE,
+
+    // Flushes periodically in the background; at most the events of a single interval may get lost
+    INTERVAL,
+
+    // Makes every append wait until its event has been flushed; concurrent appends share a single flush (group commit)
+    ALWAYS
+
+}
@@ -0,0 +1,470 @@
+package pm.lus.eve.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pm.lus.eve.event.Event;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Represents an append-only log of emitted events, stored inside of a directory as a sequence of memory-mapped segment files
+ * Every record gets a consecutive offset and the time it was appended at; both may be used to replay the journal starting at a specific point
+ * A new segment gets started whenever a record does not fit into the current one anymore
+ * If a periodic flush fails, the failure is rethrown by the next {@link #append(String, Event)}, {@link #appendAll(Map)} or {@link #sync()}
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class Journal implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Journal.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final int DEFAULT_INDEX_INTERVAL = 64;
+    public static final Duration DEFAULT_FSYNC_INTERVAL = Duration.ofSeconds(1);
+
+    private final Path directory;
+    private final EventCodec codec;
+    private final int segmentSize;
+    private final int indexInterval;
+    private final FsyncPolicy fsyncPolicy;
+    private final ScheduledExecutorService fsyncScheduler;
+
+    private final List<Segment> segments;
+    private final Object writeLock;
+    private final Object syncLock;
+    private Segment active;
+    private long lastTimestamp;
+    // The offset up to which (exclusively) all records have been flushed
+    private volatile long durableOffset;
+    // Holds the failure of the last periodic flush until it got reported to a caller
+    private final AtomicReference<Throwable> syncFailure;
+    private volatile boolean closed;
+
+    private Journal(final Builder builder, final List<Segment> segments) {
+        this.directory = builder.directory;
+        this.codec = builder.codec;
+        this.segmentSize = builder.segmentSize;
+        this.indexInterval = builder.indexInterval;
+        this.fsyncPolicy = builder.fsyncPolicy;
+        this.segments = new CopyOnWriteArrayList<>(segments);
+        this.writeLock = new Object();
+        this.syncLock = new Object();
+        this.syncFailure = new AtomicReference<>();
+        this.active = segments.get(segments.size() - 1);
+        this.lastTimestamp = this.active.getLastTimestamp();
+        this.durableOffset = this.active.getNextOffset();
+
+        if (this.fsyncPolicy == FsyncPolicy.INTERVAL) {
+            this.fsyncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "eve-journal-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long interval = builder.fsyncInterval.toNanos();
+            this.fsyncScheduler.scheduleWithFixedDelay(this::syncPeriodically, interval, interval, TimeUnit.NANOSECONDS);
+        } else {
+            this.fsyncScheduler = null;
+        }
+    }
+
+    /**
+     * Starts configuring a journal stored inside of the given directory
+     *
+     * @param directory The directory holding the segment files; gets created if it does not exist
+     * @param codec     The codec used to encode and decode events
+     * @return A new builder to configure the journal with
+     */
+    public static Builder builder(final Path directory, final EventCodec codec) {
+        return new Builder(directory, codec);
+    }
+
+    /**
+     * Appends an event to the journal
+     * Depending on the {@link FsyncPolicy}, this waits for the event to be flushed to the storage device
+     *
+     * @param topic The raw topic the event was emitted to
+     * @param event The event itself
+     * @return The offset of the appended record
+     * @throws IOException              If a new segment could not be created, the journal has been closed or a previous periodic flush failed
+     * @throws IllegalArgumentException If the topic is too long or the record does not fit into a segment
+     */
+    public long append(final String topic, final Event event) throws IOException {
+        this.checkSyncFailure();
+        final Record record = this.record(topic, event);
+
+        final long offset;
+        synchronized (this.writeLock) {
+            offset = this.write(record);
+        }
+
+        if (this.fsyncPolicy == FsyncPolicy.ALWAYS) {
+            this.sync(offset + 1);
+        }
+        return offset;
+    }
+
+    /**
+     * Appends multiple events to the journal as consecutive records
+     * Every record gets checked before the first one is written, so a batch containing a topic that is too long or a record
+     * that does not fit into a segment does not get appended at all
+     * Depending on the {@link FsyncPolicy}, this waits for all events to be flushed to the storage device
+     *
+     * @param events The events to append mapped by the raw topics they were emitted to
+     * @return The offset of the first appended record or the next offset if there was nothing to append
+     * @throws IOException              If a new segment could not be created, the journal has been closed or a previous periodic flush failed
+     * @throws IllegalArgumentException If a topic is too long or a record does not fit into a segment
+     */
+    public long appendAll(final Map<String, ? extends Collection<? extends Event>> events) throws IOException {
+        this.checkSyncFailure();
+        final List<Record> records = new ArrayList<>();
+        for (final Map.Entry<String, ? extends Collection<? extends Event>> entry : events.entrySet()) {
+            for (final Event event : entry.getValue()) {
+                records.add(this.record(entry.getKey(), event));
+            }
+        }
+        if (records.isEmpty()) {
+            return this.getNextOffset();
+        }
+
+        final long firstOffset;
+        final long lastOffset;
+        synchronized (this.writeLock) {
+            long offset = this.write(records.get(0));
+            firstOffset = offset;
+            for (int i = 1; i < records.size(); i++) {
+                offset = this.write(records.get(i));
+            }
+            lastOffset = offset;
+        }
+
+        if (this.fsyncPolicy == FsyncPolicy.ALWAYS) {
+            this.sync(lastOffset + 1);
+        }
+        return firstOffset;
+    }
+
+    private void checkSyncFailure() throws IOException {
+        final Throwable failure = this.syncFailure.getAndSet(null);
+        if (failure != null) {
+            throw new IOException("a periodic flush of the journal failed; previously appended records may not be durable", failure);
+        }
+    }
+
+    private Record record(final String topic, final Event event) {
+        final byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        if (topicBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("the topic must not be longer than 65535 bytes");
+        }
+        final int eventSize = this.codec.sizeOf(event);
+        if ((long) Segment.HEADER_SIZE + topicBytes.length + eventSize > this.segmentSize) {
+            throw new IllegalArgumentException("the record (" + (Segment.HEADER_SIZE + topicBytes.length + eventSize) + " bytes) does not fit into a segment (" + this.segmentSize + " bytes)");
+        }
+        return new Record(topic, topicBytes, event, eventSize);
+    }
+
+    // Has to be called while holding the write lock
+    private long write(final Record record) throws IOException {
+        if (this.closed) {
+            throw new IOException("the journal has been closed");
+        }
+
+        // Timestamps must never decrease, so that they can be used to seek inside of the journal
+        this.lastTimestamp = Math.max(this.lastTimestamp, System.currentTimeMillis());
+
+        final long offset = this.active.append(this.lastTimestamp, record.topic, record.topicBytes, record.event, record.eventSize, this.codec);
+        if (offset >= 0) {
+            return offset;
+        }
+        this.roll();
+        return this.active.append(this.lastTimestamp, record.topic, record.topicBytes, record.event, record.eventSize, this.codec);
+    }
+
+    // Has to be called while holding the write lock
+    private void roll() throws IOException {
+        this.active.seal();
+        this.active = Segment.create(this.directory, this.active.getNextOffset(), this.segmentSize, this.indexInterval);
+        this.segments.add(this.active);
+    }
+
+    /**
+     * Waits until all records before the given offset have been flushed
+     * Threads arriving while a flush is in progress get covered by a single subsequent flush (group commit)
+     */
+    private void sync(final long offset) {
+        if (this.durableOffset >= offset) {
+            return;
+        }
+
+        synchronized (this.syncLock) {
+            if (this.durableOffset >= offset) {
+                return;
+            }
+
+            // Sealed segments have already been flushed, so flushing the active one covers everything appended so far
+            final Segment segment;
+            final long target;
+            synchronized (this.writeLock) {
+                segment = this.active;
+                target = segment.getNextOffset();
+            }
+            segment.force();
+            this.durableOffset = target;
+        }
+    }
+
+    private void syncPeriodically() {
+        try {
+            this.sync(this.getNextOffset());
+        } catch (final Throwable throwable) {
+            LOGGER.error("could not flush the journal in '{}'", this.directory, throwable);
+            this.syncFailure.set(throwable);
+        }
+    }
+
+    /**
+     * Flushes all appended records to the storage device, no matter which {@link FsyncPolicy} is used
+     *
+     * @throws UncheckedIOException If a previous periodic flush failed
+     */
+    public void sync() {
+        final Throwable failure = this.syncFailure.getAndSet(null);
+        if (failure != null) {
+            throw new UncheckedIOException(new IOException("a periodic flush of the journal failed; previously appended records may not be durable", failure));
+        }
+        this.sync(this.getNextOffset());
+    }
+
+    /**
+     * Replays all records starting at the given offset
+     *
+     * @param fromOffset The offset of the first record to replay
+     * @param consumer   The consumer receiving the records in order
+     * @return The amount of replayed records
+     */
+    public long replay(final long fromOffset, final ReplayConsumer consumer) {
+        return this.replay(fromOffset, null, consumer);
+    }
+
+    /**
+     * Replays the records of a single topic starting at the given offset
+     * Segments not containing the topic are skipped and the others are only read starting at an indexed record of the topic
+     *
+     * @param fromOffset The offset of the first record to replay
+     * @param topic      The exact raw topic to replay the records of or null to replay all records
+     * @param consumer   The consumer receiving the records in order
+     * @return The amount of replayed records
+     */
+    public long replay(final long fromOffset, final String topic, final ReplayConsumer consumer) {
+        long replayed = 0;
+        for (final Segment segment : this.segments) {
+            if (segment.getNextOffset() <= fromOffset) {
+                continue;
+            }
+            replayed += segment.read(fromOffset, topic, this.codec, consumer);
+        }
+        return replayed;
+    }
+
+    /**
+     * Looks up the offset of the first record appended at or after the given time
+     * Use the result as the start offset of {@link #replay(long, String, ReplayConsumer)} to replay starting at a specific time
+     *
+     * @param timestamp The time in milliseconds since the epoch
+     * @return The offset of the first matching record or {@link #getNextOffset()} if all records are older
+     */
+    public long offsetAt(final long timestamp) {
+        for (final Segment segment : this.segments) {
+            final long offset = segment.offsetAt(timestamp);
+            if (offset >= 0) {
+                return offset;
+            }
+        }
+        return this.getNextOffset();
+    }
+
+    /**
+     * @return The offset of the oldest record inside of the journal
+     */
+    public long getFirstOffset() {
+        return this.segments.get(0).getBaseOffset();
+    }
+
+    /**
+     * @return The offset the next appended record will get
+     */
+    public long getNextOffset() {
+        return this.segments.get(this.segments.size() - 1).getNextOffset();
+    }
+
+    /**
+     * @return The directory holding the segment files
+     */
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * Flushes all records and closes the segment files; appending afterwards fails
+     *
+     * @throws IOException If a segment file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this.writeLock) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+        }
+
+        if (this.fsyncScheduler != null) {
+            this.fsyncScheduler.shutdown();
+        }
+        this.active.force();
+        for (final Segment segment : this.segments) {
+            segment.close();
+        }
+    }
+
+    /**
+     * Configures and opens journals
+     *
+     * @author Lukas Schulte Pelkum
+     * @version 0.1.0
+     * @since 0.1.0
+     */
+    public static class Builder {
+
+        private final Path directory;
+        private final EventCodec codec;
+        private int segmentSize = DEFAULT_SEGMENT_SIZE;
+        private int indexInterval = DEFAULT_INDEX_INTERVAL;
+        private FsyncPolicy fsyncPolicy = FsyncPolicy.INTERVAL;
+        private Duration fsyncInterval = DEFAULT_FSYNC_INTERVAL;
+
+        private Builder(final Path directory, final EventCodec codec) {
+            this.directory = directory;
+            this.codec = codec;
+        }
+
+        /**
+         * Sets the size of a single segment file; defaults to 64 MiB
+         * Changing it only affects newly created segments
+         *
+         * @param segmentSize The segment size in bytes
+         * @return The new builder state
+         */
+        public Builder segmentSize(final int segmentSize) {
+            if (segmentSize <= Segment.HEADER_SIZE) {
+                throw new IllegalArgumentException("the segment size has to be larger than " + Segment.HEADER_SIZE + " bytes");
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Sets the interval of the sparse index; every n-th record overall and every n-th record of every single topic gets indexed
+         *
+         * @param indexInterval The index interval
+         * @return The new builder state
+         */
+        public Builder indexInterval(final int indexInterval) {
+            if (indexInterval <= 0) {
+                throw new IllegalArgumentException("the index interval has to be positive");
+            }
+            this.indexInterval = indexInterval;
+            return this;
+        }
+
+        /**
+         * Sets the strategy of flushing appended records to the storage device; defaults to {@link FsyncPolicy#INTERVAL}
+         *
+         * @param fsyncPolicy The policy to use
+         * @return The new builder state
+         */
+        public Builder fsyncPolicy(final FsyncPolicy fsyncPolicy) {
+            this.fsyncPolicy = fsyncPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the interval records get flushed in when using {@link FsyncPolicy#INTERVAL}; defaults to 1 second
+         *
+         * @param fsyncInterval The interval
+         * @return The new builder state
+         */
+        public Builder fsyncInterval(final Duration fsyncInterval) {
+            if (fsyncInterval.isNegative() || fsyncInterval.isZero()) {
+                throw new IllegalArgumentException("the fsync interval has to be positive");
+            }
+            this.fsyncInterval = fsyncInterval;
+            return this;
+        }
+
+        /**
+         * Opens the journal, recovering existing segments
+         * Records the last segment contains after a torn write get discarded
+         *
+         * @return The opened journal
+         * @throws IOException If the directory or a segment file could not be opened
+         */
+        public Journal open() throws IOException {
+            Files.createDirectories(this.directory);
+
+            final List<Path> files;
+            try (final Stream<Path> stream = Files.list(this.directory)) {
+                files = stream.filter(file -> file.getFileName().toString().endsWith(Segment.LOG_SUFFIX))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+
+            final List<Segment> segments = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                segments.add(Segment.open(files.get(i), this.indexInterval, i == files.size() - 1));
+            }
+            if (segments.isEmpty()) {
+                segments.add(Segment.create(this.directory, 0, this.segmentSize, this.indexInterval));
+            }
+            return new Journal(this, segments);
+        }
+
+    }
+
+
+    // A validated record which is ready to be written
+    private static final class Record {
+
+        private final String topic;
+        private final byte[] topicBytes;
+        private final Event event;
+        private final int eventSize;
+
+        private Record(final String topic, final byte[] topicBytes, final Event event, final int eventSize) {
+            this.topic = topic;
+            this.topicBytes = topicBytes;
+            this.event = event;
+            this.eventSize = eventSize;
+        }
+
+    }
+
+}
@@ -0,0 +1,25 @@
+package pm.lus.eve.journal;
+
+import pm.lus.eve.event.Event;
+
+/**
+ * Receives the events read from a {@link Journal}
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface ReplayConsumer {
+
+    /**
+     * Gets called for every replayed event in the order the events were appended in
+     *
+     * @param offset    The offset of the event inside of the journal
+     * @param timestamp The time the event was appended at in milliseconds since the epoch
+     * @param topic     The raw topic the event was emitted to
+     * @param event     The decoded event
+     */
+    void accept(long offset, long timestamp, String topic, Event event);
+
+}
@@ -0,0 +1,305 @@
+package pm.lus.eve.journal;
+
+import pm.lus.eve.event.Event;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Represents a single memory-mapped file of a journal holding the records starting at a specific offset
+ * A record consists of its length, a checksum, its timestamp, its topic and the encoded event
+ * Records are only ever appended by a single thread at a time, while any thread may read the records appended so far
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class Segment {
+
+    static final String LOG_SUFFIX = ".log";
+    static final String INDEX_SUFFIX = ".index";
+
+    // length (4) + checksum (4) + timestamp (8) + topic length (2)
+    static final int HEADER_SIZE = 18;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long baseOffset;
+    private final SegmentIndex index;
+
+    // Written by the appending thread after a record is complete, which publishes the record to reading threads
+    private volatile int writePosition;
+    private volatile long nextOffset;
+
+    private Segment(final Path file, final FileChannel channel, final MappedByteBuffer buffer, final long baseOffset, final SegmentIndex index, final int writePosition) {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.baseOffset = baseOffset;
+        this.index = index;
+        this.writePosition = writePosition;
+        this.nextOffset = baseOffset + index.getRecords();
+    }
+
+    /**
+     * Creates a new, empty segment
+     *
+     * @param directory     The directory of the journal
+     * @param baseOffset    The offset of the first record of the segment
+     * @param size          The size of the segment file
+     * @param indexInterval The interval of the sparse index
+     * @return The created segment
+     * @throws IOException If the segment file could not be created
+     */
+    static Segment create(final Path directory, final long baseOffset, final int size, final int indexInterval) throws IOException {
+        final Path file = directory.resolve(fileName(baseOffset, LOG_SUFFIX));
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return new Segment(file, channel, buffer, baseOffset, new SegmentIndex(indexInterval), 0);
+    }
+
+    /**
+     * Opens an existing segment
+     * Sealed segments use their persisted index if possible; the active segment always gets scanned and is cut off after its last intact record
+     *
+     * @param file          The segment file
+     * @param indexInterval The interval of the sparse index
+     * @param active        Whether or not the segment is the last one of the journal which gets appended to
+     * @return The opened segment
+     * @throws IOException If the segment file could not be opened
+     */
+    static Segment open(final Path file, final int indexInterval, final boolean active) throws IOException {
+        final String name = file.getFileName().toString();
+        final long baseOffset = Long.parseLong(name.substring(0, name.length() - LOG_SUFFIX.length()));
+
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+
+        if (!active) {
+            final SegmentIndex.Loaded loaded = SegmentIndex.read(indexFile(file), indexInterval);
+            if (loaded != null) {
+                return new Segment(file, channel, buffer, baseOffset, loaded.getIndex(), loaded.getEndPosition());
+            }
+        }
+
+        final SegmentIndex index = new SegmentIndex(indexInterval);
+        final int end = scan(buffer, baseOffset, index);
+        if (active) {
+            // Leftovers of a torn write must never be mistaken for records appended later on
+            for (int i = end; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        return new Segment(file, channel, buffer, baseOffset, index, end);
+    }
+
+    private static int scan(final ByteBuffer buffer, final long baseOffset, final SegmentIndex index) {
+        final CRC32C checksum = new CRC32C();
+        long offset = baseOffset;
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            final int length = buffer.getInt(position);
+            if (length < HEADER_SIZE - 4 || position + 4 + length > buffer.capacity()) {
+                break;
+            }
+
+            final ByteBuffer content = buffer.duplicate();
+            content.limit(position + 4 + length).position(position + 8);
+            checksum.reset();
+            checksum.update(content);
+            if ((int) checksum.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+
+            final byte[] topic = new byte[buffer.getShort(position + 16) & 0xFFFF];
+            buffer.duplicate().position(position + HEADER_SIZE).get(topic);
+            index.record(offset, buffer.getLong(position + 8), new String(topic, StandardCharsets.UTF_8), position);
+            offset++;
+            position += 4 + length;
+        }
+        return position;
+    }
+
+    static String fileName(final long baseOffset, final String suffix) {
+        return String.format("%020d%s", baseOffset, suffix);
+    }
+
+    private static Path indexFile(final Path file) {
+        final String name = file.getFileName().toString();
+        return file.resolveSibling(name.substring(0, name.length() - LOG_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    /**
+     * Appends a record; may only be called by a single thread at a time
+     *
+     * @param timestamp   The timestamp of the record
+     * @param topic       The topic of the record
+     * @param topicBytes  The UTF-8 encoded topic
+     * @param event       The event to encode
+     * @param eventSize   The encoded size of the event
+     * @param codec       The codec to encode the event with
+     * @return The offset of the appended record or -1 if there is not enough space left inside of this segment
+     */
+    long append(final long timestamp, final String topic, final byte[] topicBytes, final Event event, final int eventSize, final EventCodec codec) {
+        final int position = this.writePosition;
+        final int length = HEADER_SIZE - 4 + topicBytes.length + eventSize;
+        if ((long) position + 4 + length > this.buffer.capacity()) {
+            return -1;
+        }
+
+        final ByteBuffer target = this.buffer.duplicate();
+        target.position(position + 8);
+        target.putLong(timestamp);
+        target.putShort((short) topicBytes.length);
+        target.put(topicBytes);
+        final int eventStart = target.position();
+        codec.encode(event, target);
+        if (target.position() != eventStart + eventSize) {
+            // Leave the record incomplete; its length is still 0, so it is never read
+            throw new IllegalStateException("the codec wrote " + (target.position() - eventStart) + " bytes instead of " + eventSize);
+        }
+
+        final CRC32C checksum = new CRC32C();
+        target.limit(target.position()).position(position + 8);
+        checksum.update(target);
+        this.buffer.putInt(position + 4, (int) checksum.getValue());
+        // The length gets written last, so that a record is never read before it is complete
+        this.buffer.putInt(position, length);
+
+        final long offset = this.nextOffset;
+        this.index.record(offset, timestamp, topic, position);
+        this.writePosition = position + 4 + length;
+        this.nextOffset = offset + 1;
+        return offset;
+    }
+
+    /**
+     * Reads the records starting at the given offset, optionally only the ones of a specific topic
+     *
+     * @param fromOffset The offset to start at
+     * @param topic      The topic to read the records of or null to read all records
+     * @param codec      The codec to decode the events with
+     * @param consumer   The consumer to pass the records to
+     * @return The amount of records passed to the consumer
+     */
+    long read(final long fromOffset, final String topic, final EventCodec codec, final ReplayConsumer consumer) {
+        final int end = this.writePosition;
+        final SegmentIndex.Entry start = topic == null ? this.index.seekOffset(fromOffset) : this.index.seekTopic(topic, fromOffset);
+        if (start == null) {
+            return 0;
+        }
+
+        final byte[] topicFilter = topic == null ? null : topic.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer source = this.buffer.duplicate();
+        byte[] lastTopicBytes = null;
+        String lastTopic = null;
+        long offset = start.getOffset();
+        int position = start.getPosition();
+        long read = 0;
+        while (position < end) {
+            final int length = this.buffer.getInt(position);
+            final int topicLength = this.buffer.getShort(position + 16) & 0xFFFF;
+            final int topicStart = position + HEADER_SIZE;
+
+            if (offset >= fromOffset && (topicFilter == null || this.topicEquals(topicStart, topicLength, topicFilter))) {
+                // Consecutive records often share their topic, so the last decoded one gets reused
+                if (lastTopicBytes == null || !this.topicEquals(topicStart, topicLength, lastTopicBytes)) {
+                    lastTopicBytes = new byte[topicLength];
+                    source.limit(end).position(topicStart);
+                    source.get(lastTopicBytes);
+                    lastTopic = new String(lastTopicBytes, StandardCharsets.UTF_8);
+                }
+
+                source.limit(position + 4 + length).position(topicStart + topicLength);
+                consumer.accept(offset, this.buffer.getLong(position + 8), lastTopic, codec.decode(source.slice()));
+                read++;
+            }
+
+            offset++;
+            position += 4 + length;
+        }
+        return read;
+    }
+
+    private boolean topicEquals(final int start, final int length, final byte[] topic) {
+        if (length != topic.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (this.buffer.get(start + i) != topic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Looks up the offset of the first record appended at or after the given timestamp
+     *
+     * @param timestamp The timestamp in milliseconds since the epoch
+     * @return The offset or -1 if all records of this segment are older
+     */
+    long offsetAt(final long timestamp) {
+        final int end = this.writePosition;
+        if (this.index.getLastTimestamp() < timestamp) {
+            return -1;
+        }
+
+        final SegmentIndex.Entry start = this.index.seekTimestamp(timestamp);
+        long offset = start.getOffset();
+        int position = start.getPosition();
+        while (position < end) {
+            if (this.buffer.getLong(position + 8) >= timestamp) {
+                return offset;
+            }
+            offset++;
+            position += 4 + this.buffer.getInt(position);
+        }
+        return -1;
+    }
+
+    /**
+     * Flushes all appended records to the storage device
+     */
+    void force() {
+        this.buffer.force();
+    }
+
+    /**
+     * Flushes the segment and persists its index, as no further records will be appended to it
+     *
+     * @throws IOException If the index could not be written
+     */
+    void seal() throws IOException {
+        this.force();
+        this.index.write(indexFile(this.file), this.writePosition);
+    }
+
+    void close() throws IOException {
+        this.channel.close();
+    }
+
+    long getBaseOffset() {
+        return this.baseOffset;
+    }
+
+    long getNextOffset() {
+        return this.nextOffset;
+    }
+
+    long getLastTimestamp() {
+        return this.index.getLastTimestamp();
+    }
+
+    int getCapacity() {
+        return this.buffer.capacity();
+    }
+
+}
@@ -0,0 +1,298 @@
+package pm.lus.eve.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents the sparse index of a single journal segment
+ * Every n-th record of the segment and every n-th record of every single topic inside of it gets indexed, so seeks only have to scan a few records
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class SegmentIndex {
+
+    private static final int MAGIC = 0x45564549;
+
+    private final int interval;
+    private final Entries entries;
+    private final Map<String, TopicEntries> topics;
+    private long records;
+    private long lastTimestamp;
+
+    SegmentIndex(final int interval) {
+        this.interval = interval;
+        this.entries = new Entries();
+        this.topics = new HashMap<>();
+        this.lastTimestamp = Long.MIN_VALUE;
+    }
+
+    /**
+     * Indexes an appended record if needed; has to be called for every record of the segment in order
+     *
+     * @param offset    The offset of the record
+     * @param timestamp The timestamp of the record
+     * @param topic     The topic of the record
+     * @param position  The position of the record inside of the segment
+     */
+    synchronized void record(final long offset, final long timestamp, final String topic, final int position) {
+        if (this.records % this.interval == 0) {
+            this.entries.add(offset, timestamp, position);
+        }
+        this.records++;
+        this.lastTimestamp = timestamp;
+
+        final TopicEntries topicEntries = this.topics.computeIfAbsent(topic, key -> new TopicEntries());
+        if (topicEntries.records % this.interval == 0) {
+            topicEntries.entries.add(offset, timestamp, position);
+        }
+        topicEntries.records++;
+        topicEntries.lastOffset = offset;
+    }
+
+    /**
+     * Looks up the indexed record closest to, but not after the given offset
+     *
+     * @param offset The offset to seek to
+     * @return The indexed record or null if the segment is empty
+     */
+    synchronized Entry seekOffset(final long offset) {
+        return this.entries.floorOffset(offset);
+    }
+
+    /**
+     * Looks up the indexed record closest to, but not after the given offset which belongs to the given topic
+     *
+     * @param topic  The topic to seek in
+     * @param offset The offset to seek to
+     * @return The indexed record or null if the segment does not contain the topic at or after the given offset
+     */
+    synchronized Entry seekTopic(final String topic, final long offset) {
+        final TopicEntries topicEntries = this.topics.get(topic);
+        if (topicEntries == null || topicEntries.lastOffset < offset) {
+            return null;
+        }
+        return topicEntries.entries.floorOffset(offset);
+    }
+
+    /**
+     * Looks up the last indexed record with a timestamp before the given one
+     *
+     * @param timestamp The timestamp to seek to
+     * @return The indexed record or the first one if there is none before the given timestamp; null if the segment is empty
+     */
+    synchronized Entry seekTimestamp(final long timestamp) {
+        return this.entries.floorTimestamp(timestamp);
+    }
+
+    /**
+     * @return The timestamp of the last record of the segment or {@link Long#MIN_VALUE} if it is empty
+     */
+    synchronized long getLastTimestamp() {
+        return this.lastTimestamp;
+    }
+
+    /**
+     * @return The amount of records inside of the segment
+     */
+    synchronized long getRecords() {
+        return this.records;
+    }
+
+    /**
+     * Persists this index atomically
+     *
+     * @param file        The file to write to
+     * @param endPosition The position right after the last record of the segment
+     * @throws IOException If the index could not be written
+     */
+    synchronized void write(final Path file, final int endPosition) throws IOException {
+        final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(this.interval);
+            output.writeInt(endPosition);
+            output.writeLong(this.records);
+            output.writeLong(this.lastTimestamp);
+            this.entries.write(output);
+            output.writeInt(this.topics.size());
+            for (final Map.Entry<String, TopicEntries> topic : this.topics.entrySet()) {
+                output.writeUTF(topic.getKey());
+                output.writeLong(topic.getValue().records);
+                output.writeLong(topic.getValue().lastOffset);
+                topic.getValue().entries.write(output);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a persisted index
+     *
+     * @param file     The file to read from
+     * @param interval The interval the index has to use
+     * @return The end position of the segment and the index or null if the file does not exist, is corrupt or uses another interval
+     */
+    static Loaded read(final Path file, final int interval) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (final InputStream stream = Files.newInputStream(file); final DataInputStream input = new DataInputStream(new BufferedInputStream(stream))) {
+            if (input.readInt() != MAGIC || input.readInt() != interval) {
+                return null;
+            }
+
+            final int endPosition = input.readInt();
+            final SegmentIndex index = new SegmentIndex(interval);
+            index.records = input.readLong();
+            index.lastTimestamp = input.readLong();
+            index.entries.read(input);
+            final int topics = input.readInt();
+            for (int i = 0; i < topics; i++) {
+                final String topic = input.readUTF();
+                final TopicEntries topicEntries = new TopicEntries();
+                topicEntries.records = input.readLong();
+                topicEntries.lastOffset = input.readLong();
+                topicEntries.entries.read(input);
+                index.topics.put(topic, topicEntries);
+            }
+            return new Loaded(endPosition, index);
+        } catch (final IOException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Represents a single indexed record
+     */
+    static final class Entry {
+
+        private final long offset;
+        private final int position;
+
+        private Entry(final long offset, final int position) {
+            this.offset = offset;
+            this.position = position;
+        }
+
+        long getOffset() {
+            return this.offset;
+        }
+
+        int getPosition() {
+            return this.position;
+        }
+
+    }
+
+    /**
+     * Represents an index read from a file together with the end position of its segment
+     */
+    static final class Loaded {
+
+        private final int endPosition;
+        private final SegmentIndex index;
+
+        private Loaded(final int endPosition, final SegmentIndex index) {
+            this.endPosition = endPosition;
+            this.index = index;
+        }
+
+        int getEndPosition() {
+            return this.endPosition;
+        }
+
+        SegmentIndex getIndex() {
+            return this.index;
+        }
+
+    }
+
+    private static final class TopicEntries {
+
+        private final Entries entries = new Entries();
+        private long records;
+        private long lastOffset = -1;
+
+    }
+
+    // Sorted by offset as well as by timestamp, as timestamps never decrease inside of a journal
+    private static final class Entries {
+
+        private long[] offsets = new long[16];
+        private long[] timestamps = new long[16];
+        private int[] positions = new int[16];
+        private int size;
+
+        private void add(final long offset, final long timestamp, final int position) {
+            if (this.size == this.offsets.length) {
+                this.offsets = Arrays.copyOf(this.offsets, this.size * 2);
+                this.timestamps = Arrays.copyOf(this.timestamps, this.size * 2);
+                this.positions = Arrays.copyOf(this.positions, this.size * 2);
+            }
+            this.offsets[this.size] = offset;
+            this.timestamps[this.size] = timestamp;
+            this.positions[this.size] = position;
+            this.size++;
+        }
+
+        private Entry floorOffset(final long offset) {
+            if (this.size == 0) {
+                return null;
+            }
+            final int found = Arrays.binarySearch(this.offsets, 0, this.size, offset);
+            final int index = found >= 0 ? found : Math.max(-found - 2, 0);
+            return new Entry(this.offsets[index], this.positions[index]);
+        }
+
+        private Entry floorTimestamp(final long timestamp) {
+            if (this.size == 0) {
+                return null;
+            }
+            // The last entry strictly before the timestamp, as multiple records may share a timestamp
+            int low = 0;
+            int high = this.size - 1;
+            int index = 0;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                if (this.timestamps[middle] < timestamp) {
+                    index = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return new Entry(this.offsets[index], this.positions[index]);
+        }
+
+        private void write(final DataOutputStream output) throws IOException {
+            output.writeInt(this.size);
+            for (int i = 0; i < this.size; i++) {
+                output.writeLong(this.offsets[i]);
+                output.writeLong(this.timestamps[i]);
+                output.writeInt(this.positions[i]);
+            }
+        }
+
+        private void read(final DataInputStream input) throws IOException {
+            final int size = input.readInt();
+            for (int i = 0; i < size; i++) {
+                this.add(input.readLong(), input.readLong(), input.readInt());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+package pm.lus.eve.listener;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Represents an event listener built using {@link Listener#inline(Class, BiConsumer)}
+ * Its definition is built directly instead of using reflection, so it only receives events of its actual event type
+ *
+ * @param <T> The type of the event to receive
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public final class InlineListener<T extends Event> implements Listener {
+
+    private final Class<T> eventType;
+    private final Predicate<? super T> filter;
+    private final BiConsumer<EventContext, T> consumer;
+
+    InlineListener(final Class<T> eventType, final Predicate<? super T> filter, final BiConsumer<EventContext, T> consumer) {
+        this.eventType = eventType;
+        this.filter = filter;
+        this.consumer = consumer;
+    }
+
+    /**
+     * @return The type of the events to receive
+     */
+    public Class<T> getEventType() {
+        return this.eventType;
+    }
+
+    /**
+     * @return The predicate events have to match to be received or null if every event is received
+     */
+    public Predicate<? super T> getFilter() {
+        return this.filter;
+    }
+
+    /**
+     * Passes a received event to the consumer of this listener
+     *
+     * @param context The context of the event
+     * @param event   The event itself
+     */
+    public void receive(final EventContext context, final T event) {
+        this.consumer.accept(context, event);
+    }
+
+}
@@ -2,9 +2,9 @@ package pm.lus.eve.listener;
 
 import pm.lus.eve.event.Event;
 import pm.lus.eve.event.context.EventContext;
-import pm.lus.eve.listener.annotation.Listen;
 
 import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 
 /**
  * Acts as the marker interface all event listeners have to implement for the bus to recognize them
@@ -26,12 +26,21 @@ public interface Listener {
      * @return The built event listener
      */
     static <T extends Event> Listener inline(final Class<T> type, final BiConsumer<EventContext, T> listener) {
-        return new Listener() {
-            @Listen
-            public void handle(final EventContext ctx, final T event) {
-                listener.accept(ctx, event);
-            }
-        };
+        return new InlineListener<>(type, null, listener);
+    }
+
+    /**
+     * Builds an event listener only receiving events matching a predicate
+     * The predicate is evaluated by the bus before any listener task is submitted, so rejected events cost no dispatch at all
+     *
+     * @param type     The type of the event to receive
+     * @param filter   The predicate events have to match to be received
+     * @param listener The consumer which gets executed whenever a suiting event arises
+     * @param <T>      The type of the event to receive
+     * @return The built event listener
+     */
+    static <T extends Event> Listener inline(final Class<T> type, final Predicate<? super T> filter, final BiConsumer<EventContext, T> listener) {
+        return new InlineListener<>(type, filter, listener);
     }
 
 }
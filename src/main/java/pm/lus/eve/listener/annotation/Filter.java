@@ -0,0 +1,26 @@
+package pm.lus.eve.listener.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Restricts a {@link Listen} method to events whose property equals a specific value
+ * The property is read using a getter ('getX()', 'isX()' or 'x()') or a field of the same name and compared using its string representation
+ * Multiple filters on the same method all have to match; equality filters are indexed by the bus, so they are evaluated before any task is submitted
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(Filters.class)
+@Documented
+public @interface Filter {
+
+    // The name of the event property to compare
+    String property();
+
+    // The string representation the property value has to equal
+    String value();
+
+}
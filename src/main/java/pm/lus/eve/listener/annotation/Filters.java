@@ -0,0 +1,19 @@
+package pm.lus.eve.listener.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Holds multiple {@link Filter} annotations of a single listener method
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Filters {
+
+    Filter[] value();
+
+}
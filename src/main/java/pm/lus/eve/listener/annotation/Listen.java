@@ -18,4 +18,10 @@ public @interface Listen {
     // The topics to receive event from
     String[] value() default {"**"};
 
+    // Whether or not only the newest pending event per topic and partition key should be delivered under load
+    boolean conflate() default false;
+
+    // The time in milliseconds an invocation may take before the watchdog of the bus considers it hung; 0 uses the default of the watchdog
+    long timeout() default 0;
+
 }
@@ -4,10 +4,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pm.lus.eve.event.Event;
 import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.InlineListener;
 import pm.lus.eve.listener.Listener;
 import pm.lus.eve.listener.annotation.Listen;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -22,6 +28,17 @@ public class ListenerDefinition {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ListenerDefinition.class);
 
+    // Resolves the factory generated for a listener type once; types without one map to null
+    private static final ClassValue<ListenerDefinitionFactory> GENERATED_FACTORIES = new ClassValue<>() {
+        @Override
+        protected ListenerDefinitionFactory computeValue(final Class<?> type) {
+            return findGeneratedFactory(type);
+        }
+    };
+
+    // The messages of the service configuration errors that have already been logged, as every listener type runs into them again
+    private static final Set<String> REPORTED_SERVICE_ERRORS = ConcurrentHashMap.newKeySet();
+
     private final Listener instance;
     private final Set<ListenerMethodDefinition> methodDefinitions;
 
@@ -30,10 +47,38 @@ public class ListenerDefinition {
         this.methodDefinitions = methodDefinitions;
     }
 
+    /**
+     * Creates a listener definition without using reflection
+     * This is used by the code generated by the annotation processor
+     *
+     * @param instance          The listener instance
+     * @param methodDefinitions The definitions of the listener methods of the instance
+     * @return The created listener definition
+     */
+    public static ListenerDefinition of(final Listener instance, final ListenerMethodDefinition... methodDefinitions) {
+        return new ListenerDefinition(instance, Set.copyOf(Arrays.asList(methodDefinitions)));
+    }
+
+    /**
+     * Builds the definition of a listener
+     * Inline listeners are defined directly; if the annotation processor generated a factory for the type of the listener it is used, otherwise reflection is used
+     *
+     * @param instance The listener instance
+     * @return The built listener definition
+     */
     public static ListenerDefinition build(final Listener instance) {
+        if (instance instanceof InlineListener) {
+            return of(instance, ListenerMethodDefinition.inline((InlineListener<?>) instance));
+        }
+
         final Class<? extends Listener> clazz = instance.getClass();
 
-        final Set<ListenerMethodDefinition> methodDefinitions = ConcurrentHashMap.newKeySet();
+        final ListenerDefinitionFactory factory = GENERATED_FACTORIES.get(clazz);
+        if (factory != null) {
+            return factory.build(instance);
+        }
+
+        final Set<ListenerMethodDefinition> methodDefinitions = new HashSet<>();
 
         for (final Method method : clazz.getDeclaredMethods()) {
             if (!method.isAnnotationPresent(Listen.class)) {
@@ -76,10 +121,55 @@ public class ListenerDefinition {
                 continue;
             }
 
-            methodDefinitions.add(ListenerMethodDefinition.build(method));
+            try {
+                methodDefinitions.add(ListenerMethodDefinition.build(instance, method));
+            } catch (final IllegalAccessException exception) {
+                LOGGER.warn(
+                        "method '{}#{}' is marked as an event listener but is not accessible ({}); skipping!",
+                        clazz.getName(),
+                        method.getName(),
+                        exception.getMessage()
+                );
+            }
+        }
+
+        return new ListenerDefinition(instance, Set.copyOf(methodDefinitions));
+    }
+
+    /**
+     * Looks up the factory the annotation processor generated for a listener type
+     * Broken service providers, e.g. stale entries of a service file, are skipped, so that the type falls back to reflection
+     *
+     * @param type The listener type
+     * @return The generated factory or null if there is none
+     */
+    private static ListenerDefinitionFactory findGeneratedFactory(final Class<?> type) {
+        final String generatedName = ListenerDefinitionFactory.generatedName(type.getName());
+        final Iterator<ServiceLoader.Provider<ListenerDefinitionFactory>> providers = ServiceLoader.load(ListenerDefinitionFactory.class, type.getClassLoader()).stream().iterator();
+        while (true) {
+            try {
+                if (!providers.hasNext()) {
+                    return null;
+                }
+                final ServiceLoader.Provider<ListenerDefinitionFactory> provider = providers.next();
+                if (!provider.type().getName().equals(generatedName)) {
+                    continue;
+                }
+                final ListenerDefinitionFactory factory = provider.get();
+                if (factory.getListenerType() == type) {
+                    return factory;
+                }
+            } catch (final ServiceConfigurationError error) {
+                // The lookup moves past the broken provider, so the remaining ones are still considered
+                reportServiceError(error);
+            }
         }
+    }
 
-        return new ListenerDefinition(instance, methodDefinitions);
+    private static void reportServiceError(final ServiceConfigurationError error) {
+        if (REPORTED_SERVICE_ERRORS.add(String.valueOf(error.getMessage()))) {
+            LOGGER.warn("could not load a generated listener definition factory; falling back to reflection", error);
+        }
     }
 
     public Listener getInstance() {
@@ -0,0 +1,43 @@
+package pm.lus.eve.listener.definition;
+
+import pm.lus.eve.listener.Listener;
+
+/**
+ * Represents a factory building the definition of a specific listener type without using reflection
+ * Implementations are generated by the 'eve-processor' annotation processor and get picked up using a {@link java.util.ServiceLoader}
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public interface ListenerDefinitionFactory {
+
+    // The suffix appended to the flattened binary name of a listener class to get the name of its generated factory
+    String GENERATED_SUFFIX = "_EveDefinition";
+
+    /**
+     * Computes the name of the factory the annotation processor generates for the given listener class
+     * 'com.example.Outer$Inner' results in 'com.example.Outer_Inner_EveDefinition'
+     *
+     * @param binaryName The binary name of the listener class
+     * @return The binary name of the generated factory
+     */
+    static String generatedName(final String binaryName) {
+        final int packageEnd = binaryName.lastIndexOf('.');
+        return binaryName.substring(0, packageEnd + 1) + binaryName.substring(packageEnd + 1).replace('$', '_') + GENERATED_SUFFIX;
+    }
+
+    /**
+     * @return The exact listener type this factory builds definitions for
+     */
+    Class<? extends Listener> getListenerType();
+
+    /**
+     * Builds the definition of the given listener instance
+     *
+     * @param instance The listener instance; always of the type returned by {@link #getListenerType()}
+     * @return The built listener definition
+     */
+    ListenerDefinition build(Listener instance);
+
+}
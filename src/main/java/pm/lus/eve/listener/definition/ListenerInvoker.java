@@ -0,0 +1,88 @@
+package pm.lus.eve.listener.definition;
+
+import org.slf4j.LoggerFactory;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Represents a strongly-typed call of a single listener method which is bound to its listener instance
+ * Invokers are created once when a listener gets registered so that delivering an event does not involve reflection
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface ListenerInvoker {
+
+    /**
+     * Invokes the underlying listener method
+     *
+     * @param context The context of the event
+     * @param event   The event itself
+     * @throws Throwable Any exception thrown by the listener method
+     */
+    void invoke(EventContext context, Event event) throws Throwable;
+
+    /**
+     * Creates an invoker for the given listener method
+     * A class spun using the {@link LambdaMetafactory} is preferred as the JIT is able to inline it like any other call
+     * If the {@link LambdaMetafactory} rejects the listener method, a bound method handle is used
+     *
+     * @param instance The listener instance to bind the invoker to
+     * @param method   The listener method to invoke
+     * @return The created invoker
+     * @throws IllegalAccessException If the listener method is not accessible at all
+     */
+    static ListenerInvoker create(final Listener instance, final Method method) throws IllegalAccessException {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+        final MethodHandle handle = lookup.unreflect(method);
+
+        if (!Modifier.isStatic(method.getModifiers())) {
+            final CallSite callSite = metafactory(lookup, declaringClass, handle, method);
+            if (callSite != null) {
+                try {
+                    return (ListenerInvoker) callSite.getTarget().invoke(instance);
+                } catch (final RuntimeException | Error exception) {
+                    throw exception;
+                } catch (final Throwable throwable) {
+                    // The factory of the spun class does nothing but instantiate it
+                    throw new IllegalStateException("could not create the invoker of " + method, throwable);
+                }
+            }
+        }
+
+        final MethodHandle bound = (Modifier.isStatic(method.getModifiers()) ? handle : handle.bindTo(instance))
+                .asType(MethodType.methodType(void.class, EventContext.class, Event.class));
+        return (context, event) -> bound.invokeExact(context, event);
+    }
+
+    // Returns null if the listener class does not allow spinning an invoker class, so that a bound method handle gets used instead
+    private static CallSite metafactory(final MethodHandles.Lookup lookup, final Class<?> declaringClass, final MethodHandle handle, final Method method) {
+        try {
+            return LambdaMetafactory.metafactory(
+                    lookup,
+                    "invoke",
+                    MethodType.methodType(ListenerInvoker.class, declaringClass),
+                    MethodType.methodType(void.class, EventContext.class, Event.class),
+                    handle,
+                    MethodType.methodType(void.class, EventContext.class, method.getParameterTypes()[1])
+            );
+        } catch (final LambdaConversionException exception) {
+            LoggerFactory.getLogger(ListenerInvoker.class).debug("could not spin an invoker class for method '{}#{}'; falling back to a method handle", declaringClass.getName(), method.getName(), exception);
+            return null;
+        }
+    }
+
+}
@@ -1,13 +1,20 @@
 package pm.lus.eve.listener.definition;
 
 import pm.lus.eve.event.Event;
+import pm.lus.eve.listener.InlineListener;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Filter;
 import pm.lus.eve.listener.annotation.Listen;
+import pm.lus.eve.listener.filter.EqualityFilter;
 import pm.lus.eve.topic.ReceivingTopic;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -19,29 +26,236 @@ import java.util.stream.Collectors;
  */
 public class ListenerMethodDefinition {
 
+    private static final ReceivingTopic ALL_TOPICS = ReceivingTopic.compile("**");
+    private static final EqualityFilter[] NO_FILTERS = new EqualityFilter[0];
+
+    private final Listener listener;
     private final Method method;
+    private final String name;
+    private final ListenerInvoker invoker;
     private final Set<ReceivingTopic> receivingTopics;
     private final Class<? extends Event> receivingEventType;
+    private final boolean conflating;
+    private final EqualityFilter[] filters;
+    private final long timeoutMillis;
+    // Null if the method does not filter events using a predicate
+    private final Predicate<Event> predicate;
 
-    private ListenerMethodDefinition(final Method method, final Set<ReceivingTopic> receivingTopics, final Class<? extends Event> receivingEventType) {
+    private ListenerMethodDefinition(
+            final Listener listener,
+            final Method method,
+            final String name,
+            final ListenerInvoker invoker,
+            final Set<ReceivingTopic> receivingTopics,
+            final Class<? extends Event> receivingEventType,
+            final boolean conflating,
+            final EqualityFilter[] filters,
+            final long timeoutMillis,
+            final Predicate<Event> predicate
+    ) {
+        this.listener = listener;
         this.method = method;
+        this.name = name;
+        this.invoker = invoker;
         this.receivingTopics = receivingTopics;
         this.receivingEventType = receivingEventType;
+        this.conflating = conflating;
+        this.filters = filters;
+        this.timeoutMillis = timeoutMillis;
+        this.predicate = predicate;
     }
 
+    /**
+     * Builds the definition of a listener method which is not bound to any listener instance
+     * Only static listener methods can be invoked through it; use {@link #build(Listener, Method)} for all others
+     *
+     * @param method The listener method
+     * @return The built method definition
+     * @throws IllegalArgumentException If the listener method is not static or not accessible at all
+     * @deprecated Definitions are bound to their listener instance since listener methods got invoked without reflection
+     */
+    @Deprecated
     public static ListenerMethodDefinition build(final Method method) {
-        final Set<ReceivingTopic> receivingTopics = Arrays.stream(method.getAnnotation(Listen.class).value())
+        // Without an instance to bind to, invoking any other method would fail only once an event comes in
+        if (!Modifier.isStatic(method.getModifiers())) {
+            throw new IllegalArgumentException("the listener method " + method + " is not static; use build(Listener, Method) instead");
+        }
+        try {
+            return build(null, method);
+        } catch (final IllegalAccessException exception) {
+            throw new IllegalArgumentException("the listener method " + method + " is not accessible", exception);
+        }
+    }
+
+    /**
+     * Builds the definition of a listener method bound to the given listener instance
+     *
+     * @param listener The listener instance the method belongs to; may be null for static methods
+     * @param method   The listener method
+     * @return The built method definition
+     * @throws IllegalAccessException If the listener method is not accessible at all
+     */
+    public static ListenerMethodDefinition build(final Listener listener, final Method method) throws IllegalAccessException {
+        final Listen listen = method.getAnnotation(Listen.class);
+        final Set<ReceivingTopic> receivingTopics = Arrays.stream(listen.value())
                 .map(ReceivingTopic::compile)
-                .collect(Collectors.toCollection(ConcurrentHashMap::newKeySet));
-        final Class<? extends Event> receivingEventType = (Class<? extends Event>) method.getParameterTypes()[1];
+                .collect(Collectors.toUnmodifiableSet());
+        final Class<? extends Event> receivingEventType = method.getParameterTypes()[1].asSubclass(Event.class);
+
+        final EqualityFilter[] filters = Arrays.stream(method.getAnnotationsByType(Filter.class))
+                .map(filter -> EqualityFilter.of(filter.property(), filter.value()))
+                .toArray(EqualityFilter[]::new);
+
+        final ListenerInvoker invoker = ListenerInvoker.create(listener, method);
+
+        return new ListenerMethodDefinition(
+                listener,
+                method,
+                method.getDeclaringClass().getName() + "#" + method.getName(),
+                invoker,
+                receivingTopics,
+                receivingEventType,
+                listen.conflate(),
+                filters,
+                listen.timeout(),
+                null
+        );
+    }
+
+    /**
+     * Creates the definition of the only method of an inline listener
+     *
+     * @param listener The inline listener
+     * @param <T>      The type of the events the listener receives
+     * @return The created method definition
+     */
+    static <T extends Event> ListenerMethodDefinition inline(final InlineListener<T> listener) {
+        final Class<T> type = listener.getEventType();
+        final Predicate<? super T> filter = listener.getFilter();
+
+        return new ListenerMethodDefinition(
+                listener,
+                null,
+                InlineListener.class.getName() + "#receive",
+                (context, event) -> listener.receive(context, type.cast(event)),
+                Set.of(ALL_TOPICS),
+                type,
+                false,
+                NO_FILTERS,
+                0,
+                filter != null ? event -> filter.test(type.cast(event)) : null
+        );
+    }
+
+    /**
+     * Creates a method definition without using reflection
+     * This is used by the code generated by the annotation processor
+     *
+     * @param listener           The listener instance the method belongs to
+     * @param name               The name identifying the method ('&lt;class name&gt;#&lt;method name&gt;')
+     * @param receivingTopics    The topics the method receives events from
+     * @param receivingEventType The (super)type of the events the method receives
+     * @param invoker            The invoker directly calling the method
+     * @return The created method definition
+     */
+    public static ListenerMethodDefinition of(
+            final Listener listener,
+            final String name,
+            final ReceivingTopic[] receivingTopics,
+            final Class<? extends Event> receivingEventType,
+            final ListenerInvoker invoker
+    ) {
+        return of(listener, name, receivingTopics, receivingEventType, false, NO_FILTERS, invoker);
+    }
+
+    /**
+     * Creates a method definition without using reflection
+     * This is used by the code generated by the annotation processor
+     *
+     * @param listener           The listener instance the method belongs to
+     * @param name               The name identifying the method ('&lt;class name&gt;#&lt;method name&gt;')
+     * @param receivingTopics    The topics the method receives events from
+     * @param receivingEventType The (super)type of the events the method receives
+     * @param conflating         Whether or not pending events of the method get conflated (see {@link Listen#conflate()})
+     * @param filters            The equality filters events have to match (see {@link Filter})
+     * @param invoker            The invoker directly calling the method
+     * @return The created method definition
+     */
+    public static ListenerMethodDefinition of(
+            final Listener listener,
+            final String name,
+            final ReceivingTopic[] receivingTopics,
+            final Class<? extends Event> receivingEventType,
+            final boolean conflating,
+            final EqualityFilter[] filters,
+            final ListenerInvoker invoker
+    ) {
+        return of(listener, name, receivingTopics, receivingEventType, conflating, filters, 0, invoker);
+    }
+
+    /**
+     * Creates a method definition without using reflection
+     * This is used by the code generated by the annotation processor
+     *
+     * @param listener           The listener instance the method belongs to
+     * @param name               The name identifying the method ('&lt;class name&gt;#&lt;method name&gt;')
+     * @param receivingTopics    The topics the method receives events from
+     * @param receivingEventType The (super)type of the events the method receives
+     * @param conflating         Whether or not pending events of the method get conflated (see {@link Listen#conflate()})
+     * @param filters            The equality filters events have to match (see {@link Filter})
+     * @param timeoutMillis      The time an invocation may take before it is considered hung or 0 to use the default (see {@link Listen#timeout()})
+     * @param invoker            The invoker directly calling the method
+     * @return The created method definition
+     */
+    public static ListenerMethodDefinition of(
+            final Listener listener,
+            final String name,
+            final ReceivingTopic[] receivingTopics,
+            final Class<? extends Event> receivingEventType,
+            final boolean conflating,
+            final EqualityFilter[] filters,
+            final long timeoutMillis,
+            final ListenerInvoker invoker
+    ) {
+        return new ListenerMethodDefinition(
+                listener,
+                null,
+                name,
+                invoker,
+                Set.copyOf(Arrays.asList(receivingTopics)),
+                receivingEventType,
+                conflating,
+                filters,
+                timeoutMillis,
+                null
+        );
+    }
 
-        return new ListenerMethodDefinition(method, receivingTopics, receivingEventType);
+    public Listener getListener() {
+        return this.listener;
     }
 
+    /**
+     * @return The reflected listener method or null if this definition was generated at compile time or belongs to an inline listener
+     */
     public Method getMethod() {
         return this.method;
     }
 
+    /**
+     * @return The name identifying this method ('&lt;class name&gt;#&lt;method name&gt;')
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The invoker calling this method on its listener without using reflection
+     */
+    public ListenerInvoker getInvoker() {
+        return this.invoker;
+    }
+
     public Set<ReceivingTopic> getReceivingTopics() {
         return this.receivingTopics;
     }
@@ -50,4 +264,53 @@ public class ListenerMethodDefinition {
         return this.receivingEventType;
     }
 
+    /**
+     * @return Whether or not only the newest pending event per topic and partition key gets delivered to this method
+     */
+    public boolean isConflating() {
+        return this.conflating;
+    }
+
+    /**
+     * @return The time in milliseconds an invocation may take before the watchdog considers it hung or 0 to use the default of the watchdog
+     */
+    public long getTimeoutMillis() {
+        return this.timeoutMillis;
+    }
+
+    /**
+     * @return The equality filters events have to match to be received by this method
+     */
+    public List<EqualityFilter> getFilters() {
+        return Collections.unmodifiableList(Arrays.asList(this.filters));
+    }
+
+    /**
+     * @return Whether or not this method only receives some of the events sent to its topics
+     */
+    public boolean isFiltered() {
+        return this.filters.length > 0 || this.predicate != null;
+    }
+
+    /**
+     * Checks whether or not this method receives an event, evaluating all filters one after another
+     * The bus looks the equality filters up in an index instead and only uses this to check the remaining filters
+     *
+     * @param event The event to check
+     * @return Whether or not the event matches all filters of this method
+     */
+    public boolean accepts(final Event event) {
+        for (final EqualityFilter filter : this.filters) {
+            if (!filter.test(event)) {
+                return false;
+            }
+        }
+        return this.predicate == null || this.predicate.test(event);
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
 }
@@ -0,0 +1,152 @@
+package pm.lus.eve.listener.filter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pm.lus.eve.event.Event;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents a filter only accepting events whose property equals a specific value
+ * The accessor of the property is resolved once per event type and shared by all filters of the same property;
+ * values are compared using their string representation
+ * Events whose accessor throws never match; the first failure of every accessor is logged
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public final class EqualityFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EqualityFilter.class);
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final Map<String, ClassValue<Accessor>> ACCESSORS = new ConcurrentHashMap<>();
+
+    private final String property;
+    private final String value;
+    private final ClassValue<Accessor> accessors;
+
+    private EqualityFilter(final String property, final String value) {
+        this.property = property;
+        this.value = value;
+        this.accessors = ACCESSORS.computeIfAbsent(property, name -> new ClassValue<>() {
+            @Override
+            protected Accessor computeValue(final Class<?> type) {
+                return new Accessor(resolve(type, name));
+            }
+        });
+    }
+
+    /**
+     * Creates a new equality filter
+     *
+     * @param property The name of the event property to compare
+     * @param value    The string representation the property value has to equal
+     * @return The created equality filter
+     */
+    public static EqualityFilter of(final String property, final String value) {
+        return new EqualityFilter(property, value);
+    }
+
+    /**
+     * @return The name of the event property to compare
+     */
+    public String getProperty() {
+        return this.property;
+    }
+
+    /**
+     * @return The string representation the property value has to equal
+     */
+    public String getValue() {
+        return this.value;
+    }
+
+    /**
+     * Checks whether or not an event matches this filter
+     *
+     * @param event The event to check
+     * @return Whether or not the property value of the event equals the value of this filter
+     */
+    public boolean test(final Event event) {
+        return this.value.equals(this.keyOf(event));
+    }
+
+    /**
+     * Reads the property of an event this filter compares
+     *
+     * @param event The event to read the property of
+     * @return The string representation of the property value or null if the event does not have the property or reading it failed
+     */
+    public String keyOf(final Event event) {
+        final Accessor accessor = this.accessors.get(event.getClass());
+        if (accessor.handle == null) {
+            return null;
+        }
+
+        try {
+            return String.valueOf((Object) accessor.handle.invokeExact((Object) event));
+        } catch (final Throwable throwable) {
+            if (accessor.failed.compareAndSet(false, true)) {
+                LOGGER.warn("could not read property '{}' of '{}'; its events do not match filters on it", this.property, event.getClass().getName(), throwable);
+            }
+            return null;
+        }
+    }
+
+    private static MethodHandle resolve(final Class<?> type, final String property) {
+        final String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        for (final String name : new String[]{"get" + capitalized, "is" + capitalized, property}) {
+            try {
+                final Method method = type.getMethod(name);
+                if (method.getReturnType() != void.class && !Modifier.isStatic(method.getModifiers())) {
+                    method.setAccessible(true);
+                    return MethodHandles.lookup().unreflect(method).asType(ACCESSOR_TYPE);
+                }
+            } catch (final NoSuchMethodException | IllegalAccessException | RuntimeException ignored) {
+                // Try the next candidate
+            }
+        }
+
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                final Field field = current.getDeclaredField(property);
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    return MethodHandles.lookup().unreflectGetter(field).asType(ACCESSOR_TYPE);
+                }
+            } catch (final NoSuchFieldException | IllegalAccessException | RuntimeException ignored) {
+                // Try the superclass
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return this.property + "=" + this.value;
+    }
+
+    private static final class Accessor {
+
+        // Null for event types not having the property; their events never match
+        private final MethodHandle handle;
+        private final AtomicBoolean failed;
+
+        private Accessor(final MethodHandle handle) {
+            this.handle = handle;
+            this.failed = new AtomicBoolean();
+        }
+
+    }
+
+}
@@ -1,10 +1,11 @@
 package pm.lus.eve.topic;
 
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents an event topic listeners listen to
- * This class is subject to change in order not to use RegExes anymore
+ * '*' will match any part (without a dot), '**' will match any multiple parts (including dots)
  *
  * @author Lukas Schulte Pelkum
  * @version 0.1.0
@@ -12,10 +13,19 @@ import java.util.regex.Pattern;
  */
 public class ReceivingTopic {
 
-    private final Pattern pattern;
+    static final String SINGLE_WILDCARD = "*";
+    static final String MULTI_WILDCARD = "**";
 
-    private ReceivingTopic(final Pattern pattern) {
-        this.pattern = pattern;
+    private final String raw;
+    private final String[] segments;
+    private final Token[] tokens;
+    private final boolean segmentAligned;
+
+    private ReceivingTopic(final String raw, final String[] segments, final Token[] tokens, final boolean segmentAligned) {
+        this.raw = raw;
+        this.segments = segments;
+        this.tokens = tokens;
+        this.segmentAligned = segmentAligned;
     }
 
     /**
@@ -27,13 +37,67 @@ public class ReceivingTopic {
      * @return The compiled receiving topic
      */
     public static ReceivingTopic compile(final String raw) {
-        final String rawPattern = Pattern.quote(raw)
-                .replace("**", "\\E(.)+\\Q")
-                .replace("*", "\\E([^\\.]+)\\Q");
+        final List<Token> tokens = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < raw.length(); i++) {
+            final char character = raw.charAt(i);
+            if (character != '*') {
+                literal.append(character);
+                continue;
+            }
+
+            if (literal.length() > 0) {
+                tokens.add(Token.literal(literal.toString()));
+                literal.setLength(0);
+            }
+
+            // '**' takes precedence over '*', so '***' results in '**' followed by '*'
+            if (i + 1 < raw.length() && raw.charAt(i + 1) == '*') {
+                tokens.add(Token.MULTI);
+                i++;
+            } else {
+                tokens.add(Token.SINGLE);
+            }
+        }
+        if (literal.length() > 0) {
+            tokens.add(Token.literal(literal.toString()));
+        }
 
-        final Pattern pattern = Pattern.compile(rawPattern);
+        // Segments are interned so that comparing them to the interned segments of topic handles mostly boils down to a reference check
+        final String[] segments = split(raw);
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = segments[i].intern();
+        }
 
-        return new ReceivingTopic(pattern);
+        // A topic is segment aligned if wildcards only ever make up complete segments
+        boolean segmentAligned = true;
+        for (final String segment : segments) {
+            if (segment.indexOf('*') >= 0 && !segment.equals(SINGLE_WILDCARD) && !segment.equals(MULTI_WILDCARD)) {
+                segmentAligned = false;
+                break;
+            }
+        }
+
+        return new ReceivingTopic(raw, segments, tokens.toArray(new Token[0]), segmentAligned);
+    }
+
+    /**
+     * Splits a raw topic into its dot-separated segments, keeping empty ones
+     *
+     * @param raw The raw topic
+     * @return The segments of the topic
+     */
+    public static String[] split(final String raw) {
+        final List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < raw.length(); i++) {
+            if (raw.charAt(i) == '.') {
+                segments.add(raw.substring(start, i));
+                start = i + 1;
+            }
+        }
+        segments.add(raw.substring(start));
+        return segments.toArray(new String[0]);
     }
 
     /**
@@ -43,7 +107,84 @@ public class ReceivingTopic {
      * @return Whether or not it matches this receiving one
      */
     public boolean matches(final String raw) {
-        return this.pattern.matcher(raw).matches();
+        return this.matches(raw, 0, 0);
+    }
+
+    private boolean matches(final String raw, final int tokenIndex, final int position) {
+        if (tokenIndex == this.tokens.length) {
+            return position == raw.length();
+        }
+
+        final Token token = this.tokens[tokenIndex];
+        switch (token.type) {
+            case Token.TYPE_LITERAL:
+                return raw.startsWith(token.literal, position) && this.matches(raw, tokenIndex + 1, position + token.literal.length());
+            case Token.TYPE_SINGLE:
+                // Consumes at least one character but never a dot
+                for (int end = position + 1; end <= raw.length() && raw.charAt(end - 1) != '.'; end++) {
+                    if (this.matches(raw, tokenIndex + 1, end)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                // Consumes at least one character including dots
+                for (int end = position + 1; end <= raw.length(); end++) {
+                    if (this.matches(raw, tokenIndex + 1, end)) {
+                        return true;
+                    }
+                }
+                return false;
+        }
+    }
+
+    /**
+     * @return The raw string representation this topic was compiled from
+     */
+    public String getRaw() {
+        return this.raw;
+    }
+
+    /**
+     * @return The dot-separated segments of this topic
+     */
+    public String[] getSegments() {
+        return this.segments.clone();
+    }
+
+    /**
+     * @return Whether or not wildcards only ever make up complete segments of this topic (unlike 'foo*')
+     */
+    public boolean isSegmentAligned() {
+        return this.segmentAligned;
+    }
+
+    @Override
+    public String toString() {
+        return this.raw;
+    }
+
+    private static final class Token {
+
+        private static final int TYPE_LITERAL = 0;
+        private static final int TYPE_SINGLE = 1;
+        private static final int TYPE_MULTI = 2;
+
+        private static final Token SINGLE = new Token(TYPE_SINGLE, null);
+        private static final Token MULTI = new Token(TYPE_MULTI, null);
+
+        private final int type;
+        private final String literal;
+
+        private Token(final int type, final String literal) {
+            this.type = type;
+            this.literal = literal;
+        }
+
+        private static Token literal(final String literal) {
+            return new Token(TYPE_LITERAL, literal);
+        }
+
     }
 
 }
@@ -0,0 +1,144 @@
+package pm.lus.eve.topic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes values by the receiving topics they listen to using a trie of dot-separated topic segments
+ * Looking up the values matching an incoming topic therefore costs roughly O(topic depth) instead of O(subscriptions)
+ * Receiving topics using wildcards inside of a segment (like 'foo*') cannot be indexed and are checked one by one
+ * An index is not thread-safe while being built but may be read concurrently once it was built completely
+ *
+ * @param <T> The type of the indexed values
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class TopicIndex<T> {
+
+    private final Node<T> root;
+    private final List<UnalignedEntry<T>> unalignedEntries;
+
+    public TopicIndex() {
+        this.root = new Node<>();
+        this.unalignedEntries = new ArrayList<>();
+    }
+
+    /**
+     * Adds a value which should be returned for every topic the given receiving topic matches
+     *
+     * @param topic The receiving topic to index the value under
+     * @param value The value to index
+     * @return The new index state
+     */
+    public TopicIndex<T> add(final ReceivingTopic topic, final T value) {
+        if (!topic.isSegmentAligned()) {
+            this.unalignedEntries.add(new UnalignedEntry<>(topic, value));
+            return this;
+        }
+
+        Node<T> node = this.root;
+        for (final String segment : topic.getSegments()) {
+            node = node.child(segment);
+        }
+        node.values.add(value);
+        return this;
+    }
+
+    /**
+     * Looks up all values whose receiving topics match the given raw incoming topic
+     * Values indexed under multiple matching receiving topics are only contained once
+     *
+     * @param topic The raw incoming topic
+     * @return The matching values in no particular order
+     */
+    public Set<T> match(final String topic) {
+        return this.match(topic, ReceivingTopic.split(topic));
+    }
+
+    /**
+     * Looks up all values whose receiving topics match the given raw incoming topic which has already been split
+     *
+     * @param topic    The raw incoming topic
+     * @param segments The segments of the raw incoming topic as returned by {@link ReceivingTopic#split(String)}
+     * @return The matching values in no particular order
+     */
+    public Set<T> match(final String topic, final String[] segments) {
+        final Set<T> result = new LinkedHashSet<>();
+        collect(this.root, segments, 0, result);
+        for (final UnalignedEntry<T> entry : this.unalignedEntries) {
+            if (entry.topic.matches(topic)) {
+                result.add(entry.value);
+            }
+        }
+        return result;
+    }
+
+    private static <T> void collect(final Node<T> node, final String[] segments, final int index, final Set<T> result) {
+        if (index == segments.length) {
+            result.addAll(node.values);
+            return;
+        }
+
+        final String segment = segments[index];
+
+        final Node<T> literal = node.literals.get(segment);
+        if (literal != null) {
+            collect(literal, segments, index + 1, result);
+        }
+
+        // '*' matches exactly one non-empty segment
+        if (node.single != null && !segment.isEmpty()) {
+            collect(node.single, segments, index + 1, result);
+        }
+
+        // '**' matches one or more segments as long as they do not make up an empty string
+        if (node.multi != null) {
+            for (int next = segment.isEmpty() ? index + 2 : index + 1; next <= segments.length; next++) {
+                collect(node.multi, segments, next, result);
+            }
+        }
+    }
+
+    private static final class Node<T> {
+
+        private final Map<String, Node<T>> literals = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+        private Node<T> single;
+        private Node<T> multi;
+
+        private Node<T> child(final String segment) {
+            if (segment.equals(ReceivingTopic.MULTI_WILDCARD)) {
+                if (this.multi == null) {
+                    this.multi = new Node<>();
+                }
+                return this.multi;
+            }
+            if (segment.equals(ReceivingTopic.SINGLE_WILDCARD)) {
+                if (this.single == null) {
+                    this.single = new Node<>();
+                }
+                return this.single;
+            }
+            return this.literals.computeIfAbsent(segment, key -> new Node<>());
+        }
+
+    }
+
+    private static final class UnalignedEntry<T> {
+
+        private final ReceivingTopic topic;
+        private final T value;
+
+        private UnalignedEntry(final ReceivingTopic topic, final T value) {
+            this.topic = topic;
+            this.value = value;
+        }
+
+    }
+
+}
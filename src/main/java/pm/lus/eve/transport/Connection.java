@@ -0,0 +1,267 @@
+package pm.lus.eve.transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pm.lus.eve.collection.MpscQueue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents a non-blocking, length-prefixed framed connection driven by a {@link TransportLoop}
+ * Frames sent by any thread are queued and coalesced into as few socket writes as possible by the loop thread
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class Connection implements TransportLoop.Handler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Connection.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TransportLoop loop;
+    private final SocketChannel channel;
+    private final String remote;
+    private final FrameHandler frameHandler;
+
+    private final MpscQueue<ByteBuffer> outbound;
+    private final AtomicBoolean flushScheduled;
+    private final Runnable flushTask;
+
+    // Only accessed by the loop thread; the write buffer is always kept in fill mode
+    private final ByteBuffer writeBuffer;
+    private ByteBuffer readBuffer;
+    private ByteBuffer pendingFrame;
+    private SelectionKey key;
+    private volatile boolean closed;
+
+    Connection(final TransportLoop loop, final SocketChannel channel, final FrameHandler frameHandler) throws IOException {
+        this.loop = loop;
+        this.channel = channel;
+        final InetSocketAddress address = (InetSocketAddress) channel.getRemoteAddress();
+        this.remote = "tcp://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+        this.frameHandler = frameHandler;
+        this.outbound = new MpscQueue<>();
+        this.flushScheduled = new AtomicBoolean();
+        this.flushTask = this::flush;
+        this.writeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.readBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    /**
+     * Registers the connection with the selector of its loop; has to be called on the loop thread
+     *
+     * @throws IOException If the channel could not be registered
+     */
+    void register() throws IOException {
+        this.channel.configureBlocking(false);
+        this.key = this.channel.register(this.loop.getSelector(), SelectionKey.OP_READ, this);
+    }
+
+    /**
+     * @return The identifier of the remote end of this connection
+     */
+    String getRemote() {
+        return this.remote;
+    }
+
+    boolean isClosed() {
+        return this.closed;
+    }
+
+    /**
+     * Queues a frame to be written; may be called by any thread
+     * Only the first frame queued since the last flush schedules another flush, so bursts of frames share a single write
+     *
+     * @param frame The frame to write, ready to be read
+     */
+    void send(final ByteBuffer frame) {
+        if (this.closed) {
+            return;
+        }
+        this.outbound.offer(frame);
+        if (this.flushScheduled.compareAndSet(false, true)) {
+            this.loop.execute(this.flushTask);
+        }
+    }
+
+    @Override
+    public void handle(final SelectionKey key) throws IOException {
+        if (key.isReadable()) {
+            this.read();
+        }
+        if (key.isValid() && key.isWritable()) {
+            this.write();
+        }
+    }
+
+    private void read() throws IOException {
+        if (this.channel.read(this.readBuffer) < 0) {
+            this.close();
+            return;
+        }
+
+        this.readBuffer.flip();
+        while (this.readBuffer.remaining() >= 4) {
+            final int length = this.readBuffer.getInt(this.readBuffer.position());
+            if (length <= 0 || length > Frames.MAX_FRAME_SIZE) {
+                throw new IOException("invalid frame length " + length + " received from " + this.remote);
+            }
+            if (this.readBuffer.remaining() < 4 + length) {
+                break;
+            }
+
+            final int start = this.readBuffer.position() + 4;
+            final byte type = this.readBuffer.get(start);
+            final ByteBuffer payload = this.readBuffer.duplicate();
+            payload.position(start + 1).limit(start + length);
+            this.frameHandler.handle(this, type, payload.slice());
+            // The handler may have failed the connection
+            if (this.closed) {
+                return;
+            }
+            this.readBuffer.position(start + length);
+        }
+        this.readBuffer.compact();
+
+        // Grow the buffer for frames which do not fit into it
+        if (this.readBuffer.position() >= 4) {
+            final int required = 4 + this.readBuffer.getInt(0);
+            if (required > this.readBuffer.capacity()) {
+                final ByteBuffer grown = ByteBuffer.allocate(required);
+                this.readBuffer.flip();
+                grown.put(this.readBuffer);
+                this.readBuffer = grown;
+            }
+        }
+    }
+
+    private void flush() {
+        this.flushScheduled.set(false);
+        if (this.closed) {
+            return;
+        }
+
+        try {
+            this.write();
+        } catch (final IOException | RuntimeException exception) {
+            this.fail(exception);
+        }
+    }
+
+    private void write() throws IOException {
+        while (true) {
+            if (this.pendingFrame == null) {
+                this.pendingFrame = this.outbound.poll();
+            }
+            while (this.pendingFrame != null && this.writeBuffer.remaining() >= this.pendingFrame.remaining()) {
+                this.writeBuffer.put(this.pendingFrame);
+                this.pendingFrame = this.outbound.poll();
+            }
+
+            this.writeBuffer.flip();
+            if (!this.writeBuffer.hasRemaining()) {
+                this.writeBuffer.clear();
+                if (this.pendingFrame == null) {
+                    this.setWriteInterest(false);
+                    return;
+                }
+
+                // The frame is larger than the whole write buffer, so it gets written on its own
+                this.channel.write(this.pendingFrame);
+                if (this.pendingFrame.hasRemaining()) {
+                    this.setWriteInterest(true);
+                    return;
+                }
+                this.pendingFrame = null;
+                continue;
+            }
+
+            this.channel.write(this.writeBuffer);
+            if (this.writeBuffer.hasRemaining()) {
+                this.writeBuffer.compact();
+                this.setWriteInterest(true);
+                return;
+            }
+            this.writeBuffer.clear();
+        }
+    }
+
+    private void setWriteInterest(final boolean interested) {
+        final int ops = interested ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (this.key != null && this.key.isValid() && this.key.interestOps() != ops) {
+            this.key.interestOps(ops);
+        }
+    }
+
+    /**
+     * Closes the connection after a failure; has to be called on the loop thread
+     *
+     * @param exception The exception describing the failure
+     */
+    @Override
+    public void fail(final Exception exception) {
+        if (!this.closed) {
+            LOGGER.warn("closing connection to {} after a failure", this.remote, exception);
+        }
+        this.close();
+    }
+
+    /**
+     * Writes whatever can be written without blocking and closes the channel; has to be called on the loop thread
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+
+        try {
+            this.write();
+        } catch (final IOException ignored) {
+            // The channel gets closed anyway
+        }
+        this.closed = true;
+        try {
+            this.channel.close();
+        } catch (final IOException exception) {
+            LOGGER.warn("could not close connection to {}", this.remote, exception);
+        }
+        this.frameHandler.closed(this);
+    }
+
+    /**
+     * Represents the receiver of the frames read from a connection
+     *
+     * @author Lukas Schulte Pelkum
+     * @version 0.1.0
+     * @since 0.1.0
+     */
+    interface FrameHandler {
+
+        /**
+         * Gets called on the loop thread for every complete frame
+         *
+         * @param connection The connection the frame was read from
+         * @param type       The type of the frame
+         * @param payload    The payload of the frame; only valid until this method returns
+         */
+        void handle(Connection connection, byte type, ByteBuffer payload);
+
+        /**
+         * Gets called on the loop thread once the connection got closed
+         *
+         * @param connection The closed connection
+         */
+        default void closed(final Connection connection) {
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package pm.lus.eve.transport;
+
+import pm.lus.eve.codec.CodecRegistry;
+import pm.lus.eve.event.Event;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Contains the wire format shared by {@link TcpEventBridge} and {@link TcpEventAcceptor}
+ * Every frame consists of its length (4 bytes, not including the length itself), its type (1 byte) and the payload of the type
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class Frames {
+
+    // length (4) + type (1)
+    static final int HEADER_SIZE = 5;
+    static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    // The payload is a topic and an event as written by CodecRegistry#encode(String, Event, ByteBuffer)
+    static final byte EVENT = 1;
+    // The payload is the amount of receiving topics (4) followed by the length (2) and UTF-8 bytes of every single one
+    static final byte SUBSCRIBE = 2;
+
+    private Frames() {
+    }
+
+    /**
+     * Encodes an event frame
+     *
+     * @param codec The codec to encode the event with
+     * @param topic The raw topic the event belongs to
+     * @param event The event itself
+     * @return The frame, ready to be written
+     */
+    static ByteBuffer event(final CodecRegistry codec, final String topic, final Event event) {
+        final int size = codec.sizeOf(topic, event);
+        final ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + size);
+        frame.putInt(1 + size);
+        frame.put(EVENT);
+        codec.encode(topic, event, frame);
+        return frame.flip();
+    }
+
+    /**
+     * Encodes a subscribe frame replacing all receiving topics the remote node knows about
+     *
+     * @param topics The raw receiving topics
+     * @return The frame, ready to be written
+     */
+    static ByteBuffer subscribe(final Collection<String> topics) {
+        final byte[][] encoded = new byte[topics.size()][];
+        int size = 4;
+        int i = 0;
+        for (final String topic : topics) {
+            encoded[i] = topic.getBytes(StandardCharsets.UTF_8);
+            size += 2 + encoded[i].length;
+            i++;
+        }
+
+        final ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + size);
+        frame.putInt(1 + size);
+        frame.put(SUBSCRIBE);
+        frame.putInt(encoded.length);
+        for (final byte[] topic : encoded) {
+            frame.putShort((short) topic.length);
+            frame.put(topic);
+        }
+        return frame.flip();
+    }
+
+    /**
+     * Decodes the payload of a subscribe frame
+     *
+     * @param payload The payload of the frame
+     * @return The raw receiving topics
+     */
+    static Set<String> readSubscribe(final ByteBuffer payload) {
+        final int count = payload.getInt();
+        final Set<String> topics = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            final byte[] topic = new byte[payload.getShort() & 0xFFFF];
+            payload.get(topic);
+            topics.add(new String(topic, StandardCharsets.UTF_8));
+        }
+        return topics;
+    }
+
+}
@@ -0,0 +1,220 @@
+package pm.lus.eve.transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pm.lus.eve.bus.EventBus;
+import pm.lus.eve.codec.CodecRegistry;
+import pm.lus.eve.codec.DecodedEvent;
+import pm.lus.eve.collection.Snapshot;
+import pm.lus.eve.listener.definition.ListenerDefinition;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+import pm.lus.eve.topic.ReceivingTopic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accepts connections of {@link TcpEventBridge}s of other nodes and emits the events they send into the local bus
+ * Every connected bridge gets told which topics the listeners of the local bus receive, so it only sends events someone listens for;
+ * the receiving topics get sent again whenever the registered listeners change
+ * Received events are emitted using {@link EventBus#emitFrom(String, String, pm.lus.eve.event.Event)}, so they do not get bridged back
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class TcpEventAcceptor implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TcpEventAcceptor.class);
+
+    private final EventBus bus;
+    private final CodecRegistry codec;
+    private final ServerSocketChannel server;
+    private final Set<Connection> connections;
+    private final LongAdder received;
+    private final TransportLoop loop;
+
+    // Only accessed by the loop thread
+    private long listenerVersion;
+    private Set<String> subscriptions;
+
+    private TcpEventAcceptor(final EventBus bus, final CodecRegistry codec, final ServerSocketChannel server) throws IOException {
+        this.bus = bus;
+        this.codec = codec;
+        this.server = server;
+        this.connections = ConcurrentHashMap.newKeySet();
+        this.received = new LongAdder();
+        this.listenerVersion = -1;
+        this.subscriptions = Collections.emptySet();
+        this.loop = new TransportLoop("eve-acceptor-" + this.getAddress().getPort(), this::refreshSubscriptions);
+        this.loop.execute(() -> {
+            try {
+                this.server.register(this.loop.getSelector(), SelectionKey.OP_ACCEPT, new ServerHandler());
+            } catch (final IOException exception) {
+                // An acceptor which cannot accept anything must not keep its port bound
+                LOGGER.error("could not register the acceptor listening on {}", this.getAddress(), exception);
+                this.closeServer();
+                this.close();
+            }
+        });
+    }
+
+    /**
+     * Opens an acceptor listening on the given address
+     *
+     * @param bus     The bus to emit received events into
+     * @param codec   The codec to decode received events with; has to know the same event types as the codecs of the connecting bridges
+     * @param address The address to listen on; use port 0 to pick a free port (see {@link #getAddress()})
+     * @return The opened acceptor
+     * @throws IOException If the address could not be bound
+     */
+    public static TcpEventAcceptor open(final EventBus bus, final CodecRegistry codec, final InetSocketAddress address) throws IOException {
+        final ServerSocketChannel server = ServerSocketChannel.open();
+        try {
+            server.bind(address);
+            server.configureBlocking(false);
+            return new TcpEventAcceptor(bus, codec, server);
+        } catch (final IOException exception) {
+            server.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * @return The address this acceptor listens on
+     */
+    public InetSocketAddress getAddress() {
+        try {
+            return (InetSocketAddress) this.server.getLocalAddress();
+        } catch (final IOException exception) {
+            throw new IllegalStateException("the acceptor has been closed", exception);
+        }
+    }
+
+    /**
+     * @return The amount of currently connected bridges
+     */
+    public int getConnectionCount() {
+        return this.connections.size();
+    }
+
+    /**
+     * @return The amount of events received and emitted into the local bus
+     */
+    public long getReceived() {
+        return this.received.sum();
+    }
+
+    private void refreshSubscriptions() {
+        final Snapshot<ListenerDefinition> listenerDefinitions = this.bus.listeners().snapshot();
+        if (listenerDefinitions.getVersion() == this.listenerVersion) {
+            return;
+        }
+        this.listenerVersion = listenerDefinitions.getVersion();
+
+        final Set<String> topics = new TreeSet<>();
+        for (final ListenerDefinition listenerDefinition : listenerDefinitions) {
+            for (final ListenerMethodDefinition methodDefinition : listenerDefinition.getMethodDefinitions()) {
+                for (final ReceivingTopic receivingTopic : methodDefinition.getReceivingTopics()) {
+                    topics.add(receivingTopic.getRaw());
+                }
+            }
+        }
+        if (topics.equals(this.subscriptions)) {
+            return;
+        }
+
+        this.subscriptions = topics;
+        final ByteBuffer frame = Frames.subscribe(topics);
+        for (final Connection connection : this.connections) {
+            connection.send(frame.duplicate());
+        }
+    }
+
+    /**
+     * Stops accepting connections and closes all accepted ones
+     */
+    @Override
+    public void close() {
+        this.loop.close();
+    }
+
+    private void closeServer() {
+        try {
+            this.server.close();
+        } catch (final IOException exception) {
+            LOGGER.warn("could not close the server channel", exception);
+        }
+    }
+
+    private final class ServerHandler implements TransportLoop.Handler, Connection.FrameHandler {
+
+        @Override
+        public void handle(final SelectionKey key) throws IOException {
+            final SocketChannel channel = TcpEventAcceptor.this.server.accept();
+            if (channel == null) {
+                return;
+            }
+            final Connection connection;
+            try {
+                channel.socket().setTcpNoDelay(true);
+                connection = new Connection(TcpEventAcceptor.this.loop, channel, this);
+                connection.register();
+            } catch (final IOException | RuntimeException exception) {
+                LOGGER.warn("could not set up an accepted connection", exception);
+                channel.close();
+                return;
+            }
+            TcpEventAcceptor.this.connections.add(connection);
+
+            TcpEventAcceptor.this.refreshSubscriptions();
+            connection.send(Frames.subscribe(TcpEventAcceptor.this.subscriptions));
+        }
+
+        @Override
+        public void handle(final Connection connection, final byte type, final ByteBuffer payload) {
+            if (type != Frames.EVENT) {
+                return;
+            }
+
+            // A peer sending events the local codec does not know is misconfigured, so it gets disconnected instead of flooding the log
+            final DecodedEvent decoded;
+            try {
+                decoded = TcpEventAcceptor.this.codec.decodeWithTopic(payload);
+            } catch (final RuntimeException exception) {
+                connection.fail(exception);
+                return;
+            }
+            TcpEventAcceptor.this.received.increment();
+            TcpEventAcceptor.this.bus.emitFrom(connection.getRemote(), decoded.getTopic(), decoded.getEvent());
+        }
+
+        @Override
+        public void closed(final Connection connection) {
+            TcpEventAcceptor.this.connections.remove(connection);
+        }
+
+        @Override
+        public void fail(final Exception exception) {
+            // Accepting may fail temporarily, e.g. when running out of file descriptors, so the server stays open
+            LOGGER.warn("could not accept a connection", exception);
+        }
+
+        @Override
+        public void close() {
+            TcpEventAcceptor.this.closeServer();
+        }
+
+    }
+
+}
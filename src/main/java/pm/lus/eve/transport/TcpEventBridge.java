@@ -0,0 +1,192 @@
+package pm.lus.eve.transport;
+
+import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.codec.CodecRegistry;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.topic.ReceivingTopic;
+import pm.lus.eve.topic.TopicIndex;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Forwards events to the {@link TcpEventAcceptor} of another node over a single non-blocking TCP connection
+ * Only events whose topics are received by a listener of the remote node and whose types are known to the codec are sent;
+ * events which were received from another node themselves are never forwarded, so nodes connected in both directions do not loop events
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+public class TcpEventBridge extends EventBridge<Event> {
+
+    private static final long HANDSHAKE_TIMEOUT_MILLIS = 10_000;
+
+    // The amount of topics whose matching result is remembered per subscription state
+    private static final int MAX_REMEMBERED_TOPICS = 1024;
+
+    private final CodecRegistry codec;
+    private final TransportLoop loop;
+    private final Connection connection;
+    private final CompletableFuture<Void> handshake;
+    private final LongAdder forwarded;
+    private volatile Subscriptions subscriptions;
+
+    private TcpEventBridge(final CodecRegistry codec, final SocketChannel channel) throws IOException {
+        this.codec = codec;
+        this.handshake = new CompletableFuture<>();
+        this.forwarded = new LongAdder();
+        this.subscriptions = new Subscriptions(Collections.emptySet());
+        this.loop = new TransportLoop("eve-bridge-" + channel.getRemoteAddress(), null);
+        this.connection = new Connection(this.loop, channel, new FrameHandler());
+        this.loop.execute(() -> {
+            try {
+                this.connection.register();
+            } catch (final IOException exception) {
+                this.connection.fail(exception);
+            }
+        });
+    }
+
+    /**
+     * Connects to the acceptor listening on the given address
+     * This returns once the acceptor told which topics its node receives
+     *
+     * @param codec   The codec to encode events with; event types it does not know are not forwarded
+     * @param address The address of the acceptor
+     * @return The connected bridge; has to be registered with a bus
+     * @throws IOException If the connection could not be established
+     */
+    public static TcpEventBridge connect(final CodecRegistry codec, final InetSocketAddress address) throws IOException {
+        final SocketChannel channel = SocketChannel.open(address);
+        channel.socket().setTcpNoDelay(true);
+
+        final TcpEventBridge bridge;
+        try {
+            bridge = new TcpEventBridge(codec, channel);
+        } catch (final IOException exception) {
+            channel.close();
+            throw exception;
+        }
+
+        try {
+            bridge.handshake.get(HANDSHAKE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            return bridge;
+        } catch (final ExecutionException | TimeoutException exception) {
+            bridge.close();
+            throw new IOException("the acceptor at " + address + " did not send its subscriptions", exception);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            bridge.close();
+            throw new IOException("interrupted while connecting to " + address, exception);
+        }
+    }
+
+    @Override
+    protected void receive(final EventContext context, final Event event) {
+        if (context.getOrigin() != null || this.connection.isClosed()) {
+            return;
+        }
+        if (!this.subscriptions.matches(context.getTopic()) || !this.codec.supports(event.getClass())) {
+            return;
+        }
+
+        this.connection.send(Frames.event(this.codec, context.getTopic(), event));
+        this.forwarded.increment();
+    }
+
+    @Override
+    protected Class<Event> getEventType() {
+        return Event.class;
+    }
+
+    /**
+     * @return The raw receiving topics of the listeners of the remote node
+     */
+    public Set<String> getRemoteSubscriptions() {
+        return this.subscriptions.topics;
+    }
+
+    /**
+     * @return The amount of events sent to the remote node
+     */
+    public long getForwarded() {
+        return this.forwarded.sum();
+    }
+
+    /**
+     * @return Whether or not the connection to the remote node is still open
+     */
+    public boolean isConnected() {
+        return !this.connection.isClosed();
+    }
+
+    /**
+     * Writes all pending events and closes the connection
+     */
+    @Override
+    public void close() {
+        this.loop.close();
+    }
+
+    private final class FrameHandler implements Connection.FrameHandler {
+
+        @Override
+        public void handle(final Connection connection, final byte type, final ByteBuffer payload) {
+            if (type != Frames.SUBSCRIBE) {
+                return;
+            }
+            TcpEventBridge.this.subscriptions = new Subscriptions(Frames.readSubscribe(payload));
+            TcpEventBridge.this.handshake.complete(null);
+        }
+
+        @Override
+        public void closed(final Connection connection) {
+            TcpEventBridge.this.handshake.completeExceptionally(new IOException("the connection got closed"));
+        }
+
+    }
+
+    private static final class Subscriptions {
+
+        private final Set<String> topics;
+        private final TopicIndex<String> index;
+        private final Map<String, Boolean> remembered;
+
+        private Subscriptions(final Set<String> topics) {
+            this.topics = Collections.unmodifiableSet(topics);
+            this.index = new TopicIndex<>();
+            for (final String topic : topics) {
+                this.index.add(ReceivingTopic.compile(topic), topic);
+            }
+            this.remembered = new ConcurrentHashMap<>();
+        }
+
+        private boolean matches(final String topic) {
+            final Boolean remembered = this.remembered.get(topic);
+            if (remembered != null) {
+                return remembered;
+            }
+
+            final boolean matches = !this.index.match(topic).isEmpty();
+            if (this.remembered.size() < MAX_REMEMBERED_TOPICS) {
+                this.remembered.put(topic, matches);
+            }
+            return matches;
+        }
+
+    }
+
+}
@@ -0,0 +1,167 @@
+package pm.lus.eve.transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pm.lus.eve.collection.MpscQueue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents a single thread multiplexing the non-blocking channels of a bridge or an acceptor using a {@link Selector}
+ * Other threads hand work over using {@link #execute(Runnable)}; wakeups of the selector are coalesced until the loop ran again
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 0.1.0
+ * @since 0.1.0
+ */
+final class TransportLoop implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransportLoop.class);
+
+    // The maximum time the loop sleeps before running its tick
+    private static final long TICK_MILLIS = 50;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    private final Selector selector;
+    private final Thread thread;
+    private final MpscQueue<Runnable> tasks;
+    private final AtomicBoolean wakeupPending;
+    // Null if nothing has to be done periodically
+    private final Runnable tick;
+    private volatile boolean running;
+
+    TransportLoop(final String name, final Runnable tick) throws IOException {
+        this.selector = Selector.open();
+        this.tasks = new MpscQueue<>();
+        this.wakeupPending = new AtomicBoolean();
+        this.tick = tick;
+        this.running = true;
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    Selector getSelector() {
+        return this.selector;
+    }
+
+    /**
+     * Runs a task on the loop thread
+     *
+     * @param task The task to run
+     */
+    void execute(final Runnable task) {
+        this.tasks.offer(task);
+        if (this.wakeupPending.compareAndSet(false, true)) {
+            this.selector.wakeup();
+        }
+    }
+
+    private void run() {
+        while (this.running) {
+            try {
+                this.selector.select(TICK_MILLIS);
+            } catch (final IOException exception) {
+                // The channels get closed below as the loop cannot drive them anymore
+                LOGGER.error("the selector of transport loop '{}' failed", this.thread.getName(), exception);
+                break;
+            }
+
+            // Reset before draining so that tasks offered from now on wake the selector up again
+            this.wakeupPending.set(false);
+            this.runTasks();
+
+            final Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                final SelectionKey key = keys.next();
+                keys.remove();
+                final Handler handler = (Handler) key.attachment();
+                try {
+                    handler.handle(key);
+                } catch (final IOException | RuntimeException exception) {
+                    handler.fail(exception);
+                }
+            }
+
+            if (this.tick != null) {
+                this.tick.run();
+            }
+        }
+
+        // Tasks offered while closing may still flush data
+        this.runTasks();
+        for (final SelectionKey key : this.selector.keys()) {
+            ((Handler) key.attachment()).close();
+        }
+        try {
+            this.selector.close();
+        } catch (final IOException exception) {
+            LOGGER.warn("could not close the selector of transport loop '{}'", this.thread.getName(), exception);
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = this.tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (final RuntimeException exception) {
+                LOGGER.error("a task of transport loop '{}' failed", this.thread.getName(), exception);
+            }
+        }
+    }
+
+    /**
+     * Stops the loop and closes all of its channels after trying to write pending data one last time
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        this.selector.wakeup();
+        if (Thread.currentThread() == this.thread) {
+            return;
+        }
+        try {
+            this.thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Represents the handler attached to every channel registered with the selector of a loop
+     *
+     * @author Lukas Schulte Pelkum
+     * @version 0.1.0
+     * @since 0.1.0
+     */
+    interface Handler {
+
+        /**
+         * Gets called on the loop thread whenever the channel is ready for one of its interest operations
+         *
+         * @param key The selection key of the channel
+         * @throws IOException If an I/O error occurs; the handler gets failed afterwards
+         */
+        void handle(SelectionKey key) throws IOException;
+
+        /**
+         * Gets called on the loop thread whenever handling the channel failed
+         *
+         * @param exception The exception describing the failure
+         */
+        void fail(Exception exception);
+
+        /**
+         * Gets called on the loop thread once the loop stops
+         */
+        void close();
+
+    }
+
+}
@@ -0,0 +1,164 @@
+package pm.lus.eve.bridge;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.bus.EventBus;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.src.SimpleEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class BatchingEventBridgeTests {
+
+    @Test
+    public void fullBatchesGetDelivered() {
+        final EventBus bus = new EventBus();
+        final RecordingBridge bridge = new RecordingBridge(3, Duration.ofHours(1), Long.MAX_VALUE);
+        bus.bridges().add(bridge);
+
+        for (int i = 0; i < 7; i++) {
+            bus.emit("foo.bar", new SimpleEvent()).join();
+        }
+
+        Assertions.assertEquals(List.of(3, 3), bridge.batchSizes);
+
+        bus.close();
+        Assertions.assertEquals(List.of(3, 3, 1), bridge.batchSizes);
+    }
+
+    @Test
+    public void byteLimitedBatchesGetDelivered() {
+        final EventBus bus = new EventBus();
+        final RecordingBridge bridge = new RecordingBridge(100, Duration.ofHours(1), 20);
+        bus.bridges().add(bridge);
+
+        for (int i = 0; i < 5; i++) {
+            bus.emitSync("foo.bar", new SimpleEvent());
+        }
+
+        Assertions.assertEquals(List.of(2, 2), bridge.batchSizes);
+    }
+
+    @Test
+    public void lingeringBatchesGetDelivered() throws InterruptedException {
+        final EventBus bus = new EventBus();
+        final RecordingBridge bridge = new RecordingBridge(100, Duration.ofMillis(10), Long.MAX_VALUE);
+        bus.bridges().add(bridge);
+
+        bus.emit("foo.bar", new SimpleEvent()).join();
+        bus.emit("foo.bar", new SimpleEvent()).join();
+
+        Assertions.assertTrue(bridge.delivered.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(2), bridge.batchSizes);
+    }
+
+    @Test
+    public void eventsRacingCloseAreNeitherLostNorReordered() throws InterruptedException {
+        final EventBus bus = new EventBus();
+        final SequenceBridge bridge = new SequenceBridge();
+        bus.bridges().add(bridge);
+
+        final int threads = 4;
+        final int events = 20_000;
+        final CountDownLatch started = new CountDownLatch(threads);
+        final List<Thread> emitters = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final int emitter = i;
+            final Thread thread = new Thread(() -> {
+                started.countDown();
+                for (int sequence = 0; sequence < events; sequence++) {
+                    bus.emitSync("foo.bar", new SequencedEvent(emitter, sequence));
+                }
+            });
+            emitters.add(thread);
+            thread.start();
+        }
+
+        started.await();
+        bridge.close();
+        for (final Thread thread : emitters) {
+            thread.join();
+        }
+
+        // The linger time is an hour, so every event buffered after the final batch would be missing
+        Assertions.assertEquals(threads * events, bridge.received);
+        Assertions.assertFalse(bridge.reordered);
+    }
+
+    private static class RecordingBridge extends BatchingEventBridge<SimpleEvent> {
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch delivered = new CountDownLatch(1);
+
+        private RecordingBridge(final int maxBatchSize, final Duration linger, final long maxBytes) {
+            super(maxBatchSize, linger, maxBytes);
+        }
+
+        @Override
+        protected void receiveBatch(final List<BatchedEvent<SimpleEvent>> batch) {
+            this.batchSizes.add(batch.size());
+            this.delivered.countDown();
+        }
+
+        @Override
+        protected long sizeOf(final EventContext context, final SimpleEvent event) {
+            return 10;
+        }
+
+        @Override
+        protected Class<SimpleEvent> getEventType() {
+            return SimpleEvent.class;
+        }
+
+    }
+
+    private static class SequenceBridge extends BatchingEventBridge<SequencedEvent> {
+
+        private final Map<Integer, Integer> lastSequences = new HashMap<>();
+        private int received;
+        private boolean reordered;
+
+        private SequenceBridge() {
+            super(64, Duration.ofHours(1));
+        }
+
+        @Override
+        protected void receiveBatch(final List<BatchedEvent<SequencedEvent>> batch) {
+            for (final BatchedEvent<SequencedEvent> batched : batch) {
+                final SequencedEvent event = batched.getEvent();
+                final Integer last = this.lastSequences.put(event.emitter, event.sequence);
+                if (last != null && last >= event.sequence) {
+                    this.reordered = true;
+                }
+                this.received++;
+            }
+        }
+
+        @Override
+        protected Class<SequencedEvent> getEventType() {
+            return SequencedEvent.class;
+        }
+
+    }
+
+    private static class SequencedEvent implements Event {
+
+        private final int emitter;
+        private final int sequence;
+
+        private SequencedEvent(final int emitter, final int sequence) {
+            this.emitter = emitter;
+            this.sequence = sequence;
+        }
+
+    }
+
+}
@@ -0,0 +1,165 @@
+package pm.lus.eve.bus;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.src.OtherSimpleEvent;
+import pm.lus.eve.src.SimpleEvent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BoundedExecutorTests {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger delivered = new AtomicInteger();
+
+    // Occupies the single thread with a blocking event and fills the single queue slot
+    private EventBus saturatedBus(final BackpressurePolicy policy) throws InterruptedException {
+        final EventBus bus = EventBus.builder().bounded(1, 1, policy).build();
+        bus.listeners().add(Listener.inline(SimpleEvent.class, (ctx, event) -> {
+            this.started.countDown();
+            try {
+                this.release.await();
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        bus.listeners().add(Listener.inline(OtherSimpleEvent.class, (ctx, event) -> this.delivered.incrementAndGet()));
+
+        bus.emit("foo", new SimpleEvent());
+        Assertions.assertTrue(this.started.await(5, TimeUnit.SECONDS));
+        return bus;
+    }
+
+    @Test
+    public void failPolicyRejects() throws InterruptedException {
+        final EventBus bus = this.saturatedBus(BackpressurePolicy.FAIL);
+        final BoundedExecutor executor = (BoundedExecutor) bus.executor();
+
+        final CompletableFuture<Void> queued = bus.emit("foo", new OtherSimpleEvent());
+        final CompletableFuture<Void> rejected = bus.emit("foo", new OtherSimpleEvent());
+
+        Assertions.assertEquals(1, executor.getQueueDepth());
+        final CompletionException exception = Assertions.assertThrows(CompletionException.class, rejected::join);
+        Assertions.assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        Assertions.assertEquals(1, executor.getRejectedCount());
+
+        this.release.countDown();
+        queued.join();
+        Assertions.assertEquals(1, this.delivered.get());
+        bus.close();
+    }
+
+    @Test
+    public void dropNewestPolicyDropsTheNewTask() throws InterruptedException {
+        final EventBus bus = this.saturatedBus(BackpressurePolicy.DROP_NEWEST);
+        final BoundedExecutor executor = (BoundedExecutor) bus.executor();
+
+        final CompletableFuture<Void> queued = bus.emit("foo", new OtherSimpleEvent());
+        bus.emit("foo", new OtherSimpleEvent()).join();
+
+        Assertions.assertEquals(1, executor.getDroppedCount());
+
+        this.release.countDown();
+        queued.join();
+        Assertions.assertEquals(1, this.delivered.get());
+        bus.close();
+    }
+
+    @Test
+    public void dropOldestPolicyDropsTheQueuedTask() throws InterruptedException {
+        final EventBus bus = this.saturatedBus(BackpressurePolicy.DROP_OLDEST);
+        final BoundedExecutor executor = (BoundedExecutor) bus.executor();
+
+        final CompletableFuture<Void> dropped = bus.emit("foo", new OtherSimpleEvent());
+        final CompletableFuture<Void> queued = bus.emit("foo", new OtherSimpleEvent());
+
+        dropped.join();
+        Assertions.assertEquals(1, executor.getDroppedCount());
+        Assertions.assertEquals(1, executor.getQueueDepth());
+
+        this.release.countDown();
+        queued.join();
+        Assertions.assertEquals(1, this.delivered.get());
+        bus.close();
+    }
+
+    @Test
+    public void callerRunsPolicyRunsOnTheEmitter() throws InterruptedException {
+        final EventBus bus = this.saturatedBus(BackpressurePolicy.CALLER_RUNS);
+        final BoundedExecutor executor = (BoundedExecutor) bus.executor();
+
+        bus.emit("foo", new OtherSimpleEvent());
+        final CompletableFuture<Void> callerRun = bus.emit("foo", new OtherSimpleEvent());
+
+        Assertions.assertTrue(callerRun.isDone());
+        Assertions.assertEquals(1, executor.getCallerRunsCount());
+
+        this.release.countDown();
+        bus.close();
+    }
+
+    @Test
+    public void blockPolicyBlocksTheEmitter() throws InterruptedException {
+        final EventBus bus = this.saturatedBus(BackpressurePolicy.BLOCK);
+        final BoundedExecutor executor = (BoundedExecutor) bus.executor();
+
+        bus.emit("foo", new OtherSimpleEvent());
+
+        final CountDownLatch emitted = new CountDownLatch(1);
+        final Thread emitter = new Thread(() -> {
+            bus.emit("foo", new OtherSimpleEvent());
+            emitted.countDown();
+        });
+        emitter.start();
+
+        Assertions.assertFalse(emitted.await(200, TimeUnit.MILLISECONDS));
+        this.release.countDown();
+        Assertions.assertTrue(emitted.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, executor.getBlockedCount());
+        bus.close();
+    }
+
+    @Test
+    public void blockedEmittersAreRejectedOnShutdown() throws InterruptedException {
+        final EventBus bus = this.saturatedBus(BackpressurePolicy.BLOCK);
+        final BoundedExecutor executor = (BoundedExecutor) bus.executor();
+
+        bus.emit("foo", new OtherSimpleEvent());
+
+        final CompletableFuture<CompletableFuture<Void>> blocked = new CompletableFuture<>();
+        new Thread(() -> blocked.complete(bus.emit("foo", new OtherSimpleEvent()))).start();
+        Thread.sleep(100);
+        executor.shutdown();
+
+        final CompletableFuture<Void> future = blocked.join();
+        final CompletionException exception = Assertions.assertThrows(CompletionException.class, future::join);
+        Assertions.assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        this.release.countDown();
+        bus.close();
+    }
+
+    @Test
+    public void blockPolicyDoesNotBlockWorkers() {
+        final EventBus bus = EventBus.builder().bounded(1, 1, BackpressurePolicy.BLOCK).build();
+        final BoundedExecutor executor = (BoundedExecutor) bus.executor();
+        bus.listeners().add(Listener.inline(SimpleEvent.class, (ctx, event) -> {
+            // The queue slot is taken by the first emit, so the second one would wait for this very thread
+            bus.emit("foo", new OtherSimpleEvent());
+            bus.emit("foo", new OtherSimpleEvent());
+        }));
+        bus.listeners().add(Listener.inline(OtherSimpleEvent.class, (ctx, event) -> this.delivered.incrementAndGet()));
+
+        bus.emit("foo", new SimpleEvent()).join();
+
+        Assertions.assertEquals(1, executor.getCallerRunsCount());
+        bus.close();
+    }
+
+}
@@ -0,0 +1,220 @@
+package pm.lus.eve.bus;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.instrumentation.MetricsInstrumentation;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Listen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConflationTests {
+
+    @Test
+    public void onlyTheNewestPendingEventIsDelivered() throws InterruptedException {
+        final MetricsInstrumentation metrics = new MetricsInstrumentation();
+        final EventBus bus = EventBus.builder().instrumentation(metrics).build();
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> conflated = Collections.synchronizedList(new ArrayList<>());
+        final List<Integer> regular = Collections.synchronizedList(new ArrayList<>());
+        bus.listeners().add(new Listener() {
+
+            @Listen(value = "price.*", conflate = true)
+            public void conflated(final EventContext context, final PriceEvent event) throws InterruptedException {
+                if (event.sequence == 0) {
+                    started.countDown();
+                    release.await();
+                }
+                conflated.add(event.sequence);
+            }
+
+            @Listen("price.*")
+            public void regular(final EventContext context, final PriceEvent event) {
+                regular.add(event.sequence);
+            }
+
+        });
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.add(bus.emit("price.eur", new PriceEvent(0)));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 100; i++) {
+            futures.add(bus.emit("price.eur", new PriceEvent(i)));
+        }
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        Assertions.assertEquals(List.of(0, 99), conflated);
+        Assertions.assertEquals(100, regular.size());
+        Assertions.assertEquals(98, bus.conflatedCount());
+        Assertions.assertEquals(98, metrics.getListenerMetrics().values().stream().mapToLong(receiver -> receiver.getConflated()).sum());
+
+        bus.close();
+    }
+
+    @Test
+    public void topicsAreConflatedSeparately() throws InterruptedException {
+        final EventBus bus = new EventBus();
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+        bus.listeners().add(new Listener() {
+
+            @Listen(conflate = true)
+            public void handle(final EventContext context, final PriceEvent event) throws InterruptedException {
+                if (event.sequence == 0) {
+                    started.countDown();
+                    release.await();
+                }
+                received.add(context.getTopic() + "#" + event.sequence);
+            }
+
+        });
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.add(bus.emit("price.eur", new PriceEvent(0)));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        futures.add(bus.emit("price.eur", new PriceEvent(1)));
+        futures.add(bus.emit("price.eur", new PriceEvent(2)));
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        // A different topic has its own pending slot and is never conflated with the first one
+        bus.emit("price.usd", new PriceEvent(3)).join();
+
+        Assertions.assertEquals(List.of("price.eur#0", "price.eur#2", "price.usd#3"), received);
+        Assertions.assertEquals(1, bus.conflatedCount());
+
+        bus.close();
+    }
+
+    @Test
+    public void idleSlotsAreEvicted() {
+        final EventBus bus = new EventBus();
+
+        final AtomicInteger received = new AtomicInteger();
+        bus.listeners().add(new Listener() {
+
+            @Listen(conflate = true)
+            public void handle(final EventContext context, final PriceEvent event) {
+                received.incrementAndGet();
+            }
+
+        });
+
+        // Every event gets its own partition key, so each one creates a slot which retires after delivering it
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(bus.emit("price.eur", new PriceEvent(i), i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        Assertions.assertEquals(1000, received.get());
+
+        // Slots retire right after completing their future, so the last ones may still be on their way out
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bus.conflationSlotCount() > 0 && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        Assertions.assertEquals(0, bus.conflationSlotCount());
+
+        bus.close();
+    }
+
+    @Test
+    public void slotsNeverDeliverConcurrentlyWhileRetiring() throws InterruptedException {
+        final EventBus bus = new EventBus();
+
+        final int keys = 4;
+        final int events = 20_000;
+        final AtomicInteger[] active = new AtomicInteger[keys];
+        final int[] last = new int[keys];
+        for (int i = 0; i < keys; i++) {
+            active[i] = new AtomicInteger();
+            last[i] = -1;
+        }
+        final AtomicInteger violations = new AtomicInteger();
+        bus.listeners().add(new Listener() {
+
+            @Listen(conflate = true)
+            public void handle(final EventContext context, final KeyedPriceEvent event) {
+                if (context == null || event == null) {
+                    violations.incrementAndGet();
+                    return;
+                }
+                if (active[event.key].incrementAndGet() != 1) {
+                    violations.incrementAndGet();
+                }
+                // Only ever touched by the single delivery of the key, which the counter above verifies
+                if (event.sequence <= last[event.key]) {
+                    violations.incrementAndGet();
+                }
+                last[event.key] = event.sequence;
+                active[event.key].decrementAndGet();
+            }
+
+        });
+
+        // Every submitter owns a key, so its slot keeps retiring and getting recreated while it emits
+        final List<CompletableFuture<Void>> futures = Collections.synchronizedList(new ArrayList<>());
+        final Thread[] submitters = new Thread[keys];
+        for (int i = 0; i < keys; i++) {
+            final int key = i;
+            submitters[i] = new Thread(() -> {
+                for (int sequence = 0; sequence < events; sequence++) {
+                    final CompletableFuture<Void> future = bus.emit("price", new KeyedPriceEvent(key, sequence), key);
+                    if (sequence % 1000 == 0 || sequence == events - 1) {
+                        futures.add(future);
+                    }
+                }
+            });
+            submitters[i].start();
+        }
+        for (final Thread submitter : submitters) {
+            submitter.join();
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        Assertions.assertEquals(0, violations.get());
+        // The newest event of every key is never conflated away
+        for (int i = 0; i < keys; i++) {
+            Assertions.assertEquals(events - 1, last[i]);
+        }
+
+        bus.close();
+    }
+
+    public static class PriceEvent implements Event {
+
+        private final int sequence;
+
+        public PriceEvent(final int sequence) {
+            this.sequence = sequence;
+        }
+
+    }
+
+    public static class KeyedPriceEvent implements Event {
+
+        private final int key;
+        private final int sequence;
+
+        public KeyedPriceEvent(final int key, final int sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+    }
+
+}
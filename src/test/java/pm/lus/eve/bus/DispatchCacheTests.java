@@ -0,0 +1,76 @@
+package pm.lus.eve.bus;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.src.OtherSimpleEvent;
+import pm.lus.eve.src.SimpleEvent;
+
+import java.util.concurrent.Executors;
+
+public class DispatchCacheTests {
+
+    @Test
+    public void repeatedEmitsHitTheCache() {
+        final EventBus bus = new EventBus();
+        bus.listeners().add(Listener.inline(Event.class, (ctx, event) -> {
+        }));
+
+        bus.emit("foo.bar", new SimpleEvent()).join();
+        bus.emit("foo.bar", new SimpleEvent()).join();
+        bus.emit("foo.bar", new SimpleEvent()).join();
+        bus.emit("foo.bar", new OtherSimpleEvent()).join();
+
+        Assertions.assertEquals(2, bus.dispatchCache().getMisses());
+        Assertions.assertEquals(2, bus.dispatchCache().getHits());
+    }
+
+    @Test
+    public void registrationChangesInvalidateTheCache() {
+        final EventBus bus = new EventBus();
+
+        final int[] called = new int[]{0, 0};
+
+        bus.emit("foo.bar", new SimpleEvent()).join();
+
+        bus.listeners().add(Listener.inline(SimpleEvent.class, (ctx, event) -> {
+            called[0]++;
+        }));
+        bus.emit("foo.bar", new SimpleEvent()).join();
+
+        bus.bridges().add(new EventBridge<>() {
+
+            @Override
+            protected void receive(final EventContext context, final Event event) {
+                called[1]++;
+            }
+
+            @Override
+            protected Class<Event> getEventType() {
+                return Event.class;
+            }
+
+        });
+        bus.emit("foo.bar", new SimpleEvent()).join();
+
+        Assertions.assertArrayEquals(new int[]{2, 1}, called);
+        Assertions.assertEquals(0, bus.dispatchCache().getHits());
+    }
+
+    @Test
+    public void collidingKeysGetEvicted() {
+        final EventBus bus = new EventBus(Executors.newCachedThreadPool(), 1);
+
+        bus.emit("foo", new SimpleEvent()).join();
+        bus.emit("bar", new SimpleEvent()).join();
+        bus.emit("foo", new SimpleEvent()).join();
+
+        Assertions.assertEquals(1, bus.dispatchCache().getCapacity());
+        Assertions.assertEquals(3, bus.dispatchCache().getMisses());
+        Assertions.assertEquals(2, bus.dispatchCache().getEvictions());
+    }
+
+}
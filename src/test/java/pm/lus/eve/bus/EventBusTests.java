@@ -3,6 +3,8 @@ package pm.lus.eve.bus;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.error.DeadLetterQueue;
+import pm.lus.eve.error.ErrorPipeline;
 import pm.lus.eve.event.Event;
 import pm.lus.eve.event.context.EventContext;
 import pm.lus.eve.listener.Listener;
@@ -10,6 +12,14 @@ import pm.lus.eve.listener.annotation.Listen;
 import pm.lus.eve.src.OtherSimpleEvent;
 import pm.lus.eve.src.SimpleEvent;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 public class EventBusTests {
 
     @Test
@@ -54,6 +64,45 @@ public class EventBusTests {
         Assertions.assertEquals(1, called[0]);
     }
 
+    @Test
+    public void privateListenerMethodDelivery() {
+        final EventBus bus = new EventBus();
+
+        final int[] called = new int[]{0};
+
+        bus.listeners().add(new Listener() {
+
+            @Listen
+            private void handle(final EventContext context, final SimpleEvent event) {
+                called[0]++;
+            }
+
+        });
+
+        bus.emit("foo.bar", new SimpleEvent()).join();
+        bus.emit("foo.bar", new OtherSimpleEvent()).join();
+
+        Assertions.assertEquals(1, called[0]);
+    }
+
+    @Test
+    public void listenerRemoval() {
+        final EventBus bus = new EventBus();
+
+        final int[] called = new int[]{0};
+
+        final Listener listener = Listener.inline(Event.class, (ctx, event) -> {
+            called[0]++;
+        });
+        bus.listeners().add(listener);
+
+        bus.emit("foo.bar", new SimpleEvent()).join();
+        bus.listeners().remove(listener);
+        bus.emit("foo.bar", new SimpleEvent()).join();
+
+        Assertions.assertEquals(1, called[0]);
+    }
+
     @Test
     public void typeBasedEventDelivery() {
         final EventBus bus = new EventBus();
@@ -86,6 +135,148 @@ public class EventBusTests {
         Assertions.assertArrayEquals(new int[]{3, 3}, called);
     }
 
+    @Test
+    public void typeHierarchyEventDelivery() {
+        final EventBus bus = new EventBus();
+
+        final int[] called = new int[]{0, 0, 0};
+
+        final Listener marked = new Listener() {
+
+            @Listen
+            public void marked(final EventContext context, final MarkedEvent event) {
+                called[0]++;
+            }
+
+        };
+        bus.listeners().add(marked);
+        bus.listeners().add(new Listener() {
+
+            @Listen
+            public void simple(final EventContext context, final SimpleEvent event) {
+                called[1]++;
+            }
+
+            @Listen
+            public void marked(final EventContext context, final MarkedSimpleEvent event) {
+                called[2]++;
+            }
+
+        });
+
+        bus.emit("foo.bar", new MarkedSimpleEvent()).join();
+        bus.emit("foo.bar", new SimpleEvent()).join();
+        bus.listeners().remove(marked);
+        bus.emit("foo.bar", new MarkedSimpleEvent()).join();
+
+        Assertions.assertArrayEquals(new int[]{1, 3, 2}, called);
+    }
+
+    @Test
+    public void synchronousEventDelivery() {
+        final EventBus bus = new EventBus();
+
+        final Thread caller = Thread.currentThread();
+        final int[] called = new int[]{0, 0};
+
+        bus.listeners().add(Listener.inline(SimpleEvent.class, (ctx, event) -> {
+            Assertions.assertSame(caller, Thread.currentThread());
+            Assertions.assertEquals("foo.bar", ctx.getTopic());
+            called[0]++;
+        }));
+        bus.bridges().add(new EventBridge<>() {
+
+            @Override
+            protected void receive(final EventContext context, final Event event) {
+                Assertions.assertSame(caller, Thread.currentThread());
+                called[1]++;
+            }
+
+            @Override
+            protected Class<Event> getEventType() {
+                return Event.class;
+            }
+
+        });
+
+        bus.emitSync("foo.bar", new SimpleEvent());
+        bus.emitSync("foo.bar", new OtherSimpleEvent());
+
+        Assertions.assertArrayEquals(new int[]{1, 2}, called);
+    }
+
+    @Test
+    public void topicHandleEventDelivery() {
+        final EventBus bus = new EventBus();
+        final Topic topic = bus.topic("foo.bar");
+
+        final int[] called = new int[]{0, 0};
+
+        bus.listeners().add(new Listener() {
+
+            @Listen("foo.*")
+            public void simple(final EventContext context, final SimpleEvent event) {
+                Assertions.assertEquals("foo.bar", context.getTopic());
+                called[0]++;
+            }
+
+        });
+
+        bus.emit(topic, new SimpleEvent()).join();
+        bus.emitSync(topic, new OtherSimpleEvent());
+
+        // Routes cached inside of the handle must not outlive a registration change
+        bus.listeners().add(Listener.inline(Event.class, (ctx, event) -> called[1]++));
+        bus.emitSync(topic, new SimpleEvent());
+
+        Assertions.assertArrayEquals(new int[]{2, 1}, called);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new EventBus().emit(topic, new SimpleEvent()));
+    }
+
+    @Test
+    public void batchEventDelivery() {
+        final EventBus bus = new EventBus();
+
+        final List<Event> simpleEvents = Collections.synchronizedList(new ArrayList<>());
+        final List<Event> events = Collections.synchronizedList(new ArrayList<>());
+
+        bus.listeners().add(new Listener() {
+
+            @Listen("batch.*")
+            public void simple(final EventContext context, final SimpleEvent event) {
+                simpleEvents.add(event);
+            }
+
+            @Listen
+            public void any(final EventContext context, final Event event) {
+                events.add(event);
+            }
+
+        });
+
+        final List<Event> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(i % 2 == 0 ? new SimpleEvent() : new OtherSimpleEvent());
+        }
+
+        bus.emitAll("batch.first", batch).join();
+
+        Assertions.assertEquals(batch, events);
+        Assertions.assertEquals(50, simpleEvents.size());
+        for (int i = 0; i < simpleEvents.size(); i++) {
+            Assertions.assertSame(batch.get(i * 2), simpleEvents.get(i));
+        }
+
+        final Map<String, List<Event>> topics = new LinkedHashMap<>();
+        topics.put("batch.second", List.of(new SimpleEvent()));
+        topics.put("other", List.of(new SimpleEvent(), new OtherSimpleEvent()));
+
+        bus.emitAll(topics).join();
+
+        Assertions.assertEquals(103, events.size());
+        Assertions.assertEquals(51, simpleEvents.size());
+    }
+
     @Test
     public void basicBridgeExecution() {
         final EventBus bus = new EventBus();
@@ -106,8 +297,8 @@ public class EventBusTests {
 
         });
 
-        bus.emit("foo.bar", new SimpleEvent());
-        bus.emit("foo.bar", new OtherSimpleEvent());
+        bus.emit("foo.bar", new SimpleEvent()).join();
+        bus.emit("foo.bar", new OtherSimpleEvent()).join();
 
         Assertions.assertEquals(2, called[0]);
     }
@@ -132,10 +323,49 @@ public class EventBusTests {
 
         });
 
-        bus.emit("foo.bar", new SimpleEvent());
-        bus.emit("foo.bar", new OtherSimpleEvent());
+        bus.emit("foo.bar", new SimpleEvent()).join();
+        bus.emit("foo.bar", new OtherSimpleEvent()).join();
 
         Assertions.assertEquals(1, called[0]);
     }
 
+    @Test
+    public void failingBatchBridgeCallsDoNotSkipTheRemainingEvents() {
+        final DeadLetterQueue deadLetters = new DeadLetterQueue(16);
+        final EventBus bus = EventBus.builder()
+                .errorHandler(ErrorPipeline.builder().logger(null).deadLetters(deadLetters).build())
+                .build();
+
+        final int[] called = new int[]{0};
+
+        bus.bridges().add(new EventBridge<>() {
+
+            @Override
+            protected void receive(final EventContext context, final Event event) {
+                called[0]++;
+                if (event instanceof OtherSimpleEvent) {
+                    throw new IllegalStateException("bridge failure");
+                }
+            }
+
+            @Override
+            protected Class<Event> getEventType() {
+                return Event.class;
+            }
+
+        });
+
+        final CompletableFuture<Void> future = bus.emitAll("foo.bar", List.of(new SimpleEvent(), new OtherSimpleEvent(), new SimpleEvent()));
+
+        Assertions.assertThrows(CompletionException.class, future::join);
+        Assertions.assertEquals(3, called[0]);
+        Assertions.assertEquals(1, deadLetters.size());
+    }
+
+    interface MarkedEvent extends Event {
+    }
+
+    static class MarkedSimpleEvent extends SimpleEvent implements MarkedEvent {
+    }
+
 }
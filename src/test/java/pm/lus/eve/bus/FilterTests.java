@@ -0,0 +1,140 @@
+package pm.lus.eve.bus;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Filter;
+import pm.lus.eve.listener.annotation.Listen;
+import pm.lus.eve.src.SimpleEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class FilterTests {
+
+    @Test
+    public void equalityFiltersSelectListeners() {
+        final EventBus bus = new EventBus();
+
+        final CurrencyListener listener = new CurrencyListener();
+        bus.listeners().add(listener);
+
+        bus.emitSync("price", new PriceEvent("EUR", Side.BUY));
+        bus.emitSync("price", new PriceEvent("EUR", Side.SELL));
+        bus.emitSync("price", new PriceEvent("USD", Side.BUY));
+        bus.emit("price", new PriceEvent("GBP", Side.BUY)).join();
+        bus.emit("price", new SimpleEvent()).join();
+
+        Assertions.assertEquals(List.of("EUR/BUY", "EUR/SELL"), listener.euro);
+        Assertions.assertEquals(List.of("EUR/BUY"), listener.euroBuys);
+        Assertions.assertEquals(List.of("USD/BUY"), listener.dollar);
+        Assertions.assertEquals(5, listener.all.size());
+    }
+
+    @Test
+    public void inlinePredicatesSelectListeners() {
+        final EventBus bus = new EventBus();
+
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+        bus.listeners().add(Listener.inline(PriceEvent.class, event -> event.getSide() == Side.SELL, (ctx, event) -> received.add(event.currency)));
+
+        bus.emit("price", new PriceEvent("EUR", Side.BUY)).join();
+        bus.emit("price", new PriceEvent("USD", Side.SELL)).join();
+        // Inline listeners only ever receive events of their own type
+        bus.emit("price", new SimpleEvent()).join();
+
+        Assertions.assertEquals(List.of("USD"), received);
+    }
+
+    @Test
+    public void failingAccessorsDoNotMatch() {
+        final EventBus bus = new EventBus();
+
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+        bus.listeners().add(new Listener() {
+
+            @Listen
+            @Filter(property = "currency", value = "EUR")
+            public void euro(final EventContext context, final BrokenEvent event) {
+                received.add("euro");
+            }
+
+            @Listen
+            public void all(final EventContext context, final BrokenEvent event) {
+                received.add("all");
+            }
+
+        });
+
+        bus.emit("price", new BrokenEvent()).join();
+        bus.emit("price", new BrokenEvent()).join();
+
+        Assertions.assertEquals(List.of("all", "all"), received);
+    }
+
+    public enum Side {
+        BUY,
+        SELL
+    }
+
+    public static class PriceEvent implements Event {
+
+        private final String currency;
+        private final Side side;
+
+        public PriceEvent(final String currency, final Side side) {
+            this.currency = currency;
+            this.side = side;
+        }
+
+        public Side getSide() {
+            return this.side;
+        }
+
+    }
+
+    public static class BrokenEvent implements Event {
+
+        public String getCurrency() {
+            throw new IllegalStateException("Not priced yet");
+        }
+
+    }
+
+    public static class CurrencyListener implements Listener {
+
+        private final List<String> euro = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> euroBuys = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> dollar = Collections.synchronizedList(new ArrayList<>());
+        private final List<Event> all = Collections.synchronizedList(new ArrayList<>());
+
+        @Listen
+        @Filter(property = "currency", value = "EUR")
+        public void euro(final EventContext context, final PriceEvent event) {
+            this.euro.add(event.currency + "/" + event.side);
+        }
+
+        @Listen
+        @Filter(property = "currency", value = "EUR")
+        @Filter(property = "side", value = "BUY")
+        public void euroBuys(final EventContext context, final PriceEvent event) {
+            this.euroBuys.add(event.currency + "/" + event.side);
+        }
+
+        @Listen
+        @Filter(property = "currency", value = "USD")
+        public void dollar(final EventContext context, final PriceEvent event) {
+            this.dollar.add(event.currency + "/" + event.side);
+        }
+
+        @Listen
+        public void all(final EventContext context, final Event event) {
+            this.all.add(event);
+        }
+
+    }
+
+}
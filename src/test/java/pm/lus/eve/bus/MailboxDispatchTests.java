@@ -0,0 +1,68 @@
+package pm.lus.eve.bus;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.src.SimpleEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class MailboxDispatchTests {
+
+    @Test
+    public void listenersReceiveEventsInEmitOrder() {
+        final EventBus bus = EventBus.builder().mailboxes(4).build();
+
+        final List<SimpleEvent> first = Collections.synchronizedList(new ArrayList<>());
+        final List<SimpleEvent> second = Collections.synchronizedList(new ArrayList<>());
+        bus.listeners().add(Listener.inline(SimpleEvent.class, (ctx, event) -> first.add(event)));
+        bus.listeners().add(Listener.inline(SimpleEvent.class, (ctx, event) -> second.add(event)));
+
+        final List<SimpleEvent> emitted = new ArrayList<>();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final SimpleEvent event = new SimpleEvent();
+            emitted.add(event);
+            futures.add(bus.emit("foo.bar", event));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        Assertions.assertEquals(emitted, first);
+        Assertions.assertEquals(emitted, second);
+
+        bus.close();
+    }
+
+    @Test
+    public void slowListenersDoNotBlockOthers() throws InterruptedException {
+        final EventBus bus = EventBus.builder().mailboxes().build();
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch received = new CountDownLatch(10);
+        bus.listeners().add(Listener.inline(SimpleEvent.class, (ctx, event) -> {
+            try {
+                release.await();
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        bus.listeners().add(Listener.inline(SimpleEvent.class, (ctx, event) -> received.countDown()));
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(bus.emit("foo.bar", new SimpleEvent()));
+        }
+
+        Assertions.assertTrue(received.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        bus.close();
+    }
+
+}
@@ -0,0 +1,131 @@
+package pm.lus.eve.bus;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.event.Partitioned;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.src.SimpleEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class PartitionedDispatchTests {
+
+    @Test
+    public void eventsOfTheSameKeyAreDeliveredInOrder() {
+        final EventBus bus = EventBus.builder().partitioned(4, 64, BackpressurePolicy.BLOCK).build();
+
+        final Map<Integer, List<Integer>> received = new ConcurrentHashMap<>();
+        final Map<Integer, Set<Thread>> threads = new ConcurrentHashMap<>();
+        bus.listeners().add(Listener.inline(KeyedEvent.class, (ctx, event) -> {
+            // Every key is owned by a single thread, so the lists do not have to be synchronized
+            received.computeIfAbsent(event.key, key -> new ArrayList<>()).add(event.sequence);
+            threads.computeIfAbsent(event.key, key -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread());
+        }));
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int sequence = 0; sequence < 1000; sequence++) {
+            for (int key = 0; key < 16; key++) {
+                futures.add(bus.emit("foo.bar", new KeyedEvent(key, sequence)));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        Assertions.assertEquals(16, received.size());
+        for (final List<Integer> sequences : received.values()) {
+            Assertions.assertEquals(1000, sequences.size());
+            for (int i = 0; i < sequences.size(); i++) {
+                Assertions.assertEquals(i, sequences.get(i).intValue());
+            }
+        }
+        for (final Set<Thread> keyThreads : threads.values()) {
+            Assertions.assertEquals(1, keyThreads.size());
+        }
+        Assertions.assertEquals(4, bus.partitions().size());
+
+        bus.close();
+    }
+
+    @Test
+    public void explicitKeysOverrideTheTopic() {
+        final EventBus bus = EventBus.builder().partitioned(8, 64, BackpressurePolicy.BLOCK).build();
+
+        final List<Thread> threads = new ArrayList<>();
+        bus.listeners().add(Listener.inline(SimpleEvent.class, (ctx, event) -> {
+            synchronized (threads) {
+                threads.add(Thread.currentThread());
+            }
+        }));
+
+        bus.emit("first.topic", new SimpleEvent(), "user-1").join();
+        bus.emit("second.topic", new SimpleEvent(), "user-1").join();
+
+        Assertions.assertSame(threads.get(0), threads.get(1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventBus.builder().partitioned(1, 1, BackpressurePolicy.CALLER_RUNS));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventBus.builder().partitioned().mailboxes().build());
+
+        bus.close();
+    }
+
+    @Test
+    public void reEmitsIntoTheOwnFullShardAreRejected() throws InterruptedException {
+        final EventBus bus = EventBus.builder().partitioned(1, 1, BackpressurePolicy.BLOCK).build();
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        final CompletableFuture<CompletableFuture<Void>> reEmitted = new CompletableFuture<>();
+        bus.listeners().add(Listener.inline(KeyedEvent.class, (ctx, event) -> {
+            received.add(event.sequence);
+            if (event.sequence == 0) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                // The queue still holds the second event, so running this one right away would overtake it
+                reEmitted.complete(ctx.getBus().emit("foo.bar", new KeyedEvent(0, 2)));
+            }
+        }));
+
+        final CompletableFuture<Void> first = bus.emit("foo.bar", new KeyedEvent(0, 0));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        final CompletableFuture<Void> second = bus.emit("foo.bar", new KeyedEvent(0, 1));
+        release.countDown();
+        CompletableFuture.allOf(first, second).join();
+
+        final CompletionException rejected = Assertions.assertThrows(CompletionException.class, () -> reEmitted.join().join());
+        Assertions.assertTrue(rejected.getCause() instanceof RejectedExecutionException);
+        Assertions.assertEquals(List.of(0, 1), received);
+
+        bus.close();
+    }
+
+    public static class KeyedEvent implements Partitioned {
+
+        private final int key;
+        private final int sequence;
+
+        public KeyedEvent(final int key, final int sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public Object getPartitionKey() {
+            return this.key;
+        }
+
+    }
+
+}
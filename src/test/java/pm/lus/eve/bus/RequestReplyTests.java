@@ -0,0 +1,97 @@
+package pm.lus.eve.bus;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Listen;
+import pm.lus.eve.src.SimpleEvent;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+public class RequestReplyTests {
+
+    @Test
+    public void repliesCompleteRequests() {
+        final EventBus bus = new EventBus();
+        bus.listeners().add(new PricingListener());
+
+        final Quote quote = bus.request("pricing.quote", new QuoteRequest("EURUSD"), Quote.class, Duration.ofSeconds(5)).join();
+        Assertions.assertEquals("EURUSD", quote.symbol);
+
+        final Quote handleQuote = bus.request(bus.topic("pricing.quote"), new QuoteRequest("GBPUSD"), Quote.class, Duration.ofSeconds(5)).join();
+        Assertions.assertEquals("GBPUSD", handleQuote.symbol);
+        Assertions.assertEquals(0, bus.pendingRequestCount());
+
+        // Plain emits are no requests
+        Assertions.assertThrows(IllegalStateException.class, () -> new EventContext(bus, "pricing.quote").reply(new Quote("EURUSD")));
+    }
+
+    @Test
+    public void unansweredRequestsFail() {
+        final EventBus bus = new EventBus();
+        bus.listeners().add(new PricingListener());
+
+        final CompletionException timedOut = Assertions.assertThrows(
+                CompletionException.class,
+                () -> bus.request("pricing.silent", new QuoteRequest("EURUSD"), Quote.class, Duration.ofMillis(50)).join()
+        );
+        Assertions.assertTrue(timedOut.getCause() instanceof TimeoutException);
+
+        // Callbacks of timed out requests must not run on the timer thread
+        final String callbackThread = bus.request("pricing.silent", new QuoteRequest("EURUSD"), Quote.class, Duration.ofMillis(50))
+                .handle((reply, throwable) -> Thread.currentThread().getName())
+                .join();
+        Assertions.assertFalse(callbackThread.startsWith("eve-timer-"));
+
+        final CompletionException wrongType = Assertions.assertThrows(
+                CompletionException.class,
+                () -> bus.request("pricing.quote", new QuoteRequest("EURUSD"), SimpleEvent.class, Duration.ofSeconds(5)).join()
+        );
+        Assertions.assertTrue(wrongType.getCause() instanceof ClassCastException);
+
+        final CompletionException unreceived = Assertions.assertThrows(
+                CompletionException.class,
+                () -> bus.request("other", new QuoteRequest("EURUSD"), Quote.class, Duration.ofSeconds(5)).join()
+        );
+        Assertions.assertTrue(unreceived.getCause() instanceof IllegalStateException);
+        Assertions.assertEquals(0, bus.pendingRequestCount());
+    }
+
+    public static class QuoteRequest implements Event {
+
+        private final String symbol;
+
+        public QuoteRequest(final String symbol) {
+            this.symbol = symbol;
+        }
+
+    }
+
+    public static class Quote implements Event {
+
+        private final String symbol;
+
+        public Quote(final String symbol) {
+            this.symbol = symbol;
+        }
+
+    }
+
+    public static class PricingListener implements Listener {
+
+        @Listen("pricing.quote")
+        public void quote(final EventContext context, final QuoteRequest request) {
+            context.reply(new Quote(request.symbol));
+        }
+
+        @Listen("pricing.silent")
+        public void silent(final EventContext context, final QuoteRequest request) {
+        }
+
+    }
+
+}
@@ -0,0 +1,144 @@
+package pm.lus.eve.bus;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Listen;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SchedulingTests {
+
+    @Test
+    public void delayedEventsAreEmittedNotBeforeTheirDelay() throws InterruptedException {
+        final EventBus bus = new EventBus();
+
+        final long start = System.nanoTime();
+        final CountDownLatch latch = new CountDownLatch(1000);
+        final AtomicInteger early = new AtomicInteger();
+        bus.listeners().add(new Listener() {
+
+            @Listen("session.*")
+            public void handle(final EventContext context, final TimeoutEvent event) {
+                if (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(event.delayMillis)) {
+                    early.incrementAndGet();
+                }
+                latch.countDown();
+            }
+
+        });
+
+        for (int i = 0; i < 500; i++) {
+            bus.emitAfter("session.expired", new TimeoutEvent(50), Duration.ofMillis(50));
+            bus.emitAt("session.warned", new TimeoutEvent(20), Instant.now().plusMillis(20));
+        }
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, early.get());
+        Assertions.assertEquals(0, bus.scheduledEmitCount());
+
+        bus.close();
+    }
+
+    @Test
+    public void cancelledEmitsDoNotHappen() throws InterruptedException {
+        final EventBus bus = new EventBus();
+
+        final AtomicInteger received = new AtomicInteger();
+        final CountDownLatch sentinelReceived = new CountDownLatch(1);
+        bus.listeners().add(new Listener() {
+
+            @Listen("session.*")
+            public void handle(final EventContext context, final TimeoutEvent event) {
+                if (event.delayMillis == 30) {
+                    received.incrementAndGet();
+                } else {
+                    sentinelReceived.countDown();
+                }
+            }
+
+        });
+
+        final ScheduledEmit cancelled = bus.emitAfter("session.expired", new TimeoutEvent(30), Duration.ofMillis(30));
+        final ScheduledEmit emitted = bus.emitAfter("session.expired", new TimeoutEvent(30), Duration.ofMillis(30));
+        Assertions.assertEquals(2, bus.scheduledEmitCount());
+        Assertions.assertTrue(cancelled.cancel());
+        Assertions.assertFalse(cancelled.cancel());
+        Assertions.assertEquals(1, bus.scheduledEmitCount());
+
+        // The sentinel becomes due three ticks after the other events, so a cancelled emit would have been received by then
+        bus.emitAfter("session.expired", new TimeoutEvent(60), Duration.ofMillis(60));
+        Assertions.assertTrue(sentinelReceived.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(cancelled.isCancelled());
+        Assertions.assertTrue(emitted.isEmitted());
+        Assertions.assertFalse(emitted.cancel());
+        Assertions.assertEquals(1, received.get());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> bus.emitAfter("session.expired", new TimeoutEvent(0), Duration.ofMillis(-1)));
+
+        bus.close();
+    }
+
+    @Test
+    public void closingDiscardsPendingEmits() {
+        final EventBus bus = new EventBus();
+
+        final ScheduledEmit emit = bus.emitAfter("session.expired", new TimeoutEvent(60_000), Duration.ofMinutes(1));
+        bus.emitAfter("session.expired", new TimeoutEvent(60_000), Duration.ofMinutes(1));
+        Assertions.assertEquals(2, bus.scheduledEmitCount());
+
+        bus.close();
+        Assertions.assertEquals(0, bus.scheduledEmitCount());
+        // Cancelling after closing must not make the count negative
+        emit.cancel();
+        Assertions.assertEquals(0, bus.scheduledEmitCount());
+        Assertions.assertThrows(IllegalStateException.class, () -> bus.emitAfter("session.expired", new TimeoutEvent(0), Duration.ofMillis(10)));
+    }
+
+    @Test
+    public void tasksCascadeThroughAllLevels() throws InterruptedException {
+        // Four slots per level, so delays of up to 300 ticks span four levels
+        final TimerWheel timer = new TimerWheel(1, TimeUnit.MILLISECONDS, 4);
+
+        final long start = System.nanoTime();
+        final List<Long> delays = new ArrayList<>();
+        for (long delay = 0; delay <= 300; delay += 7) {
+            delays.add(delay);
+        }
+        final CountDownLatch latch = new CountDownLatch(delays.size());
+        final AtomicInteger early = new AtomicInteger();
+        final TimerWheel.Timeout cancelled = timer.schedule(() -> early.incrementAndGet(), 150, TimeUnit.MILLISECONDS);
+        for (final long delay : delays) {
+            timer.schedule(() -> {
+                if (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(delay)) {
+                    early.incrementAndGet();
+                }
+                latch.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        Assertions.assertTrue(cancelled.cancel());
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, early.get());
+        Assertions.assertFalse(cancelled.isExpired());
+
+        timer.close();
+    }
+
+    private static final class TimeoutEvent implements Event {
+
+        private final long delayMillis;
+
+        private TimeoutEvent(final long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+    }
+
+}
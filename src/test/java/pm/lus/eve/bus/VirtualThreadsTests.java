@@ -0,0 +1,51 @@
+package pm.lus.eve.bus;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.src.SimpleEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class VirtualThreadsTests {
+
+    @Test
+    public void supportIsDetected() {
+        Assertions.assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isSupported());
+        if (!VirtualThreads.isSupported()) {
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> EventBus.builder().virtualThreads());
+        }
+    }
+
+    @Test
+    public void blockingListenersScale() {
+        if (!VirtualThreads.isSupported()) {
+            return;
+        }
+
+        final EventBus bus = EventBus.builder().virtualThreads().build();
+
+        final AtomicInteger called = new AtomicInteger();
+        bus.listeners().add(Listener.inline(SimpleEvent.class, (ctx, event) -> {
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            called.incrementAndGet();
+        }));
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            futures.add(bus.emit("foo", new SimpleEvent()));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        Assertions.assertEquals(10_000, called.get());
+        bus.close();
+    }
+
+}
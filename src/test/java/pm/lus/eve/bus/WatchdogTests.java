@@ -0,0 +1,106 @@
+package pm.lus.eve.bus;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Listen;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WatchdogTests {
+
+    @Test
+    public void hungListenersAreInterruptedAndSkippedOnceTheBreakerOpens() {
+        final Watchdog watchdog = Watchdog.builder()
+                .scanInterval(Duration.ofMillis(5))
+                .breaker(2, Duration.ofMinutes(1))
+                .build();
+        final EventBus bus = EventBus.builder().watchdog(watchdog).build();
+
+        final AtomicInteger invocations = new AtomicInteger();
+        final AtomicInteger interrupted = new AtomicInteger();
+        bus.listeners().add(new Listener() {
+
+            @Listen(value = "slow", timeout = 20)
+            public void handle(final EventContext context, final SlowEvent event) {
+                invocations.incrementAndGet();
+                try {
+                    Thread.sleep(event.sleepMillis);
+                } catch (final InterruptedException exception) {
+                    interrupted.incrementAndGet();
+                }
+            }
+
+        });
+
+        bus.emit("slow", new SlowEvent(10_000)).join();
+        bus.emit("slow", new SlowEvent(10_000)).join();
+        bus.emit("slow", new SlowEvent(0)).join();
+
+        Assertions.assertEquals(2, invocations.get());
+        Assertions.assertEquals(2, interrupted.get());
+        Assertions.assertEquals(2, watchdog.getInterruptedCount());
+        Assertions.assertEquals(2, watchdog.getTimeoutCount());
+
+        final CircuitBreaker breaker = watchdog.getBreakers().iterator().next();
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Assertions.assertEquals(1, breaker.getTripCount());
+        Assertions.assertEquals(1, breaker.getSkippedCount());
+        Assertions.assertEquals(1, watchdog.getOpenBreakers().size());
+
+        bus.close();
+    }
+
+    @Test
+    public void breakersCloseAfterASuccessfulTrialInvocation() {
+        final Watchdog watchdog = Watchdog.builder()
+                .scanInterval(Duration.ofMillis(5))
+                .breaker(1, Duration.ZERO)
+                .interruptHungThreads(false)
+                .build();
+        final EventBus bus = EventBus.builder().watchdog(watchdog).build();
+
+        final AtomicInteger invocations = new AtomicInteger();
+        bus.listeners().add(new Listener() {
+
+            @Listen(value = "slow", timeout = 20)
+            public void handle(final EventContext context, final SlowEvent event) throws InterruptedException {
+                invocations.incrementAndGet();
+                Thread.sleep(event.sleepMillis);
+            }
+
+        });
+
+        bus.emit("slow", new SlowEvent(50)).join();
+        final CircuitBreaker breaker = watchdog.getBreakers().iterator().next();
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Assertions.assertEquals(0, watchdog.getInterruptedCount());
+
+        bus.emit("slow", new SlowEvent(0)).join();
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        Assertions.assertEquals(2, invocations.get());
+
+        bus.close();
+    }
+
+    @Test
+    public void invalidConfigurationsAreRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Watchdog.builder().defaultTimeout(Duration.ZERO));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Watchdog.builder().scanInterval(Duration.ofMillis(-1)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Watchdog.builder().breaker(0, Duration.ZERO));
+    }
+
+    private static final class SlowEvent implements Event {
+
+        private final long sleepMillis;
+
+        private SlowEvent(final long sleepMillis) {
+            this.sleepMillis = sleepMillis;
+        }
+
+    }
+
+}
@@ -0,0 +1,133 @@
+package pm.lus.eve.codec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.event.Event;
+
+import java.nio.ByteBuffer;
+
+public class CodecRegistryTests {
+
+    @Test
+    public void reflectiveRoundTrip() {
+        final CodecRegistry registry = new CodecRegistry().register(OrderEvent.class, 1);
+
+        final OrderEvent event = new OrderEvent();
+        event.id = 42;
+        event.price = 13.37;
+        event.customer = "J\u00fcrgen \ud83d\ude00";
+        event.express = true;
+        event.quantity = null;
+        event.state = State.SHIPPED;
+        event.payload = new byte[]{1, 2, 3};
+        event.cache = "not serialized";
+
+        for (final ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(256), ByteBuffer.allocateDirect(256)}) {
+            registry.encode("orders.eu.created", event, buffer);
+            Assertions.assertEquals(registry.sizeOf("orders.eu.created", event), buffer.position());
+
+            buffer.flip();
+            final DecodedEvent decoded = registry.decodeWithTopic(buffer);
+            Assertions.assertFalse(buffer.hasRemaining());
+            Assertions.assertEquals("orders.eu.created", decoded.getTopic());
+
+            final OrderEvent read = (OrderEvent) decoded.getEvent();
+            Assertions.assertEquals(42, read.id);
+            Assertions.assertEquals(13.37, read.price);
+            Assertions.assertEquals(event.customer, read.customer);
+            Assertions.assertTrue(read.express);
+            Assertions.assertNull(read.quantity);
+            Assertions.assertEquals(State.SHIPPED, read.state);
+            Assertions.assertArrayEquals(new byte[]{1, 2, 3}, read.payload);
+            Assertions.assertNull(read.cache);
+        }
+    }
+
+    @Test
+    public void legacySchemasCanBeRead() {
+        final CodecRegistry old = new CodecRegistry().register(OrderEvent.class, 1, new EventSerializer<>() {
+
+            @Override
+            public int sizeOf(final OrderEvent event) {
+                return 8;
+            }
+
+            @Override
+            public void write(final OrderEvent event, final ByteBuffer target) {
+                target.putLong(event.id);
+            }
+
+            @Override
+            public OrderEvent read(final ByteBuffer source) {
+                final OrderEvent event = new OrderEvent();
+                event.id = source.getLong();
+                return event;
+            }
+
+        });
+        final OrderEvent event = new OrderEvent();
+        event.id = 7;
+        final ByteBuffer buffer = ByteBuffer.allocate(old.sizeOf(event));
+        old.encode(event, buffer);
+        buffer.flip();
+
+        final CodecRegistry current = new CodecRegistry()
+                .register(OrderEvent.class, 2)
+                .registerLegacy(1, new EventSerializer<OrderEvent>() {
+
+                    @Override
+                    public int sizeOf(final OrderEvent event) {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    @Override
+                    public void write(final OrderEvent event, final ByteBuffer target) {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    @Override
+                    public OrderEvent read(final ByteBuffer source) {
+                        final OrderEvent event = new OrderEvent();
+                        event.id = source.getLong();
+                        event.state = State.CREATED;
+                        return event;
+                    }
+
+                });
+
+        final OrderEvent read = (OrderEvent) current.decode(buffer);
+        Assertions.assertEquals(7, read.id);
+        Assertions.assertEquals(State.CREATED, read.state);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> current.register(Event.class, 2, null));
+    }
+
+    @Test
+    public void unsupportedTypesAreRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CodecRegistry().register(UnsupportedEvent.class, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CodecRegistry().encode(new OrderEvent(), ByteBuffer.allocate(64)));
+    }
+
+    enum State {
+        CREATED, SHIPPED
+    }
+
+    static class OrderEvent implements Event {
+
+        private long id;
+        private double price;
+        private String customer;
+        private boolean express;
+        private Integer quantity;
+        private State state;
+        private byte[] payload;
+        private transient String cache;
+
+    }
+
+    static class UnsupportedEvent implements Event {
+
+        private Object value;
+
+    }
+
+}
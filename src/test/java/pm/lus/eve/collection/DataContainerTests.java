@@ -0,0 +1,46 @@
+package pm.lus.eve.collection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class DataContainerTests {
+
+    @Test
+    public void snapshotsAreImmutable() {
+        final SimpleDataContainer<String> container = new SimpleDataContainer<>();
+        container.add("a").add("b");
+        final Snapshot<String> snapshot = container.snapshot();
+
+        container.addAll(List.of("b", "c", "d", "c"));
+        container.remove("a");
+
+        Assertions.assertEquals(List.of("a", "b"), snapshot.asList());
+        Assertions.assertEquals(2, snapshot.getVersion());
+        Assertions.assertEquals(List.of("b", "c", "d"), container.snapshot().asList());
+        // Bulk additions take a single snapshot
+        Assertions.assertEquals(4, container.getVersion());
+
+        // Adding known entities and removing unknown ones does not modify the container
+        container.add("b").remove("x");
+        Assertions.assertEquals(4, container.getVersion());
+    }
+
+    @Test
+    public void transformedSnapshotsFollowRegistrations() {
+        final TransformingDataContainer<String, Integer> container = new TransformingDataContainer<>(String::length);
+        container.addAll(List.of("a", "bb", "ccc"));
+        Assertions.assertEquals(1, container.getVersion());
+        Assertions.assertEquals(List.of(1, 2, 3), container.snapshot().asList());
+
+        final Map<String, Integer> entities = container.getEntities();
+        container.remove("bb");
+        Assertions.assertEquals(3, entities.size());
+        Assertions.assertEquals(List.of(1, 3), container.snapshot().asList());
+        Assertions.assertEquals(2, container.getVersion());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> container.getEntities().remove("a"));
+    }
+
+}
@@ -0,0 +1,190 @@
+package pm.lus.eve.error;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.bus.EventBus;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.instrumentation.MetricsInstrumentation;
+import pm.lus.eve.instrumentation.ReceiverMetrics;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Listen;
+import pm.lus.eve.src.SimpleEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ErrorPipelineTests {
+
+    @Test
+    public void failedDeliveriesGetRetriedAndDeadLettered() throws InterruptedException {
+        final DeadLetterQueue deadLetters = new DeadLetterQueue(16);
+        final ErrorPipeline pipeline = ErrorPipeline.builder()
+                .retry(RetryPolicy.exponential(3, Duration.ofMillis(5)))
+                .deadLetters(deadLetters)
+                .logger(null)
+                .build();
+        final EventBus bus = EventBus.builder().errorHandler(pipeline).build();
+
+        final FlakyListener listener = new FlakyListener();
+        bus.listeners().add(listener);
+
+        // Dispatching completes right away; retries happen on the scheduler
+        bus.emit("flaky", new SimpleEvent()).join();
+        bus.emit("broken", new SimpleEvent()).join();
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while ((listener.flakyDelivered.get() == 0 || deadLetters.size() == 0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        Assertions.assertEquals(3, listener.flakyAttempts.get());
+        Assertions.assertEquals(1, listener.flakyDelivered.get());
+        Assertions.assertEquals(3, listener.brokenAttempts.get());
+
+        final List<FailedDelivery> failures = deadLetters.drain();
+        Assertions.assertEquals(1, failures.size());
+        Assertions.assertEquals("broken", failures.get(0).getTopic());
+        Assertions.assertEquals(3, failures.get(0).getAttempt());
+        Assertions.assertTrue(failures.get(0).getReceiver().endsWith("#broken"));
+        Assertions.assertEquals(4, pipeline.getRetriedCount());
+        bus.close();
+    }
+
+    @Test
+    public void redeliveriesAreInstrumented() throws InterruptedException {
+        final MetricsInstrumentation metrics = new MetricsInstrumentation();
+        final ErrorPipeline pipeline = ErrorPipeline.builder()
+                .retry(RetryPolicy.exponential(3, Duration.ofMillis(5)))
+                .logger(null)
+                .build();
+        final EventBus bus = EventBus.builder().errorHandler(pipeline).instrumentation(metrics).build();
+
+        final FlakyListener listener = new FlakyListener();
+        bus.listeners().add(listener);
+        bus.emit("flaky", new SimpleEvent()).join();
+
+        // The initial delivery and both retries get reported like any other invocation
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (invocations(metrics) < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        Assertions.assertEquals(1, listener.flakyDelivered.get());
+        Assertions.assertEquals(3, invocations(metrics));
+        bus.close();
+    }
+
+    @Test
+    public void retriesGoThroughTheMailboxOfTheListener() throws InterruptedException {
+        final ErrorPipeline pipeline = ErrorPipeline.builder()
+                .retry(RetryPolicy.exponential(3, Duration.ofMillis(5)))
+                .logger(null)
+                .build();
+        final EventBus bus = EventBus.builder().mailboxes().errorHandler(pipeline).build();
+
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger overlaps = new AtomicInteger();
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        final List<String> retryThreads = Collections.synchronizedList(new ArrayList<>());
+        bus.listeners().add(Listener.inline(SequencedEvent.class, (ctx, event) -> {
+            if (active.incrementAndGet() != 1) {
+                overlaps.incrementAndGet();
+            }
+            try {
+                received.add(event.sequence);
+                if (event.sequence == 0 && failed.compareAndSet(false, true)) {
+                    throw new IllegalStateException("first attempt");
+                }
+                if (event.sequence == 0) {
+                    retryThreads.add(Thread.currentThread().getName());
+                }
+                // Keeps the mailbox busy while the retry becomes due
+                Thread.sleep(1);
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+        }));
+
+        for (int i = 0; i < 100; i++) {
+            bus.emit("sequenced", new SequencedEvent(i));
+        }
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (received.size() < 101 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        Assertions.assertEquals(0, overlaps.get());
+        Assertions.assertEquals(101, received.size());
+        Assertions.assertEquals(1, retryThreads.size());
+        Assertions.assertFalse(retryThreads.get(0).startsWith("eve-retry-"));
+        // The emitted events keep their order; the retry is queued behind whatever the mailbox held at that time
+        final List<Integer> emitted = new ArrayList<>(received);
+        emitted.remove(emitted.lastIndexOf(0));
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(i, emitted.get(i).intValue());
+        }
+        bus.close();
+    }
+
+    @Test
+    public void fullDeadLetterQueuesDropTheOldestFailures() {
+        final DeadLetterQueue deadLetters = new DeadLetterQueue(2);
+        final EventBus bus = EventBus.builder()
+                .errorHandler(ErrorPipeline.builder().deadLetters(deadLetters).logger(null).build())
+                .build();
+        bus.listeners().add(new FlakyListener());
+
+        for (int i = 0; i < 3; i++) {
+            bus.emitSync("broken", new SimpleEvent());
+        }
+
+        Assertions.assertEquals(2, deadLetters.size());
+        Assertions.assertEquals(1, deadLetters.getDroppedCount());
+    }
+
+    private static long invocations(final MetricsInstrumentation metrics) {
+        return metrics.getListenerMetrics().values().stream().mapToLong(ReceiverMetrics::getInvocations).sum();
+    }
+
+    public static class SequencedEvent implements Event {
+
+        private final int sequence;
+
+        public SequencedEvent(final int sequence) {
+            this.sequence = sequence;
+        }
+
+    }
+
+    public static class FlakyListener implements Listener {
+
+        private final AtomicInteger flakyAttempts = new AtomicInteger();
+        private final AtomicInteger flakyDelivered = new AtomicInteger();
+        private final AtomicInteger brokenAttempts = new AtomicInteger();
+
+        @Listen("flaky")
+        public void flaky(final EventContext context, final SimpleEvent event) {
+            if (this.flakyAttempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("not yet");
+            }
+            this.flakyDelivered.incrementAndGet();
+        }
+
+        @Listen("broken")
+        public void broken(final EventContext context, final SimpleEvent event) {
+            this.brokenAttempts.incrementAndGet();
+            throw new IllegalStateException("never");
+        }
+
+    }
+
+}
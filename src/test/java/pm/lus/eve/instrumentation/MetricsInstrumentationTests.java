@@ -0,0 +1,93 @@
+package pm.lus.eve.instrumentation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.bridge.EventBridge;
+import pm.lus.eve.bus.EventBus;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.definition.ListenerMethodDefinition;
+import pm.lus.eve.src.SimpleEvent;
+import pm.lus.eve.src.SimpleListener;
+
+public class MetricsInstrumentationTests {
+
+    @Test
+    public void metricsGetCollected() {
+        final MetricsInstrumentation metrics = new MetricsInstrumentation();
+        final EventBus bus = EventBus.builder().instrumentation(metrics).build();
+        bus.listeners().add(new SimpleListener());
+        final EventBridge<Event> bridge = new EventBridge<>() {
+
+            @Override
+            protected void receive(final EventContext context, final Event event) {
+                throw new IllegalStateException("expected");
+            }
+
+            @Override
+            protected Class<Event> getEventType() {
+                return Event.class;
+            }
+
+        };
+        bus.bridges().add(bridge);
+
+        bus.emitSync("simple.foo", new SimpleEvent());
+        bus.emitSync("simple.foo", new SimpleEvent());
+        bus.emitSync("simple.foo.bar", new SimpleEvent());
+
+        Assertions.assertEquals(3, metrics.getEmitted());
+        Assertions.assertEquals(3, metrics.getFanOut().getCount());
+        Assertions.assertEquals(3, metrics.getFanOut().getMax());
+
+        long invocations = 0;
+        for (final ReceiverMetrics listenerMetrics : metrics.getListenerMetrics().values()) {
+            invocations += listenerMetrics.getInvocations();
+            Assertions.assertEquals(listenerMetrics.getInvocations(), listenerMetrics.getLatency().getCount());
+        }
+        Assertions.assertEquals(5, invocations);
+
+        Assertions.assertEquals(2, metrics.getPatternMetrics().get("simple.*").getInvocations());
+        Assertions.assertEquals(3, metrics.getPatternMetrics().get("simple.**").getInvocations());
+
+        Assertions.assertEquals(3, metrics.getBridgeMetrics().get(bridge).getInvocations());
+        Assertions.assertEquals(3, metrics.getBridgeMetrics().get(bridge).getFailures());
+    }
+
+    @Test
+    public void disabledInstrumentationIsNotCalled() {
+        final EventBus bus = EventBus.builder().instrumentation(null).build();
+        Assertions.assertSame(Instrumentation.DISABLED, bus.instrumentation());
+
+        final int[] called = new int[]{0};
+        final EventBus instrumented = EventBus.builder().instrumentation(new Instrumentation() {
+
+            @Override
+            public void onListenerStart(final ListenerMethodDefinition methodDefinition, final EventContext context, final Event event, final long queuedNanos) {
+                called[0]++;
+            }
+
+        }).build();
+        instrumented.listeners().add(new SimpleListener());
+        instrumented.emit("simple.foo", new SimpleEvent()).join();
+
+        Assertions.assertEquals(2, called[0]);
+    }
+
+    @Test
+    public void histogramPercentiles() {
+        final Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 10);
+        }
+
+        Assertions.assertEquals(100, histogram.getCount());
+        Assertions.assertEquals(1000, histogram.getMax());
+        Assertions.assertEquals(505, histogram.getMean());
+        Assertions.assertEquals(512, histogram.getPercentile(50));
+        Assertions.assertEquals(1000, histogram.getPercentile(99));
+        Assertions.assertEquals(0, Histogram.bucketOf(1));
+        Assertions.assertEquals(Histogram.BUCKETS - 1, Histogram.bucketOf(Long.MAX_VALUE));
+    }
+
+}
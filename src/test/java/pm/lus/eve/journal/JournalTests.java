@@ -0,0 +1,178 @@
+package pm.lus.eve.journal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.bus.EventBus;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.src.OtherSimpleEvent;
+import pm.lus.eve.src.SimpleEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class JournalTests {
+
+    @Test
+    public void appendAndReplayAcrossSegments() throws IOException {
+        final Path directory = Files.createTempDirectory("eve-journal");
+        final Journal.Builder builder = Journal.builder(directory, new SimpleEventCodec())
+                .segmentSize(256)
+                .indexInterval(2)
+                .fsyncPolicy(FsyncPolicy.ALWAYS);
+
+        try (final Journal journal = builder.open()) {
+            for (int i = 0; i < 50; i++) {
+                Assertions.assertEquals(i, journal.append(i % 5 == 0 ? "topic.b" : "topic.a", i % 2 == 0 ? new SimpleEvent() : new OtherSimpleEvent()));
+            }
+            Assertions.assertTrue(logFiles(directory).size() > 1);
+            assertReplays(journal);
+        }
+
+        try (final Journal journal = builder.open()) {
+            Assertions.assertEquals(50, journal.getNextOffset());
+            assertReplays(journal);
+            Assertions.assertEquals(50, journal.append("topic.a", new SimpleEvent()));
+        }
+    }
+
+    private static void assertReplays(final Journal journal) {
+        final List<Long> offsets = new ArrayList<>();
+        Assertions.assertEquals(50, journal.replay(0, (offset, timestamp, topic, event) -> {
+            offsets.add(offset);
+            Assertions.assertEquals(offset % 5 == 0 ? "topic.b" : "topic.a", topic);
+            Assertions.assertEquals(offset % 2 == 0 ? SimpleEvent.class : OtherSimpleEvent.class, event.getClass());
+        }));
+        for (int i = 0; i < offsets.size(); i++) {
+            Assertions.assertEquals(i, offsets.get(i).longValue());
+        }
+
+        final List<Long> topicOffsets = new ArrayList<>();
+        journal.replay(12, "topic.b", (offset, timestamp, topic, event) -> topicOffsets.add(offset));
+        Assertions.assertEquals(List.of(15L, 20L, 25L, 30L, 35L, 40L, 45L), topicOffsets);
+
+        Assertions.assertEquals(0, journal.replay(0, "topic.c", (offset, timestamp, topic, event) -> {
+        }));
+        Assertions.assertEquals(0, journal.offsetAt(0));
+        Assertions.assertEquals(journal.getNextOffset(), journal.offsetAt(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void tornWritesGetDiscarded() throws IOException {
+        final Path directory = Files.createTempDirectory("eve-journal");
+        final Journal.Builder builder = Journal.builder(directory, new SimpleEventCodec()).segmentSize(1024);
+
+        try (final Journal journal = builder.open()) {
+            for (int i = 0; i < 3; i++) {
+                journal.append("topic", new SimpleEvent());
+            }
+        }
+
+        // Corrupt the event byte of the last record
+        try (final FileChannel channel = FileChannel.open(logFiles(directory).get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 2 * 24L + 23);
+        }
+
+        try (final Journal journal = builder.open()) {
+            Assertions.assertEquals(2, journal.getNextOffset());
+            Assertions.assertEquals(2, journal.append("topic", new SimpleEvent()));
+            Assertions.assertEquals(3, journal.replay(0, (offset, timestamp, topic, event) -> {
+            }));
+        }
+    }
+
+    @Test
+    public void busJournalsAndReplays() throws IOException {
+        final Path directory = Files.createTempDirectory("eve-journal");
+        final Journal journal = Journal.builder(directory, new SimpleEventCodec()).open();
+
+        final EventBus bus = EventBus.builder().journal(journal).build();
+        bus.emit("foo.bar", new SimpleEvent()).join();
+        bus.emitSync("foo.baz", new OtherSimpleEvent());
+        bus.emitAll("foo.bar", List.of(new SimpleEvent(), new SimpleEvent())).join();
+        Assertions.assertEquals(4, journal.getNextOffset());
+
+        final AtomicInteger called = new AtomicInteger();
+        bus.listeners().add(Listener.inline(Event.class, (context, event) -> called.incrementAndGet()));
+        bus.replay(journal, 1).join();
+
+        Assertions.assertEquals(3, called.get());
+        Assertions.assertEquals(4, journal.getNextOffset());
+
+        bus.close();
+        Assertions.assertTrue(bus.emit("foo.bar", new SimpleEvent()).isCompletedExceptionally());
+    }
+
+    @Test
+    public void rejectedBatchesAreNotJournaledPartially() throws IOException {
+        final Path directory = Files.createTempDirectory("eve-journal");
+        final Journal journal = Journal.builder(directory, new SimpleEventCodec()).segmentSize(1024).open();
+        final EventBus bus = EventBus.builder().journal(journal).build();
+
+        final AtomicInteger called = new AtomicInteger();
+        bus.listeners().add(Listener.inline(Event.class, (context, event) -> called.incrementAndGet()));
+
+        final Map<String, List<Event>> oversized = new LinkedHashMap<>();
+        oversized.put("foo.bar", List.of(new SimpleEvent(), new SimpleEvent()));
+        oversized.put("foo.".repeat(300), List.of(new SimpleEvent()));
+        Assertions.assertTrue(bus.emitAll(oversized).isCompletedExceptionally());
+
+        final Map<String, List<Event>> unsupported = new LinkedHashMap<>();
+        unsupported.put("foo.bar", List.of(new SimpleEvent(), new Event() {
+        }));
+        Assertions.assertTrue(bus.emitAll(unsupported).isCompletedExceptionally());
+        Assertions.assertTrue(bus.emit("foo.bar", new Event() {
+        }).isCompletedExceptionally());
+
+        Assertions.assertEquals(0, journal.getNextOffset());
+        Assertions.assertEquals(0, called.get());
+        bus.close();
+    }
+
+    private static List<Path> logFiles(final Path directory) throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static class SimpleEventCodec implements EventCodec {
+
+        @Override
+        public int sizeOf(final Event event) {
+            if (!(event instanceof SimpleEvent) && !(event instanceof OtherSimpleEvent)) {
+                throw new IllegalArgumentException("unsupported event");
+            }
+            return 1;
+        }
+
+        @Override
+        public void encode(final Event event, final ByteBuffer target) {
+            target.put((byte) (event instanceof OtherSimpleEvent ? 1 : 0));
+        }
+
+        @Override
+        public Event decode(final ByteBuffer source) {
+            switch (source.get()) {
+                case 0:
+                    return new SimpleEvent();
+                case 1:
+                    return new OtherSimpleEvent();
+                default:
+                    throw new IllegalArgumentException("unknown event");
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+package pm.lus.eve.listener.definition;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.bus.EventBus;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Listen;
+import pm.lus.eve.src.OtherSimpleEvent;
+import pm.lus.eve.src.SimpleEvent;
+import pm.lus.eve.src.SimpleListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ListenerDefinitionTests {
+
+    @Test
+    public void generatedDefinitionIsPreferred() {
+        final ListenerDefinition definition = ListenerDefinition.build(new SimpleListener());
+
+        Assertions.assertEquals(2, definition.getMethodDefinitions().size());
+        for (final ListenerMethodDefinition methodDefinition : definition.getMethodDefinitions()) {
+            // Generated definitions do not carry a reflected method
+            Assertions.assertNull(methodDefinition.getMethod());
+        }
+
+        final Set<String> names = definition.getMethodDefinitions().stream()
+                .map(ListenerMethodDefinition::getName)
+                .collect(Collectors.toSet());
+        Assertions.assertEquals(Set.of(SimpleListener.class.getName() + "#simple", SimpleListener.class.getName() + "#any"), names);
+    }
+
+    @Test
+    public void generatedDefinitionDelivery() {
+        final EventBus bus = new EventBus();
+        final SimpleListener listener = new SimpleListener();
+        bus.listeners().add(listener);
+
+        bus.emit("simple.topic", new SimpleEvent()).join();
+        bus.emit("simple.topic", new OtherSimpleEvent()).join();
+        bus.emit("other", new SimpleEvent()).join();
+        bus.emit("unrelated", new SimpleEvent()).join();
+
+        Assertions.assertEquals(1, listener.getSimpleEvents());
+        Assertions.assertEquals(3, listener.getEvents());
+    }
+
+    @Test
+    public void anonymousListenersFallBackToReflection() {
+        final ListenerDefinition definition = ListenerDefinition.build(new Listener() {
+
+            @Listen
+            public void handle(final EventContext context, final Event event) {
+            }
+
+        });
+
+        Assertions.assertEquals(1, definition.getMethodDefinitions().size());
+        Assertions.assertNotNull(definition.getMethodDefinitions().iterator().next().getMethod());
+    }
+
+    @Test
+    public void staleServiceEntriesFallBackToReflection() throws Exception {
+        final Path serviceFile = Files.createTempFile("eve-services", null);
+        // The factory of a listener that got removed while the service file still lists it
+        Files.writeString(serviceFile, ListenerDefinitionFactory.generatedName("pm.lus.eve.listener.definition.RemovedListener") + "\n");
+        final ClassLoader loader = new StaleServiceClassLoader(serviceFile.toUri().toURL());
+
+        final Listener listener = (Listener) loader.loadClass(ReflectedListener.class.getName()).getDeclaredConstructor().newInstance();
+        final ListenerDefinition definition = ListenerDefinition.build(listener);
+
+        Assertions.assertEquals(1, definition.getMethodDefinitions().size());
+        Assertions.assertNotNull(definition.getMethodDefinitions().iterator().next().getMethod());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void unboundDefinitionsRejectInstanceMethods() throws NoSuchMethodException {
+        final Method method = ReflectedListener.class.getDeclaredMethod("handle", EventContext.class, Event.class);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ListenerMethodDefinition.build(method));
+    }
+
+    public static class ReflectedListener implements Listener {
+
+        @Listen
+        public void handle(final EventContext context, final Event event) {
+        }
+
+    }
+
+    // Defines its own copy of the reflected listener, so that the service file gets looked up through this loader
+    private static class StaleServiceClassLoader extends ClassLoader {
+
+        private final URL serviceFile;
+
+        private StaleServiceClassLoader(final URL serviceFile) {
+            super(ListenerDefinitionTests.class.getClassLoader());
+            this.serviceFile = serviceFile;
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(ReflectedListener.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (this.getClassLoadingLock(name)) {
+                final Class<?> loaded = this.findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try (final InputStream stream = this.getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    final byte[] bytes = stream.readAllBytes();
+                    return this.defineClass(name, bytes, 0, bytes.length);
+                } catch (final IOException exception) {
+                    throw new ClassNotFoundException(name, exception);
+                }
+            }
+        }
+
+        @Override
+        public Enumeration<URL> getResources(final String name) throws IOException {
+            if (name.equals("META-INF/services/" + ListenerDefinitionFactory.class.getName())) {
+                return Collections.enumeration(List.of(this.serviceFile));
+            }
+            return super.getResources(name);
+        }
+
+    }
+
+}
@@ -0,0 +1,33 @@
+package pm.lus.eve.src;
+
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Listen;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SimpleListener implements Listener {
+
+    private final AtomicInteger simpleEvents = new AtomicInteger();
+    private final AtomicInteger events = new AtomicInteger();
+
+    @Listen("simple.*")
+    public void simple(final EventContext context, final SimpleEvent event) {
+        this.simpleEvents.incrementAndGet();
+    }
+
+    @Listen({"simple.**", "other"})
+    void any(final EventContext context, final Event event) {
+        this.events.incrementAndGet();
+    }
+
+    public int getSimpleEvents() {
+        return this.simpleEvents.get();
+    }
+
+    public int getEvents() {
+        return this.events.get();
+    }
+
+}
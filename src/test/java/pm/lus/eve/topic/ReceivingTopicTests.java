@@ -0,0 +1,52 @@
+package pm.lus.eve.topic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+public class ReceivingTopicTests {
+
+    static final String[] PATTERNS = new String[]{
+            "", "foo", "foo.bar", "*", "**", "*.*", "**.**", "foo.*", "foo.**", "*.bar", "**.bar",
+            "foo.*.baz", "foo.**.baz", "foo.*.*", "foo.**.*", "*.**", "**.*.**", "foo..bar", "foo.", ".foo",
+            "foo*", "*bar", "f*o", "foo**", "a**b", "***", "****", "foo.*bar.**", "foo.b**", "**.b*"
+    };
+
+    static final String[] TOPICS = new String[]{
+            "", ".", "..", "foo", "foobar", "fooo", "bar", "foo.bar", "foo.bar.baz", "foo.x.y.baz", "foo.baz",
+            "foo..baz", "foo...baz", "foo.", ".foo", "foo..bar", "a.b", "ab", "axb", "ax.yb", "foo.xbar.y",
+            "foo.bar.", "foo.b.c.d", "x.b", "x.y.bz", "a.b.c.d.e.f"
+    };
+
+    // The regex based implementation the receiving topics used to be compiled to
+    static boolean legacyMatches(final String pattern, final String topic) {
+        final String rawPattern = Pattern.quote(pattern)
+                .replace("**", "\\E(.)+\\Q")
+                .replace("*", "\\E([^\\.]+)\\Q");
+        return Pattern.compile(rawPattern).matcher(topic).matches();
+    }
+
+    @Test
+    public void matchesLegacySemantics() {
+        for (final String pattern : PATTERNS) {
+            final ReceivingTopic receivingTopic = ReceivingTopic.compile(pattern);
+            for (final String topic : TOPICS) {
+                Assertions.assertEquals(
+                        legacyMatches(pattern, topic),
+                        receivingTopic.matches(topic),
+                        "'" + pattern + "' against '" + topic + "'"
+                );
+            }
+        }
+    }
+
+    @Test
+    public void segmentAlignment() {
+        Assertions.assertTrue(ReceivingTopic.compile("foo.*.**.bar").isSegmentAligned());
+        Assertions.assertTrue(ReceivingTopic.compile("foo..bar").isSegmentAligned());
+        Assertions.assertFalse(ReceivingTopic.compile("foo*").isSegmentAligned());
+        Assertions.assertFalse(ReceivingTopic.compile("***").isSegmentAligned());
+    }
+
+}
@@ -0,0 +1,41 @@
+package pm.lus.eve.topic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class TopicIndexTests {
+
+    @Test
+    public void matchesLegacySemantics() {
+        final TopicIndex<String> index = new TopicIndex<>();
+        for (final String pattern : ReceivingTopicTests.PATTERNS) {
+            index.add(ReceivingTopic.compile(pattern), pattern);
+        }
+
+        for (final String topic : ReceivingTopicTests.TOPICS) {
+            final Set<String> expected = new HashSet<>();
+            for (final String pattern : ReceivingTopicTests.PATTERNS) {
+                if (ReceivingTopicTests.legacyMatches(pattern, topic)) {
+                    expected.add(pattern);
+                }
+            }
+            Assertions.assertEquals(expected, new HashSet<>(index.match(topic)), "'" + topic + "'");
+        }
+    }
+
+    @Test
+    public void deduplicatesValues() {
+        final TopicIndex<String> index = new TopicIndex<>();
+        index.add(ReceivingTopic.compile("foo.**"), "value");
+        index.add(ReceivingTopic.compile("**.**.**"), "value");
+        index.add(ReceivingTopic.compile("foo.*"), "other");
+
+        Assertions.assertEquals(Set.of("value"), index.match("foo.bar.baz"));
+        Assertions.assertEquals(Set.of("value", "other"), index.match("foo.bar"));
+        Assertions.assertTrue(index.match("bar").isEmpty());
+    }
+
+}
@@ -0,0 +1,128 @@
+package pm.lus.eve.transport;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pm.lus.eve.bus.EventBus;
+import pm.lus.eve.codec.CodecRegistry;
+import pm.lus.eve.event.Event;
+import pm.lus.eve.event.context.EventContext;
+import pm.lus.eve.listener.Listener;
+import pm.lus.eve.listener.annotation.Listen;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+public class TransportTests {
+
+    private static final InetSocketAddress LOOPBACK = new InetSocketAddress("127.0.0.1", 0);
+
+    @Test
+    public void subscribedEventsCrossNodes() throws Exception {
+        final CodecRegistry codec = new CodecRegistry().register(TextEvent.class, 1);
+        final EventBus local = new EventBus();
+        final EventBus remote = new EventBus();
+
+        final OrderListener listener = new OrderListener();
+        remote.listeners().add(listener);
+
+        try (final TcpEventAcceptor acceptor = TcpEventAcceptor.open(remote, codec, LOOPBACK)) {
+            final TcpEventBridge bridge = TcpEventBridge.connect(codec, acceptor.getAddress());
+            local.bridges().add(bridge);
+            Assertions.assertTrue(bridge.getRemoteSubscriptions().contains("orders.*"));
+
+            local.emit("orders.created", new TextEvent("first")).join();
+            local.emit("payments.created", new TextEvent("ignored")).join();
+            local.emit("orders.shipped", new TextEvent("second")).join();
+
+            await(() -> listener.received.size() == 2);
+            // The remote bus dispatches received events asynchronously, so they may be handled in any order
+            Assertions.assertEquals(Set.of("first", "second"), Set.copyOf(listener.received));
+            Assertions.assertTrue(listener.origins.get(0).startsWith("tcp://127.0.0.1:"));
+            Assertions.assertEquals(2, bridge.getForwarded());
+
+            // Listeners registered later are announced to the connected bridges
+            remote.listeners().add(new PaymentListener());
+            await(() -> bridge.getRemoteSubscriptions().contains("payments.*"));
+            bridge.close();
+        }
+    }
+
+    @Test
+    public void receivedEventsAreNotForwardedAgain() throws Exception {
+        final CodecRegistry codec = new CodecRegistry().register(TextEvent.class, 1);
+        final EventBus first = new EventBus();
+        final EventBus second = new EventBus();
+
+        final OrderListener firstListener = new OrderListener();
+        final OrderListener secondListener = new OrderListener();
+        first.listeners().add(firstListener);
+        second.listeners().add(secondListener);
+
+        try (final TcpEventAcceptor firstAcceptor = TcpEventAcceptor.open(first, codec, LOOPBACK);
+             final TcpEventAcceptor secondAcceptor = TcpEventAcceptor.open(second, codec, LOOPBACK)) {
+            final TcpEventBridge toSecond = TcpEventBridge.connect(codec, secondAcceptor.getAddress());
+            final TcpEventBridge toFirst = TcpEventBridge.connect(codec, firstAcceptor.getAddress());
+            first.bridges().add(toSecond);
+            second.bridges().add(toFirst);
+
+            first.emit("orders.created", new TextEvent("ping")).join();
+            await(() -> secondListener.received.size() == 1);
+            Thread.sleep(100);
+
+            Assertions.assertEquals(List.of("ping"), firstListener.received);
+            Assertions.assertEquals(0, toFirst.getForwarded());
+            Assertions.assertEquals(0, firstAcceptor.getReceived());
+
+            toSecond.close();
+            toFirst.close();
+        }
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                Assertions.fail("condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    static class TextEvent implements Event {
+
+        private String text;
+
+        TextEvent() {
+        }
+
+        TextEvent(final String text) {
+            this.text = text;
+        }
+
+    }
+
+    public static class OrderListener implements Listener {
+
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        private final List<String> origins = new CopyOnWriteArrayList<>();
+
+        @Listen("orders.*")
+        public void order(final EventContext context, final TextEvent event) {
+            this.received.add(event.text);
+            this.origins.add(context.getOrigin());
+        }
+
+    }
+
+    public static class PaymentListener implements Listener {
+
+        @Listen("payments.*")
+        public void payment(final EventContext context, final TextEvent event) {
+        }
+
+    }
+
+}